@@ -0,0 +1,86 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.benchmark;
+
+import de.terrestris.shogun.config.properties.HttpProxyProperties;
+import de.terrestris.shogun.service.HttpProxyService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the whitelist check of the {@link HttpProxyService} that is executed for every
+ * proxied request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HttpProxyServiceBenchmark {
+
+    @Param({"5", "50"})
+    public int whitelistSize;
+
+    private HttpProxyService httpProxyService;
+
+    private Method isInWhiteList;
+
+    private URL whitelistedUrl;
+
+    private URL unknownUrl;
+
+    @Setup
+    public void setup() throws NoSuchMethodException, MalformedURLException {
+        List<String> whitelist = Stream.concat(
+            IntStream.range(0, whitelistSize - 1).mapToObj(i -> "host" + i + ".example.com:8080"),
+            Stream.of("ows.terrestris.de")
+        ).toList();
+
+        HttpProxyProperties httpProxyProperties = new HttpProxyProperties();
+        httpProxyProperties.setWhitelist(whitelist);
+
+        httpProxyService = new HttpProxyService();
+        ReflectionTestUtils.setField(httpProxyService, "httpProxyProperties", httpProxyProperties);
+
+        isInWhiteList = HttpProxyService.class.getDeclaredMethod("isInWhiteList", URL.class);
+        isInWhiteList.setAccessible(true);
+
+        whitelistedUrl = URI.create("https://ows.terrestris.de/osm/service?SERVICE=WMS").toURL();
+        unknownUrl = URI.create("https://unknown.example.org/wms?SERVICE=WMS").toURL();
+    }
+
+    @Benchmark
+    public Object isInWhiteListMatch() throws ReflectiveOperationException {
+        return isInWhiteList.invoke(httpProxyService, whitelistedUrl);
+    }
+
+    @Benchmark
+    public Object isInWhiteListNoMatch() throws ReflectiveOperationException {
+        return isInWhiteList.invoke(httpProxyService, unknownUrl);
+    }
+
+}
@@ -0,0 +1,152 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.benchmark;
+
+import de.terrestris.shogun.interceptor.enumeration.InterceptorEnum;
+import de.terrestris.shogun.interceptor.enumeration.OgcEnum;
+import de.terrestris.shogun.interceptor.exception.InterceptorException;
+import de.terrestris.shogun.interceptor.message.OgcMessage;
+import de.terrestris.shogun.interceptor.message.OgcMessageDistributor;
+import de.terrestris.shogun.interceptor.request.WmsRequestInterceptorInterface;
+import de.terrestris.shogun.interceptor.response.WmsResponseInterceptorInterface;
+import de.terrestris.shogun.interceptor.servlet.MutableHttpServletRequest;
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the dispatching of requests and responses to the (pass-through) interceptors by the
+ * {@link OgcMessageDistributor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OgcMessageDistributorBenchmark {
+
+    private OgcMessageDistributor distributor;
+
+    private MutableHttpServletRequest request;
+
+    private HttpResponse response;
+
+    private OgcMessage allowedMessage;
+
+    private OgcMessage modifiedMessage;
+
+    @Setup
+    public void setup() {
+        distributor = new OgcMessageDistributor();
+        ReflectionTestUtils.setField(distributor, "wmsRequestInterceptor", new PassThroughWmsRequestInterceptor());
+        ReflectionTestUtils.setField(distributor, "wmsResponseInterceptor", new PassThroughWmsResponseInterceptor());
+
+        request = new MutableHttpServletRequest(new MockHttpServletRequest("GET", "/geoserver.action"));
+        response = new HttpResponse();
+
+        allowedMessage = new OgcMessage(OgcEnum.ServiceType.WMS, OgcEnum.OperationType.GET_MAP, "shogun:layer",
+            InterceptorEnum.RuleType.ALLOW, InterceptorEnum.RuleType.ALLOW);
+        modifiedMessage = new OgcMessage(OgcEnum.ServiceType.WMS, OgcEnum.OperationType.GET_MAP, "shogun:layer",
+            InterceptorEnum.RuleType.MODIFY, InterceptorEnum.RuleType.MODIFY);
+    }
+
+    @Benchmark
+    public MutableHttpServletRequest distributeAllowedRequest() throws InterceptorException {
+        return distributor.distributeToRequestInterceptor(request, allowedMessage);
+    }
+
+    @Benchmark
+    public MutableHttpServletRequest distributeModifiedRequest() throws InterceptorException {
+        return distributor.distributeToRequestInterceptor(request, modifiedMessage);
+    }
+
+    @Benchmark
+    public HttpResponse distributeModifiedResponse() throws InterceptorException {
+        return distributor.distributeToResponseInterceptor(request, response, modifiedMessage);
+    }
+
+    private static class PassThroughWmsRequestInterceptor implements WmsRequestInterceptorInterface {
+
+        @Override
+        public MutableHttpServletRequest interceptGetMap(MutableHttpServletRequest request) {
+            return request;
+        }
+
+        @Override
+        public MutableHttpServletRequest interceptGetCapabilities(MutableHttpServletRequest request) {
+            return request;
+        }
+
+        @Override
+        public MutableHttpServletRequest interceptGetFeatureInfo(MutableHttpServletRequest request) {
+            return request;
+        }
+
+        @Override
+        public MutableHttpServletRequest interceptDescribeLayer(MutableHttpServletRequest request) {
+            return request;
+        }
+
+        @Override
+        public MutableHttpServletRequest interceptGetLegendGraphic(MutableHttpServletRequest request) {
+            return request;
+        }
+
+        @Override
+        public MutableHttpServletRequest interceptGetStyles(MutableHttpServletRequest request) {
+            return request;
+        }
+    }
+
+    private static class PassThroughWmsResponseInterceptor implements WmsResponseInterceptorInterface {
+
+        @Override
+        public HttpResponse interceptGetMap(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+
+        @Override
+        public HttpResponse interceptGetCapabilities(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+
+        @Override
+        public HttpResponse interceptGetFeatureInfo(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+
+        @Override
+        public HttpResponse interceptDescribeLayer(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+
+        @Override
+        public HttpResponse interceptGetLegendGraphic(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+
+        @Override
+        public HttpResponse interceptGetStyles(MutableHttpServletRequest request, HttpResponse response) {
+            return response;
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.benchmark;
+
+import de.terrestris.shogun.interceptor.enumeration.OgcEnum;
+import de.terrestris.shogun.interceptor.exception.InterceptorException;
+import de.terrestris.shogun.interceptor.servlet.MutableHttpServletRequest;
+import de.terrestris.shogun.interceptor.util.OgcXmlUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.w3c.dom.Document;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the detection of the OGC parameters (SERVICE, REQUEST and the endpoint) of KVP and XML
+ * encoded requests as done by the GeoServer interceptor for every incoming request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OgcRequestParsingBenchmark {
+
+    private static final String GET_FEATURE_XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <wfs:GetFeature service="WFS" version="1.1.0" outputFormat="application/json"
+            xmlns:wfs="http://www.opengis.net/wfs" xmlns:ogc="http://www.opengis.net/ogc"
+            xmlns:gml="http://www.opengis.net/gml">
+          <wfs:Query typeName="shogun:buildings" srsName="EPSG:3857">
+            <ogc:Filter>
+              <ogc:BBOX>
+                <ogc:PropertyName>geom</ogc:PropertyName>
+                <gml:Envelope srsName="EPSG:3857">
+                  <gml:lowerCorner>791000 6570000</gml:lowerCorner>
+                  <gml:upperCorner>793000 6572000</gml:upperCorner>
+                </gml:Envelope>
+              </ogc:BBOX>
+            </ogc:Filter>
+          </wfs:Query>
+        </wfs:GetFeature>
+        """;
+
+    private MockHttpServletRequest kvpRequest;
+
+    private MockHttpServletRequest xmlRequest;
+
+    @Setup
+    public void setup() {
+        kvpRequest = new MockHttpServletRequest("GET", "/geoserver.action");
+        kvpRequest.addParameter("SERVICE", "WMS");
+        kvpRequest.addParameter("VERSION", "1.3.0");
+        kvpRequest.addParameter("REQUEST", "GetMap");
+        kvpRequest.addParameter("LAYERS", "shogun:buildings");
+        kvpRequest.addParameter("CRS", "EPSG:3857");
+        kvpRequest.addParameter("BBOX", "791000,6570000,793000,6572000");
+        kvpRequest.addParameter("WIDTH", "256");
+        kvpRequest.addParameter("HEIGHT", "256");
+        kvpRequest.addParameter("FORMAT", "image/png");
+
+        xmlRequest = new MockHttpServletRequest("POST", "/geoserver.action");
+        xmlRequest.setContentType("text/xml");
+    }
+
+    @Benchmark
+    public void getRequestParameterValueKvp(Blackhole blackhole) throws InterceptorException, IOException {
+        MutableHttpServletRequest request = new MutableHttpServletRequest(kvpRequest);
+
+        resolveOgcParameters(request, blackhole);
+    }
+
+    @Benchmark
+    public void getRequestParameterValueXml(Blackhole blackhole) throws InterceptorException, IOException {
+        MutableHttpServletRequest request = new MutableHttpServletRequest(xmlRequest);
+        request.setInputStream(GET_FEATURE_XML);
+
+        resolveOgcParameters(request, blackhole);
+    }
+
+    @Benchmark
+    public String parseXml() throws IOException, InterceptorException {
+        Document document = OgcXmlUtil.getDocumentFromString(GET_FEATURE_XML);
+
+        return OgcXmlUtil.getPathInDocument(document, "//@typeName | //@typeNames");
+    }
+
+    @Benchmark
+    public String parseOgcRequestInfo() throws IOException {
+        return OgcXmlUtil.parseOgcRequestInfo(GET_FEATURE_XML).getEndPoint();
+    }
+
+    private static void resolveOgcParameters(MutableHttpServletRequest request, Blackhole blackhole)
+            throws InterceptorException, IOException {
+        blackhole.consume(MutableHttpServletRequest.getRequestParameterValue(
+            request, OgcEnum.Service.SERVICE.toString()));
+        blackhole.consume(MutableHttpServletRequest.getRequestParameterValue(
+            request, OgcEnum.Operation.OPERATION.toString()));
+        blackhole.consume(MutableHttpServletRequest.getRequestParameterValue(
+            request, OgcEnum.EndPoint.getAllValues()));
+    }
+
+}
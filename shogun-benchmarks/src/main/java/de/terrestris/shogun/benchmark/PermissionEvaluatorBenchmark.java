@@ -0,0 +1,190 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.benchmark;
+
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.BaseEntity;
+import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.model.Role;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.model.security.permission.PermissionCollection;
+import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import de.terrestris.shogun.lib.security.access.entity.DefaultPermissionEvaluator;
+import de.terrestris.shogun.lib.service.security.permission.*;
+import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
+import de.terrestris.shogun.lib.service.security.provider.RoleProviderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks the permission evaluation of {@link DefaultPermissionEvaluator}.
+ *
+ * The permission and provider services are stubbed with constant results, so the benchmarks
+ * measure the evaluation logic itself and the number of service lookups per check (which each
+ * translate into a database query or a Keycloak request in production).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PermissionEvaluatorBenchmark {
+
+    private static final PermissionCollection EMPTY = new PermissionCollection(Set.of(), null);
+
+    private static final PermissionCollection READ = new PermissionCollection(Set.of(PermissionType.READ), null);
+
+    @Param({"1", "10"})
+    public int roleCount;
+
+    private DefaultPermissionEvaluator evaluator;
+
+    private BaseCrudRepository<BaseEntity, Long> repository;
+
+    private User user;
+
+    private Application grantedEntity;
+
+    private Application deniedEntity;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        grantedEntity = new Application();
+        ReflectionTestUtils.setField(grantedEntity, "id", 10L);
+
+        deniedEntity = new Application();
+        ReflectionTestUtils.setField(deniedEntity, "id", 20L);
+
+        List<Role> roles = LongStream.rangeClosed(1, roleCount).mapToObj(id -> {
+            Role role = new Role();
+            ReflectionTestUtils.setField(role, "id", id);
+            return role;
+        }).toList();
+
+        Group group = new Group();
+        ReflectionTestUtils.setField(group, "id", 1L);
+
+        UserInstancePermissionService userInstancePermissionService = mock(UserInstancePermissionService.class);
+        when(userInstancePermissionService.findPermissionCollectionFor(any(BaseEntity.class), any(User.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0) == grantedEntity ? READ : EMPTY);
+
+        GroupInstancePermissionService groupInstancePermissionService = mock(GroupInstancePermissionService.class);
+        when(groupInstancePermissionService.findPermissionCollectionFor(any(BaseEntity.class), any(User.class)))
+            .thenReturn(EMPTY);
+
+        RoleInstancePermissionService roleInstancePermissionService = mock(RoleInstancePermissionService.class);
+        when(roleInstancePermissionService.findPermissionCollectionsFor(any(BaseEntity.class), anyList()))
+            .thenReturn(List.of());
+
+        UserClassPermissionService userClassPermissionService = mock(UserClassPermissionService.class);
+        when(userClassPermissionService.findPermissionCollectionFor(any(BaseEntity.class), any(User.class)))
+            .thenReturn(EMPTY);
+        when(userClassPermissionService.findFor(any(Class.class), any(User.class))).thenReturn(Optional.empty());
+
+        GroupClassPermissionService groupClassPermissionService = mock(GroupClassPermissionService.class);
+        when(groupClassPermissionService.findPermissionCollectionFor(any(BaseEntity.class), any(User.class)))
+            .thenReturn(EMPTY);
+        when(groupClassPermissionService.findFor(any(Class.class), any(User.class))).thenReturn(Optional.empty());
+
+        RoleClassPermissionService roleClassPermissionService = mock(RoleClassPermissionService.class);
+        when(roleClassPermissionService.findPermissionCollectionsFor(any(Class.class), anyList()))
+            .thenReturn(List.of());
+
+        PublicInstancePermissionService publicInstancePermissionService = mock(PublicInstancePermissionService.class);
+        when(publicInstancePermissionService.getPublic(any())).thenReturn(false);
+
+        RoleProviderService roleProviderService = mock(RoleProviderService.class);
+        when(roleProviderService.getRolesForUser(any())).thenReturn((List) roles);
+
+        GroupProviderService groupProviderService = mock(GroupProviderService.class);
+        when(groupProviderService.getGroupsForUser()).thenReturn(List.of(group));
+
+        evaluator = new DefaultPermissionEvaluator();
+        ReflectionTestUtils.setField(evaluator, "userInstancePermissionService", userInstancePermissionService);
+        ReflectionTestUtils.setField(evaluator, "groupInstancePermissionService", groupInstancePermissionService);
+        ReflectionTestUtils.setField(evaluator, "roleInstancePermissionService", roleInstancePermissionService);
+        ReflectionTestUtils.setField(evaluator, "userClassPermissionService", userClassPermissionService);
+        ReflectionTestUtils.setField(evaluator, "groupClassPermissionService", groupClassPermissionService);
+        ReflectionTestUtils.setField(evaluator, "roleClassPermissionService", roleClassPermissionService);
+        ReflectionTestUtils.setField(evaluator, "publicInstancePermissionService", publicInstancePermissionService);
+        ReflectionTestUtils.setField(evaluator, "roleProviderService", roleProviderService);
+        ReflectionTestUtils.setField(evaluator, "groupProviderService", groupProviderService);
+
+        pageable = PageRequest.of(0, 20);
+
+        repository = mock(BaseCrudRepository.class);
+        Page<BaseEntity> page = new PageImpl<>(List.of(grantedEntity), pageable, 1);
+        when(repository.findAll(any(Pageable.class), anyLong(), anyList())).thenReturn(page);
+        when(repository.findAll(any(Pageable.class), anyLong(), anyList(), anyList())).thenReturn(page);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken("user", null, "ROLE_USER"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Access is granted by the first check (user instance permission).
+     */
+    @Benchmark
+    public boolean hasPermissionGranted() {
+        return evaluator.hasPermission(user, grantedEntity, PermissionType.READ);
+    }
+
+    /**
+     * Access is denied, so all six permission checks are evaluated.
+     */
+    @Benchmark
+    public boolean hasPermissionDenied() {
+        return evaluator.hasPermission(user, deniedEntity, PermissionType.READ);
+    }
+
+    /**
+     * Falls through to the single instance permission query (option D).
+     */
+    @Benchmark
+    public Page<BaseEntity> findAll() {
+        return evaluator.findAll(user, pageable, repository, BaseEntity.class);
+    }
+
+}
@@ -0,0 +1,76 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.benchmark;
+
+import de.terrestris.shogun.boot.dto.BatchTransformRequest;
+import de.terrestris.shogun.boot.dto.BatchTransformResult;
+import de.terrestris.shogun.boot.dto.TransformResult;
+import de.terrestris.shogun.boot.service.ProjectionService;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.operation.TransformException;
+import org.locationtech.jts.io.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the transformation of WKT geometries between coordinate reference systems.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProjectionServiceBenchmark {
+
+    private static final String POINT = "POINT (7.1 50.7)";
+
+    private static final String POLYGON = "POLYGON ((7.0 50.6, 7.2 50.6, 7.2 50.8, 7.0 50.8, 7.0 50.6))";
+
+    private ProjectionService projectionService;
+
+    private BatchTransformRequest batchTransformRequest;
+
+    @Setup
+    public void setup() throws FactoryException, ParseException, TransformException {
+        projectionService = new ProjectionService();
+
+        // initialize the EPSG database before measuring
+        projectionService.transform("EPSG:4326", "EPSG:3857", POINT);
+
+        batchTransformRequest = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false,
+            Collections.nCopies(100, POLYGON));
+    }
+
+    @Benchmark
+    public TransformResult transformPoint() throws FactoryException, ParseException, TransformException {
+        return projectionService.transform("EPSG:4326", "EPSG:3857", POINT);
+    }
+
+    @Benchmark
+    public TransformResult transformPolygon() throws FactoryException, ParseException, TransformException {
+        return projectionService.transform("EPSG:4326", "EPSG:25832", POLYGON);
+    }
+
+    @Benchmark
+    public BatchTransformResult transformPolygonBatch() throws FactoryException, ParseException, TransformException {
+        return projectionService.transform(batchTransformRequest);
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package de.terrestris.shogun.boot.controller;
 
+import de.terrestris.shogun.boot.dto.BatchTransformRequest;
+import de.terrestris.shogun.boot.dto.BatchTransformResult;
 import de.terrestris.shogun.boot.dto.ProjectionInfo;
 import de.terrestris.shogun.boot.dto.TransformResult;
 import de.terrestris.shogun.boot.service.ProjectionService;
@@ -24,12 +26,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.log4j.Log4j2;
+import org.geotools.api.referencing.FactoryException;
+import org.locationtech.jts.io.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -77,6 +84,10 @@ public class ProjectionController {
             responseCode = "200",
             description = "Ok: the geometry was successfully transformed"
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad Request: A CRS is unknown or missing or a geometry is invalid"
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal Server Error: Something went wrong trying transform the geometry"
@@ -89,6 +100,42 @@ public class ProjectionController {
     ) {
         try {
             return new ResponseEntity<>(projectionService.transform(source, target, wkt), OK);
+        } catch (IllegalArgumentException | ParseException | FactoryException e) {
+            log.info("Invalid transform request: {}", e.getMessage());
+            log.trace("Stack trace:", e);
+            return new ResponseEntity<>(BAD_REQUEST);
+        } catch (Exception e) {
+            log.warn("Unable to transform: {}", e.getMessage());
+            log.trace("Stack trace:", e);
+            return new ResponseEntity<>(INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping(path = "/epsg/transform")
+    @Operation(
+        summary = "Transform multiple geometries (given as WKT or GeoJSON) from one projection to another"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ok: the geometries were successfully transformed"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad Request: A CRS is unknown or missing or a geometry is invalid (or too many are given)"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error: Something went wrong trying transform the geometries"
+        )
+    })
+    public ResponseEntity<BatchTransformResult> transform(@RequestBody BatchTransformRequest request) {
+        try {
+            return new ResponseEntity<>(projectionService.transform(request), OK);
+        } catch (IllegalArgumentException | ParseException | FactoryException e) {
+            log.info("Invalid transform request: {}", e.getMessage());
+            log.trace("Stack trace:", e);
+            return new ResponseEntity<>(BAD_REQUEST);
         } catch (Exception e) {
             log.warn("Unable to transform: {}", e.getMessage());
             log.trace("Stack trace:", e);
@@ -18,7 +18,10 @@ package de.terrestris.shogun.boot.runner;
 
 import de.terrestris.shogun.lib.model.security.permission.PermissionCollection;
 import de.terrestris.shogun.lib.repository.security.permission.PermissionCollectionRepository;
+import de.terrestris.shogun.lib.service.security.provider.keycloak.KeycloakSynchronizer;
+import de.terrestris.shogun.properties.KeycloakSyncProperties;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -33,8 +36,30 @@ public class ApplicationInitializer implements ApplicationRunner {
     @Autowired
     protected PermissionCollectionRepository permissionCollectionRepository;
 
+    @Autowired
+    protected KeycloakSyncProperties keycloakSyncProperties;
+
+    @Autowired
+    protected ObjectProvider<KeycloakSynchronizer> keycloakSynchronizer;
+
     public void run(ApplicationArguments args) {
         checkExistenceOfPermissions();
+        syncKeycloak();
+    }
+
+    /**
+     * Starts the synchronization of the users, groups and roles from Keycloak (if enabled). The synchronization
+     * runs in the background and doesn't delay the startup of the application.
+     */
+    private void syncKeycloak() {
+        if (!Boolean.TRUE.equals(keycloakSyncProperties.getOnStartup())) {
+            return;
+        }
+
+        keycloakSynchronizer.ifAvailable(synchronizer -> {
+            log.info("Synchronizing the users, groups and roles from Keycloak in the background");
+            synchronizer.syncAllAsync();
+        });
     }
 
     /**
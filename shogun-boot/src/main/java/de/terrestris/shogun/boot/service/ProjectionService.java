@@ -16,11 +16,17 @@
  */
 package de.terrestris.shogun.boot.service;
 
+import com.bedatadriven.jackson.datatype.jts.JtsModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.terrestris.shogun.boot.dto.BatchTransformRequest;
+import de.terrestris.shogun.boot.dto.BatchTransformResult;
 import de.terrestris.shogun.boot.dto.ProjectionDetails;
 import de.terrestris.shogun.boot.dto.ProjectionInfo;
 import de.terrestris.shogun.boot.dto.TransformResult;
 import lombok.extern.log4j.Log4j2;
 import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.metadata.iso.extent.GeographicBoundingBoxImpl;
@@ -31,17 +37,52 @@ import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 @Log4j2
 public class ProjectionService {
 
+    /**
+     * The maximum number of cached coordinate reference systems, the cache is cleared if the limit is reached.
+     */
+    static final int MAX_CACHED_CRS = 200;
+
+    /**
+     * The maximum number of cached transforms, the cache is cleared if the limit is reached.
+     */
+    static final int MAX_CACHED_TRANSFORMS = 500;
+
+    /**
+     * Used to read and write GeoJSON geometries in {@link #transform(BatchTransformRequest)}. The default
+     * geometry factory is used on purpose to not lose precision.
+     */
+    private static final ObjectMapper GEOJSON_MAPPER = new ObjectMapper().registerModule(new JtsModule());
+
+    /**
+     * The maximum number of geometries of a single {@link #transform(BatchTransformRequest)} request.
+     * Default is 10000.
+     */
+    @Value("${projection.max-batch-size:10000}")
+    private int maxBatchSize = 10000;
+
+    private final Map<String, CoordinateReferenceSystem> crsCache = new ConcurrentHashMap<>();
+
+    private final Map<TransformKey, MathTransform> transformCache = new ConcurrentHashMap<>();
+
+    private record TransformKey(String source, String target, boolean lenient) {}
+
     public ProjectionInfo getProjectionDetails(String query) throws FactoryException {
         var projectionInfo = new ProjectionInfo();
         var projectionDetails = new ProjectionDetails();
         projectionInfo.getResults().add(projectionDetails);
-        var system = CRS.decode(query);
+        var system = getCrs(query);
         var identifier = system.getIdentifiers().iterator().next();
         projectionDetails.setAuthority(identifier.getAuthority().getTitle().toString());
         projectionDetails.setCode(identifier.getCode());
@@ -64,13 +105,89 @@ public class ProjectionService {
     }
 
     public TransformResult transform(String sourceCrs, String targetCrs, String wkt) throws FactoryException, ParseException, TransformException {
-        var source = CRS.decode(sourceCrs);
-        var target = CRS.decode(targetCrs);
         var geometry = new WKTReader().read(wkt);
-        var transform = CRS.findMathTransform(source, target);
+        var transform = getMathTransform(sourceCrs, targetCrs, false);
         Geometry transformed = JTS.transform(geometry, transform);
         var result = new WKTWriter().write(transformed);
         return new TransformResult(result);
     }
 
+    /**
+     * Transforms all given geometries with a single lookup of the transform.
+     *
+     * @param request The request containing the source and target CRS and the geometries, each given either as
+     *                WKT string or as GeoJSON geometry object.
+     * @return The transformed geometries in the same order and format as requested.
+     * @throws IllegalArgumentException If the CRS are missing, a geometry is neither WKT nor GeoJSON or
+     *                                  more than {@link #maxBatchSize} geometries are given.
+     */
+    public BatchTransformResult transform(BatchTransformRequest request) throws FactoryException, ParseException, TransformException {
+        if (request.getSource() == null || request.getTarget() == null) {
+            throw new IllegalArgumentException("The source and target CRS must be given");
+        }
+
+        List<Object> geometries = request.getGeometries() == null ? List.of() : request.getGeometries();
+        if (geometries.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most %d geometries can be transformed at once".formatted(maxBatchSize));
+        }
+
+        var transform = getMathTransform(request.getSource(), request.getTarget(), request.isLenient());
+        var wktReader = new WKTReader();
+        var wktWriter = new WKTWriter();
+
+        List<Object> results = new ArrayList<>(geometries.size());
+        for (Object geometry : geometries) {
+            if (geometry instanceof String wkt) {
+                results.add(wktWriter.write(JTS.transform(wktReader.read(wkt), transform)));
+            } else if (geometry instanceof Map<?, ?> geoJson) {
+                Geometry transformed = JTS.transform(readGeoJson(geoJson), transform);
+                results.add(GEOJSON_MAPPER.convertValue(transformed, Map.class));
+            } else {
+                throw new IllegalArgumentException("Geometries must be given as WKT string or GeoJSON object");
+            }
+        }
+
+        return new BatchTransformResult(results);
+    }
+
+    private static Geometry readGeoJson(Map<?, ?> geoJson) {
+        try {
+            return GEOJSON_MAPPER.convertValue(geoJson, Geometry.class);
+        } catch (RuntimeException e) {
+            // e.g. a missing or unknown geometry type
+            throw new IllegalArgumentException("Invalid GeoJSON geometry: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the (cached) coordinate reference system for the given code, e.g. EPSG:25832.
+     */
+    public CoordinateReferenceSystem getCrs(String code) throws FactoryException {
+        var crs = crsCache.get(code);
+        if (crs == null) {
+            crs = CRS.decode(code);
+            if (crsCache.size() >= MAX_CACHED_CRS) {
+                crsCache.clear();
+            }
+            crsCache.put(code, crs);
+        }
+        return crs;
+    }
+
+    /**
+     * Returns the (cached) transform between the given coordinate reference systems.
+     */
+    public MathTransform getMathTransform(String sourceCrs, String targetCrs, boolean lenient) throws FactoryException {
+        var key = new TransformKey(sourceCrs, targetCrs, lenient);
+        var transform = transformCache.get(key);
+        if (transform == null) {
+            transform = CRS.findMathTransform(getCrs(sourceCrs), getCrs(targetCrs), lenient);
+            if (transformCache.size() >= MAX_CACHED_TRANSFORMS) {
+                transformCache.clear();
+            }
+            transformCache.put(key, transform);
+        }
+        return transform;
+    }
+
 }
@@ -0,0 +1,10 @@
+ALTER TABLE shogun.files ADD COLUMN IF NOT EXISTS content_hash text;
+ALTER TABLE shogun.files ADD COLUMN IF NOT EXISTS content_length bigint;
+ALTER TABLE shogun.imagefiles ADD COLUMN IF NOT EXISTS content_hash text;
+ALTER TABLE shogun.imagefiles ADD COLUMN IF NOT EXISTS content_length bigint;
+
+-- files stored on disk will get their hash on the next upload
+UPDATE shogun.files SET content_hash = encode(sha256(file), 'hex'), content_length = length(file)
+    WHERE file IS NOT NULL AND content_hash IS NULL;
+UPDATE shogun.imagefiles SET content_hash = encode(sha256(file), 'hex'), content_length = length(file)
+    WHERE file IS NOT NULL AND content_hash IS NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE shogun.files ADD COLUMN IF NOT EXISTS blob_key text;
+ALTER TABLE shogun.imagefiles ADD COLUMN IF NOT EXISTS blob_key text;
@@ -0,0 +1,56 @@
+-- The permissions of the permission collection as bit mask (CREATE = 1, READ = 2, UPDATE = 4,
+-- DELETE = 8, ADMIN = 16), see de.terrestris.shogun.lib.enumeration.PermissionType.
+ALTER TABLE shogun.userinstancepermissions ADD COLUMN IF NOT EXISTS permission_mask smallint;
+ALTER TABLE shogun.groupinstancepermissions ADD COLUMN IF NOT EXISTS permission_mask smallint;
+ALTER TABLE shogun.roleinstancepermissions ADD COLUMN IF NOT EXISTS permission_mask smallint;
+
+CREATE TEMPORARY TABLE permission_masks AS
+SELECT
+    permissions_id,
+    bit_or(
+        CASE permissions
+            WHEN 'CREATE' THEN 1
+            WHEN 'READ' THEN 2
+            WHEN 'UPDATE' THEN 4
+            WHEN 'DELETE' THEN 8
+            WHEN 'ADMIN' THEN 16
+            ELSE 0
+        END
+    )::smallint AS permission_mask
+FROM
+    shogun.permission
+GROUP BY
+    permissions_id;
+
+UPDATE shogun.userinstancepermissions ip
+SET permission_mask = pm.permission_mask
+FROM permission_masks pm
+WHERE pm.permissions_id = ip.permission_id;
+
+UPDATE shogun.groupinstancepermissions ip
+SET permission_mask = pm.permission_mask
+FROM permission_masks pm
+WHERE pm.permissions_id = ip.permission_id;
+
+UPDATE shogun.roleinstancepermissions ip
+SET permission_mask = pm.permission_mask
+FROM permission_masks pm
+WHERE pm.permissions_id = ip.permission_id;
+
+DROP TABLE permission_masks;
+
+-- The permission checks probe the instance permissions of a single entity for the given
+-- principals, including the mask allows to answer them with an index-only scan.
+CREATE INDEX IF NOT EXISTS userinstancepermissions_entity_id_user_id_idx
+    ON shogun.userinstancepermissions (entity_id, user_id) INCLUDE (permission_mask);
+CREATE INDEX IF NOT EXISTS groupinstancepermissions_entity_id_group_id_idx
+    ON shogun.groupinstancepermissions (entity_id, group_id) INCLUDE (permission_mask);
+CREATE INDEX IF NOT EXISTS roleinstancepermissions_entity_id_role_id_idx
+    ON shogun.roleinstancepermissions (entity_id, role_id) INCLUDE (permission_mask);
+
+-- Note: shogun.publicinstancepermissions (entity_id) is already covered by the index of its
+-- UNIQUE constraint.
+
+ANALYZE shogun.userinstancepermissions;
+ANALYZE shogun.groupinstancepermissions;
+ANALYZE shogun.roleinstancepermissions;
@@ -0,0 +1,83 @@
+-- Keeps the permission_mask of the instance permissions (see V0.18.0) in sync with their permission
+-- collection in the database, so instance permissions written via plain SQL or bulk queries and changes
+-- of the permissions of a collection are covered as well. A collection without permissions results in 0.
+CREATE OR REPLACE FUNCTION shogun.get_permission_mask(collection_id bigint) RETURNS smallint AS $$
+    SELECT coalesce(
+        bit_or(
+            CASE permissions
+                WHEN 'CREATE' THEN 1
+                WHEN 'READ' THEN 2
+                WHEN 'UPDATE' THEN 4
+                WHEN 'DELETE' THEN 8
+                WHEN 'ADMIN' THEN 16
+                ELSE 0
+            END
+        ),
+        0
+    )::smallint
+    FROM shogun.permission
+    WHERE permissions_id = collection_id;
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION shogun.set_instance_permission_mask() RETURNS trigger AS $$
+BEGIN
+    NEW.permission_mask := CASE WHEN NEW.permission_id IS NULL THEN NULL
+        ELSE shogun.get_permission_mask(NEW.permission_id) END;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION shogun.update_instance_permission_masks() RETURNS trigger AS $$
+DECLARE
+    collection_ids bigint[];
+    collection_id bigint;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        collection_ids := ARRAY[NEW.permissions_id];
+    ELSIF TG_OP = 'DELETE' THEN
+        collection_ids := ARRAY[OLD.permissions_id];
+    ELSE
+        collection_ids := ARRAY[OLD.permissions_id, NEW.permissions_id];
+    END IF;
+
+    FOREACH collection_id IN ARRAY collection_ids LOOP
+        IF collection_id IS NOT NULL THEN
+            -- the mask is recomputed by the triggers of the instance permission tables
+            UPDATE shogun.userinstancepermissions SET permission_id = permission_id WHERE permission_id = collection_id;
+            UPDATE shogun.groupinstancepermissions SET permission_id = permission_id WHERE permission_id = collection_id;
+            UPDATE shogun.roleinstancepermissions SET permission_id = permission_id WHERE permission_id = collection_id;
+        END IF;
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS userinstancepermissions_permission_mask ON shogun.userinstancepermissions;
+CREATE TRIGGER userinstancepermissions_permission_mask
+    BEFORE INSERT OR UPDATE ON shogun.userinstancepermissions
+    FOR EACH ROW EXECUTE FUNCTION shogun.set_instance_permission_mask();
+
+DROP TRIGGER IF EXISTS groupinstancepermissions_permission_mask ON shogun.groupinstancepermissions;
+CREATE TRIGGER groupinstancepermissions_permission_mask
+    BEFORE INSERT OR UPDATE ON shogun.groupinstancepermissions
+    FOR EACH ROW EXECUTE FUNCTION shogun.set_instance_permission_mask();
+
+DROP TRIGGER IF EXISTS roleinstancepermissions_permission_mask ON shogun.roleinstancepermissions;
+CREATE TRIGGER roleinstancepermissions_permission_mask
+    BEFORE INSERT OR UPDATE ON shogun.roleinstancepermissions
+    FOR EACH ROW EXECUTE FUNCTION shogun.set_instance_permission_mask();
+
+DROP TRIGGER IF EXISTS permission_instance_permission_masks ON shogun.permission;
+CREATE TRIGGER permission_instance_permission_masks
+    AFTER INSERT OR UPDATE OR DELETE ON shogun.permission
+    FOR EACH ROW EXECUTE FUNCTION shogun.update_instance_permission_masks();
+
+-- Backfill every existing row, including the ones V0.18.0 left NULL (collections without permissions)
+-- and the ones written since then.
+UPDATE shogun.userinstancepermissions SET permission_id = permission_id;
+UPDATE shogun.groupinstancepermissions SET permission_id = permission_id;
+UPDATE shogun.roleinstancepermissions SET permission_id = permission_id;
+
+ANALYZE shogun.userinstancepermissions;
+ANALYZE shogun.groupinstancepermissions;
+ANALYZE shogun.roleinstancepermissions;
@@ -0,0 +1,71 @@
+-- Unlike for roles, the auth_provider_id of users and groups wasn't unique, so the Keycloak synchronization
+-- and the creation of users (and their groups) on login might have created the same user or group twice.
+-- The duplicates are merged into the oldest entity (the one with the lowest ID) before the constraint is added:
+-- their permissions are moved over (if the oldest entity has no permission for the same entity or class yet)
+-- and the permissions for the duplicates themselves are removed.
+CREATE TEMPORARY TABLE duplicate_users AS
+SELECT id, kept_id
+FROM (
+    SELECT id, min(id) OVER (PARTITION BY auth_provider_id) AS kept_id
+    FROM shogun.users
+) u
+WHERE id <> kept_id;
+
+UPDATE shogun.userinstancepermissions p SET user_id = d.kept_id FROM duplicate_users d WHERE p.user_id = d.id;
+UPDATE shogun.userclasspermissions p SET user_id = d.kept_id FROM duplicate_users d WHERE p.user_id = d.id;
+
+DELETE FROM shogun.userinstancepermissions p
+USING shogun.userinstancepermissions other
+WHERE p.user_id = other.user_id
+    AND p.entity_id = other.entity_id
+    AND p.id > other.id
+    AND p.user_id IN (SELECT kept_id FROM duplicate_users);
+DELETE FROM shogun.userclasspermissions p
+USING shogun.userclasspermissions other
+WHERE p.user_id = other.user_id
+    AND p.class_name IS NOT DISTINCT FROM other.class_name
+    AND p.id > other.id
+    AND p.user_id IN (SELECT kept_id FROM duplicate_users);
+
+CREATE TEMPORARY TABLE duplicate_groups AS
+SELECT id, kept_id
+FROM (
+    SELECT id, min(id) OVER (PARTITION BY auth_provider_id) AS kept_id
+    FROM shogun.groups
+) g
+WHERE id <> kept_id;
+
+UPDATE shogun.groupinstancepermissions p SET group_id = d.kept_id FROM duplicate_groups d WHERE p.group_id = d.id;
+UPDATE shogun.groupclasspermissions p SET group_id = d.kept_id FROM duplicate_groups d WHERE p.group_id = d.id;
+
+DELETE FROM shogun.groupinstancepermissions p
+USING shogun.groupinstancepermissions other
+WHERE p.group_id = other.group_id
+    AND p.entity_id = other.entity_id
+    AND p.id > other.id
+    AND p.group_id IN (SELECT kept_id FROM duplicate_groups);
+DELETE FROM shogun.groupclasspermissions p
+USING shogun.groupclasspermissions other
+WHERE p.group_id = other.group_id
+    AND p.class_name IS NOT DISTINCT FROM other.class_name
+    AND p.id > other.id
+    AND p.group_id IN (SELECT kept_id FROM duplicate_groups);
+
+-- The entity IDs are unique across all tables (single sequence)
+DELETE FROM shogun.userinstancepermissions
+WHERE entity_id IN (SELECT id FROM duplicate_users UNION ALL SELECT id FROM duplicate_groups);
+DELETE FROM shogun.groupinstancepermissions
+WHERE entity_id IN (SELECT id FROM duplicate_users UNION ALL SELECT id FROM duplicate_groups);
+DELETE FROM shogun.roleinstancepermissions
+WHERE entity_id IN (SELECT id FROM duplicate_users UNION ALL SELECT id FROM duplicate_groups);
+DELETE FROM shogun.publicinstancepermissions
+WHERE entity_id IN (SELECT id FROM duplicate_users UNION ALL SELECT id FROM duplicate_groups);
+
+DELETE FROM shogun.users u USING duplicate_users d WHERE u.id = d.id;
+DELETE FROM shogun.groups g USING duplicate_groups d WHERE g.id = d.id;
+
+DROP TABLE duplicate_users;
+DROP TABLE duplicate_groups;
+
+ALTER TABLE shogun.users ADD CONSTRAINT users_auth_provider_id_key UNIQUE (auth_provider_id);
+ALTER TABLE shogun.groups ADD CONSTRAINT groups_auth_provider_id_key UNIQUE (auth_provider_id);
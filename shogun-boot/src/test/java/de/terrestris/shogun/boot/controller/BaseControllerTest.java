@@ -22,6 +22,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.terrestris.shogun.boot.config.ApplicationConfig;
 import de.terrestris.shogun.boot.config.JdbcConfiguration;
 import de.terrestris.shogun.lib.controller.BaseController;
+import de.terrestris.shogun.lib.dto.BulkPermissionDto;
+import de.terrestris.shogun.lib.enumeration.BulkPermissionOperation;
 import de.terrestris.shogun.lib.enumeration.PermissionCollectionType;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.User;
@@ -59,6 +61,7 @@ import java.util.stream.Collectors;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -673,4 +676,56 @@ public abstract class BaseControllerTest<U extends BaseController, R extends Bas
             .andExpect(MockMvcResultMatchers.jsonPath("$.public", is(true)));
     }
 
+    @Test
+    public void post_permissions_bulk_shouldGrantAndRevokeUserInstancePermissionsForRoleAdmin() throws Exception {
+        List<Long> entityIds = testData.stream().map(BaseEntity::getId).toList();
+
+        this.mockMvc
+            .perform(
+                MockMvcRequestBuilders
+                    .post(String.format("%s/permissions/bulk", basePath))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BulkPermissionDto(BulkPermissionOperation.GRANT,
+                        entityIds, List.of(this.user.getId()), null, null, PermissionCollectionType.READ)))
+                    .with(authentication(getMockAuthentication(this.adminUser)))
+                    .with(csrf())
+            )
+            .andExpect(MockMvcResultMatchers.status().isOk());
+
+        entityIds.forEach(entityId -> assertTrue(userInstancePermissionRepository
+            .findByUserIdAndEntityId(this.user.getId(), entityId).isPresent()));
+
+        this.mockMvc
+            .perform(
+                MockMvcRequestBuilders
+                    .post(String.format("%s/permissions/bulk", basePath))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BulkPermissionDto(BulkPermissionOperation.REVOKE,
+                        entityIds, List.of(this.user.getId()), null, null, null)))
+                    .with(authentication(getMockAuthentication(this.adminUser)))
+                    .with(csrf())
+            )
+            .andExpect(MockMvcResultMatchers.status().isOk());
+
+        entityIds.forEach(entityId -> assertTrue(userInstancePermissionRepository
+            .findByUserIdAndEntityId(this.user.getId(), entityId).isEmpty()));
+    }
+
+    @Test
+    public void post_permissions_bulk_shouldRequireAPermissionToGrant() throws Exception {
+        List<Long> entityIds = testData.stream().map(BaseEntity::getId).toList();
+
+        this.mockMvc
+            .perform(
+                MockMvcRequestBuilders
+                    .post(String.format("%s/permissions/bulk", basePath))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BulkPermissionDto(BulkPermissionOperation.GRANT,
+                        entityIds, List.of(this.user.getId()), null, null, null)))
+                    .with(authentication(getMockAuthentication(this.adminUser)))
+                    .with(csrf())
+            )
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
 }
@@ -0,0 +1,134 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.boot.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that V0.18.2 merges duplicate users and groups (same auth_provider_id) before making the
+ * auth_provider_id unique.
+ */
+public class AuthProviderIdUniqueTest {
+
+    private static PostgreSQLContainer postgreSQLContainer;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        DockerImageName postgis = DockerImageName.parse("postgis/postgis:16-3.4-alpine").asCompatibleSubstituteFor("postgres");
+        postgreSQLContainer = new PostgreSQLContainer(postgis);
+        postgreSQLContainer.start();
+
+        migrate("0.18.1");
+
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO shogun.users (id, auth_provider_id) VALUES (1, 'a'), (2, 'a'), (3, 'b')");
+            statement.execute("INSERT INTO shogun.groups (id, auth_provider_id) VALUES (4, 'g'), (5, 'g')");
+            statement.execute("""
+                INSERT INTO shogun.userinstancepermissions (id, entity_id, permission_id, user_id)
+                SELECT v.id, v.entity_id, (SELECT id FROM shogun.permissions WHERE name = 'READ'), v.user_id
+                FROM (VALUES (10, 100, 2), (11, 101, 1), (12, 101, 2), (13, 2, 3)) AS v (id, entity_id, user_id)
+                """);
+            statement.execute("""
+                INSERT INTO shogun.groupinstancepermissions (id, entity_id, permission_id, group_id)
+                SELECT 20, 100, (SELECT id FROM shogun.permissions WHERE name = 'READ'), 5
+                """);
+        }
+
+        migrate(null);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    @Test
+    public void migrationKeepsTheOldestDuplicate() throws SQLException {
+        assertEquals(1, queryForInt("SELECT id FROM shogun.users WHERE auth_provider_id = 'a'"));
+        assertEquals(1, queryForInt("SELECT count(*) FROM shogun.users WHERE auth_provider_id = 'a'"));
+        assertEquals(4, queryForInt("SELECT id FROM shogun.groups WHERE auth_provider_id = 'g'"));
+        assertEquals(1, queryForInt("SELECT count(*) FROM shogun.groups WHERE auth_provider_id = 'g'"));
+    }
+
+    @Test
+    public void migrationMovesThePermissionsOfTheDuplicates() throws SQLException {
+        assertEquals(1, queryForInt("SELECT user_id FROM shogun.userinstancepermissions WHERE id = 10"));
+        // user 1 already had a permission for entity 101
+        assertEquals(1, queryForInt("SELECT count(*) FROM shogun.userinstancepermissions WHERE entity_id = 101"));
+        assertEquals(4, queryForInt("SELECT group_id FROM shogun.groupinstancepermissions WHERE id = 20"));
+    }
+
+    @Test
+    public void migrationRemovesThePermissionsForTheDuplicates() throws SQLException {
+        assertEquals(0, queryForInt("SELECT count(*) FROM shogun.userinstancepermissions WHERE entity_id = 2"));
+    }
+
+    @Test
+    public void authProviderIdsAreUnique() {
+        assertThrows(SQLException.class, () -> execute("INSERT INTO shogun.users (id, auth_provider_id) VALUES (6, 'b')"));
+        assertThrows(SQLException.class, () -> execute("INSERT INTO shogun.groups (id, auth_provider_id) VALUES (7, 'g')"));
+    }
+
+    private static void migrate(String target) {
+        var configuration = Flyway.configure()
+            .dataSource(postgreSQLContainer.getJdbcUrl(), postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword())
+            .schemas("shogun", "public")
+            .defaultSchema("shogun")
+            .locations("classpath:db/migration");
+
+        if (target != null) {
+            configuration.target(target);
+        }
+
+        configuration.load().migrate();
+    }
+
+    private static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(), postgreSQLContainer.getUsername(),
+            postgreSQLContainer.getPassword());
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int queryForInt(String sql) throws SQLException {
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.boot.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the instance permission probes of the permission queries (see BaseCrudRepository) are
+ * answered by the composite indexes of V0.18.0 and that the permission mask is migrated and kept in sync
+ * (V0.18.1) correctly.
+ */
+public class InstancePermissionIndexTest {
+
+    private static final int PERMISSION_COUNT = 20000;
+
+    private static PostgreSQLContainer postgreSQLContainer;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        DockerImageName postgis = DockerImageName.parse("postgis/postgis:16-3.4-alpine").asCompatibleSubstituteFor("postgres");
+        postgreSQLContainer = new PostgreSQLContainer(postgis);
+        postgreSQLContainer.start();
+
+        // create some permissions before the permission mask exists
+        migrate("0.17.0");
+
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO shogun.users (id, auth_provider_id) VALUES (1, 'user')");
+            statement.execute("INSERT INTO shogun.roles (id, auth_provider_id) VALUES (2, 'role')");
+            statement.execute("""
+                INSERT INTO shogun.userinstancepermissions (id, entity_id, permission_id, user_id)
+                SELECT
+                    g,
+                    g,
+                    (SELECT id FROM shogun.permissions WHERE name = CASE WHEN g % 2 = 0 THEN 'READ' ELSE 'UPDATE_DELETE' END),
+                    1
+                FROM generate_series(1, %d) g
+                """.formatted(PERMISSION_COUNT));
+            statement.execute("""
+                INSERT INTO shogun.roleinstancepermissions (id, entity_id, permission_id, role_id)
+                SELECT
+                    %d + g,
+                    g,
+                    (SELECT id FROM shogun.permissions WHERE name = 'ADMIN'),
+                    2
+                FROM generate_series(1, %d) g
+                """.formatted(PERMISSION_COUNT, PERMISSION_COUNT));
+        }
+
+        migrate(null);
+
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            // update the visibility map to allow index-only scans
+            statement.execute("VACUUM ANALYZE shogun.userinstancepermissions");
+            statement.execute("VACUUM ANALYZE shogun.roleinstancepermissions");
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    @Test
+    public void migrationSetsPermissionMask() throws SQLException {
+        assertEquals(2, queryForInt("SELECT permission_mask FROM shogun.userinstancepermissions WHERE entity_id = 2"));
+        assertEquals(4 | 8, queryForInt("SELECT permission_mask FROM shogun.userinstancepermissions WHERE entity_id = 3"));
+        assertEquals(16, queryForInt("SELECT permission_mask FROM shogun.roleinstancepermissions WHERE entity_id = 3"));
+        assertEquals(0, queryForInt("SELECT count(*) FROM shogun.userinstancepermissions WHERE permission_mask IS NULL"));
+    }
+
+    @Test
+    public void triggersKeepPermissionMaskInSync() throws SQLException {
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO shogun.permissions (id, name) VALUES (1000, 'TEST_COLLECTION')");
+            statement.execute("INSERT INTO shogun.permission (permissions_id, permissions) VALUES (1000, 'UPDATE')");
+            // written without a mask, e.g. by a plain SQL script
+            statement.execute("""
+                INSERT INTO shogun.userinstancepermissions (id, entity_id, permission_id, user_id)
+                VALUES (100000, 100000, 1000, 1)
+                """);
+
+            assertEquals(4, queryForInt("SELECT permission_mask FROM shogun.userinstancepermissions WHERE id = 100000"));
+
+            statement.execute("INSERT INTO shogun.permission (permissions_id, permissions) VALUES (1000, 'READ')");
+
+            assertEquals(4 | 2, queryForInt("SELECT permission_mask FROM shogun.userinstancepermissions WHERE id = 100000"));
+
+            statement.execute("DELETE FROM shogun.permission WHERE permissions_id = 1000");
+
+            assertEquals(0, queryForInt("SELECT permission_mask FROM shogun.userinstancepermissions WHERE id = 100000"));
+        }
+    }
+
+    @Test
+    public void userInstancePermissionProbeUsesIndexOnlyScan() throws SQLException {
+        String plan = explain("""
+            SELECT 1 FROM shogun.userinstancepermissions uip
+            WHERE uip.user_id = 1
+            AND uip.entity_id = 4711
+            AND (uip.permission_mask & 18) <> 0
+            """);
+
+        assertTrue(plan.contains("Index Only Scan using userinstancepermissions_entity_id_user_id_idx"), plan);
+    }
+
+    @Test
+    public void roleInstancePermissionProbeUsesIndexOnlyScan() throws SQLException {
+        String plan = explain("""
+            SELECT 1 FROM shogun.roleinstancepermissions rip
+            WHERE rip.role_id IN (2, 3)
+            AND rip.entity_id = 4711
+            AND (rip.permission_mask & 18) <> 0
+            """);
+
+        assertTrue(plan.contains("Index Only Scan using roleinstancepermissions_entity_id_role_id_idx"), plan);
+    }
+
+    @Test
+    public void publicInstancePermissionProbeUsesIndex() throws SQLException {
+        String plan = explain("SELECT 1 FROM shogun.publicinstancepermissions pip WHERE pip.entity_id = 4711");
+
+        assertTrue(plan.contains("publicinstancepermissions_entity_id_key"), plan);
+    }
+
+    private static void migrate(String target) {
+        var configuration = Flyway.configure()
+            .dataSource(postgreSQLContainer.getJdbcUrl(), postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword())
+            .schemas("shogun", "public")
+            .defaultSchema("shogun")
+            .locations("classpath:db/migration");
+
+        if (target != null) {
+            configuration.target(target);
+        }
+
+        configuration.load().migrate();
+    }
+
+    private static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(), postgreSQLContainer.getUsername(),
+            postgreSQLContainer.getPassword());
+    }
+
+    private static int queryForInt(String sql) throws SQLException {
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            // the tables are small enough to make a sequential scan competitive, only the availability
+            // of the index is of interest here
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
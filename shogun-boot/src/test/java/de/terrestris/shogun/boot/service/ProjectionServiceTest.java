@@ -16,13 +16,18 @@
  */
 package de.terrestris.shogun.boot.service;
 
+import de.terrestris.shogun.boot.dto.BatchTransformRequest;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.operation.TransformException;
 import org.junit.jupiter.api.Test;
 import org.locationtech.jts.io.ParseException;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ProjectionServiceTest {
 
@@ -43,4 +48,79 @@ public class ProjectionServiceTest {
         assertTrue(result.getWkt().startsWith("POINT"));
     }
 
+    @Test
+    public void cachesCrsAndTransforms() throws FactoryException {
+        var service = new ProjectionService();
+        assertSame(service.getCrs("EPSG:25832"), service.getCrs("EPSG:25832"));
+        assertSame(
+            service.getMathTransform("EPSG:4326", "EPSG:25832", false),
+            service.getMathTransform("EPSG:4326", "EPSG:25832", false)
+        );
+    }
+
+    @Test
+    public void batchTransformTest() throws FactoryException, TransformException, ParseException {
+        var service = new ProjectionService();
+        var geoJson = Map.of(
+            "type", "Point",
+            "coordinates", List.of(45, 7)
+        );
+        var request = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false, List.of("POINT(45 7)", geoJson));
+
+        var result = service.transform(request);
+
+        assertEquals(2, result.getGeometries().size());
+        var wkt = (String) result.getGeometries().get(0);
+        assertTrue(wkt.startsWith("POINT"));
+        assertTrue(wkt.contains("342369"));
+
+        var transformedGeoJson = (Map<?, ?>) result.getGeometries().get(1);
+        assertEquals("Point", transformedGeoJson.get("type"));
+        var coordinates = (List<?>) transformedGeoJson.get("coordinates");
+        assertEquals(342369, ((Number) coordinates.get(0)).intValue());
+        assertEquals(4984896, ((Number) coordinates.get(1)).intValue());
+    }
+
+    @Test
+    public void batchTransformRejectsUnknownGeometries() {
+        var service = new ProjectionService();
+        var request = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false, List.of(42));
+
+        assertThrows(IllegalArgumentException.class, () -> service.transform(request));
+    }
+
+    @Test
+    public void batchTransformRejectsInvalidGeoJson() {
+        var service = new ProjectionService();
+        var request = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false,
+            List.of(Map.of("type", "Circle", "coordinates", List.of(45, 7))));
+
+        assertThrows(IllegalArgumentException.class, () -> service.transform(request));
+    }
+
+    @Test
+    public void batchTransformRejectsNullGeometries() {
+        var service = new ProjectionService();
+        var request = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false, Arrays.asList("POINT(45 7)", null));
+
+        assertThrows(IllegalArgumentException.class, () -> service.transform(request));
+    }
+
+    @Test
+    public void batchTransformRejectsMissingCrs() {
+        var service = new ProjectionService();
+        var request = new BatchTransformRequest(null, "EPSG:25832", false, List.of("POINT(45 7)"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.transform(request));
+    }
+
+    @Test
+    public void batchTransformRejectsTooManyGeometries() {
+        var service = new ProjectionService();
+        ReflectionTestUtils.setField(service, "maxBatchSize", 1);
+        var request = new BatchTransformRequest("EPSG:4326", "EPSG:25832", false, List.of("POINT(45 7)", "POINT(46 7)"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.transform(request));
+    }
+
 }
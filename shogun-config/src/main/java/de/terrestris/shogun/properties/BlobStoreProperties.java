@@ -0,0 +1,90 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "upload.blob-store")
+public class BlobStoreProperties {
+
+    /**
+     * Where the content of uploaded files is stored:
+     * * DATABASE: inline in the file table (default)
+     * * FILESYSTEM: in a directory on the local filesystem
+     * * S3: in a bucket of a S3 compatible object storage (e.g. MinIO)
+     */
+    private Type type = Type.DATABASE;
+
+    /**
+     * The directory to store the files in (FILESYSTEM only). Defaults to
+     * the subdirectory <code>blobs</code> of <code>upload.basePath</code>.
+     */
+    private String basePath;
+
+    /**
+     * The URL of the object storage, e.g. http://minio:9000 (S3 only).
+     */
+    private String endpoint;
+
+    /**
+     * The region of the bucket (S3 only).
+     */
+    private String region = "us-east-1";
+
+    /**
+     * The name of the bucket (S3 only).
+     */
+    private String bucket;
+
+    /**
+     * The access key (S3 only).
+     */
+    private String accessKey;
+
+    /**
+     * The secret key (S3 only).
+     */
+    private String secretKey;
+
+    /**
+     * Whether to address the bucket as part of the path (as required by e.g. MinIO) or
+     * as part of the hostname (S3 only).
+     */
+    private Boolean pathStyleAccess = true;
+
+    /**
+     * Whether the content of existing files still stored in the database should be moved
+     * into the configured blob store in the background on startup.
+     */
+    private Boolean migrateExisting = true;
+
+    /**
+     * The number of files moved per transaction by the background migration.
+     */
+    private Integer migrationBatchSize = 20;
+
+    public enum Type {
+        DATABASE,
+        FILESYSTEM,
+        S3
+    }
+
+}
@@ -0,0 +1,67 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "graphql.limits")
+public class GraphQLLimitsProperties {
+
+    /**
+     * Whether queries exceeding the maximum depth or complexity should be rejected before their execution.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * The maximum depth of a query.
+     */
+    private Integer maxDepth = 15;
+
+    /**
+     * The maximum (estimated) complexity of a query, see {@link #fieldCosts}. The complexity of the nodes of a
+     * connection is multiplied by its page size (<code>first</code>, at most 1000), so the default allows to
+     * request a full page with about 45 fields per node, while nested lists (e.g. the members of every group
+     * of a full page) are rejected.
+     */
+    private Integer maxComplexity = 50000;
+
+    /**
+     * The cost of a field not contained in {@link #fieldCosts}.
+     */
+    private Integer defaultFieldCost = 1;
+
+    /**
+     * The estimated number of elements of a list field if the size isn't given by the query (via the
+     * <code>first</code> or <code>ids</code> arguments). The complexity of the selected sub fields is
+     * multiplied by this value.
+     */
+    private Integer defaultListSize = 20;
+
+    /**
+     * The costs of single fields by <code>Type.field</code>, e.g. <code>Group.members</code> for fields requiring
+     * additional requests to the authentication provider.
+     */
+    private Map<String, Integer> fieldCosts = new HashMap<>();
+
+}
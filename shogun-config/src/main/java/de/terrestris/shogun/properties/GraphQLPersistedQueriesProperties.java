@@ -0,0 +1,39 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "graphql.persisted-queries")
+public class GraphQLPersistedQueriesProperties {
+
+    /**
+     * Whether parsed and validated queries should be cached and persisted queries (by their SHA-256 hash)
+     * should be supported.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * The maximum number of cached queries, the least recently used query is evicted if the limit is reached.
+     */
+    private Integer maxSize = 1000;
+
+}
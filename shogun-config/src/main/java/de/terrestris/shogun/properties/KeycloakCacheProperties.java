@@ -0,0 +1,46 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "keycloak.cache")
+public class KeycloakCacheProperties {
+
+    /**
+     * Whether the user, group and role representations fetched from Keycloak should be cached.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * The time-to-live of a cached representation. Entries are evicted by the Keycloak webhook
+     * events already, the TTL only covers changes that aren't reported by any event.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of entries held per cached representation type.
+     */
+    private Integer maxSize = 10000;
+
+}
@@ -0,0 +1,51 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "keycloak.sync")
+public class KeycloakSyncProperties {
+
+    /**
+     * Whether all users, groups and roles should be synchronized from Keycloak in the background
+     * after the application has been started.
+     */
+    private Boolean onStartup = false;
+
+    /**
+     * The number of users, groups or roles fetched from Keycloak per request (and created per
+     * transaction).
+     */
+    private Integer pageSize = 100;
+
+    /**
+     * The number of threads creating the fetched pages in the database.
+     */
+    private Integer threads = 2;
+
+    /**
+     * The maximum number of fetched pages waiting to be created. If the queue is full, the next
+     * page is created by the fetching thread itself, which limits the memory used by a sync.
+     */
+    private Integer queueCapacity = 4;
+
+}
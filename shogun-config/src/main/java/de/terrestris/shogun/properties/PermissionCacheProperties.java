@@ -0,0 +1,46 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "permission.cache")
+public class PermissionCacheProperties {
+
+    /**
+     * Whether permission decisions should be cached for the lifetime of a single request.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * The time-to-live of the (optional) cross-request decision cache. A zero
+     * duration disables it, so decisions are only reused within the same request.
+     */
+    private Duration ttl = Duration.ZERO;
+
+    /**
+     * The maximum number of decisions held in the cross-request decision cache.
+     */
+    private Integer maxSize = 10000;
+
+}
@@ -20,6 +20,7 @@ import de.terrestris.shogun.interceptor.exception.InterceptorException;
 import de.terrestris.shogun.interceptor.service.GeoServerInterceptorService;
 import de.terrestris.shogun.lib.dto.HttpResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
 import org.apache.hc.core5.http.HttpException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +46,8 @@ public class GeoServerInterceptorController {
     protected GeoServerInterceptorService service;
 
     @RequestMapping(value = {"/geoserver.action", "/geoserver.action/{endpoint}"}, method = {RequestMethod.GET, RequestMethod.POST})
-    public ResponseEntity<byte[]> interceptGeoServerRequest(HttpServletRequest request, Optional<String> endpoint) {
+    public ResponseEntity<byte[]> interceptGeoServerRequest(HttpServletRequest request, Optional<String> endpoint,
+            HttpServletResponse response) {
         HttpHeaders responseHeaders = new HttpHeaders();
         HttpStatus responseStatus;
         byte[] responseBody;
@@ -53,7 +55,14 @@ public class GeoServerInterceptorController {
 
         try {
             log.trace("Trying to intercept a GeoServer resource.");
-            httpResponse = this.service.interceptGeoServerRequest(request, endpoint);
+            httpResponse = this.service.interceptGeoServerRequest(request, endpoint, response);
+
+            if (httpResponse == null) {
+                // the response has been streamed to the client already
+                log.trace("Successfully streamed a GeoServer resource.");
+                return null;
+            }
+
             responseStatus = httpResponse.getStatusCode();
             responseBody = httpResponse.getBody();
             responseHeaders = httpResponse.getHeaders();
@@ -63,6 +72,10 @@ public class GeoServerInterceptorController {
         } catch (NullPointerException | IOException | InterceptorException | HttpException | URISyntaxException e) {
             log.error(ERROR_MESSAGE + "{}", e.getMessage());
             log.trace("Full stack trace: ", e);
+            if (response != null && response.isCommitted()) {
+                // the streaming of the response has been started already, the status can't be changed anymore
+                return null;
+            }
             responseHeaders.setContentType(MediaType.APPLICATION_JSON);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE + e.getMessage(), e);
         }
@@ -0,0 +1,52 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.interceptor.listener;
+
+import de.terrestris.shogun.interceptor.model.InterceptorRule;
+import de.terrestris.shogun.interceptor.service.InterceptorRuleIndex;
+import de.terrestris.shogun.lib.util.ApplicationContextProvider;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * JPA entity listener invalidating the {@link InterceptorRuleIndex} whenever
+ * an {@link InterceptorRule} is created, updated or removed.
+ */
+@Log4j2
+public class InterceptorRuleChangeListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onInterceptorRuleChange(InterceptorRule interceptorRule) {
+        ApplicationContext applicationContext = ApplicationContextProvider.getContext();
+
+        if (applicationContext == null) {
+            return;
+        }
+
+        log.trace("Interceptor rule with ID {} changed, invalidating the interceptor rule index",
+            interceptorRule.getId());
+
+        applicationContext.getBeanProvider(InterceptorRuleIndex.class)
+            .ifAvailable(InterceptorRuleIndex::invalidate);
+    }
+
+}
@@ -85,6 +85,35 @@ public class OgcMessageDistributor {
     public OgcMessageDistributor() {
     }
 
+    /**
+     * Checks whether the response of the given message has to be passed to
+     * {@link #distributeToResponseInterceptor(MutableHttpServletRequest, HttpResponse, OgcMessage)},
+     * i.e. whether it needs to be buffered before it can be returned to the client.
+     *
+     * @param message
+     * @return true if the response may be denied or modified, false otherwise
+     */
+    public boolean isResponseInterceptionRequired(OgcMessage message) {
+        if (message.isResponseAllowed()) {
+            return false;
+        } else if (message.isResponseDenied()) {
+            return true;
+        }
+
+        if (message.isWms()) {
+            return this.wmsResponseInterceptor != null;
+        } else if (message.isWfs()) {
+            return this.wfsResponseInterceptor != null;
+        } else if (message.isWcs()) {
+            return this.wcsResponseInterceptor != null;
+        } else if (message.isWps()) {
+            return this.wpsResponseInterceptor != null;
+        }
+
+        // let distributeToResponseInterceptor() handle unsupported services
+        return true;
+    }
+
     /**
      * @param mutableRequest
      * @param response
@@ -43,6 +43,14 @@ public class InterceptorRulePermissionEvaluator extends BaseEntityPermissionEval
         return super.hasPermission(user, entity, permission);
     }
 
-}
+    @Override
+    protected ReadPermissionScope getReadPermissionScope(User user, Class<InterceptorRule> baseEntityClass) {
 
+        if (securityContextUtil.isInterceptorAdmin()) {
+            return ReadPermissionScope.UNRESTRICTED;
+        }
 
+        return super.getReadPermissionScope(user, baseEntityClass);
+    }
+
+}
@@ -27,8 +27,11 @@ import de.terrestris.shogun.interceptor.model.InterceptorRule;
 import de.terrestris.shogun.interceptor.servlet.MutableHttpServletRequest;
 import de.terrestris.shogun.interceptor.util.OgcXmlUtil;
 import de.terrestris.shogun.lib.dto.HttpResponse;
+import de.terrestris.shogun.lib.util.HttpRequestCoalescer;
+import de.terrestris.shogun.lib.util.HttpResponseStreamConsumer;
 import de.terrestris.shogun.lib.util.HttpUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -48,9 +51,11 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -82,9 +87,15 @@ public class GeoServerInterceptorService {
     @Autowired
     protected InterceptorRuleService interceptorRuleService;
 
+    @Autowired
+    protected InterceptorRuleIndex interceptorRuleIndex;
+
     @Autowired
     protected InterceptorProperties interceptorProperties;
 
+    @Autowired(required = false)
+    protected HttpRequestCoalescer httpRequestCoalescer;
+
     /**
      * @param params
      * @return
@@ -132,6 +143,29 @@ public class GeoServerInterceptorService {
      */
     public static HttpResponse sendRequest(MutableHttpServletRequest request) throws InterceptorException, HttpException {
         HttpResponse httpResponse = new HttpResponse();
+
+        sendRequest(request, (statusCode, headers, body) -> {
+            httpResponse.setStatusCode(statusCode);
+            httpResponse.setHeaders(headers);
+
+            if (body != null) {
+                httpResponse.setBody(body.readAllBytes());
+            }
+        });
+
+        return httpResponse;
+    }
+
+    /**
+     * Sends the given request and passes the response to the given consumer without buffering
+     * its body.
+     *
+     * @param request
+     * @param consumer
+     * @throws InterceptorException
+     * @throws HttpException
+     */
+    public static void sendRequest(MutableHttpServletRequest request, HttpResponseStreamConsumer consumer) throws InterceptorException, HttpException {
         String requestMethod = request.getMethod();
         boolean getRequest = "GET".equalsIgnoreCase(requestMethod);
         boolean postRequest = "POST".equalsIgnoreCase(requestMethod);
@@ -152,7 +186,7 @@ public class GeoServerInterceptorService {
             if (getRequest) {
                 // if we're called via GET method
                 // perform the request with the given parameters
-                httpResponse = HttpUtil.get(fullRequestUri, requestHeaders);
+                HttpUtil.get(fullRequestUri, requestHeaders, consumer);
 
             } else if (postRequest) {
                 // if we're called via POST method
@@ -177,10 +211,10 @@ public class GeoServerInterceptorService {
                     }
 
                     // perform the POST request to the URI with queryString and with the given body
-                    httpResponse = HttpUtil.post(requestUri, body, contentType, requestHeaders, false);
+                    HttpUtil.post(requestUri, body, contentType, requestHeaders, false, consumer);
                 } else {
                     // perform the POST request with the given name value pairs,
-                    httpResponse = HttpUtil.post(requestUri, allQueryParams, requestHeaders);
+                    HttpUtil.post(requestUri, allQueryParams, requestHeaders, consumer);
                 }
 
             } else {
@@ -191,8 +225,6 @@ public class GeoServerInterceptorService {
         } catch (URISyntaxException | UnsupportedEncodingException e) {
             log.error("Error while sending request: " + e.getMessage());
         }
-
-        return httpResponse;
     }
 
     /**
@@ -318,6 +350,28 @@ public class GeoServerInterceptorService {
      */
     @Transactional(readOnly = true)
     public HttpResponse interceptGeoServerRequest(HttpServletRequest request, Optional<String> endpoint) throws InterceptorException, URISyntaxException, HttpException, IOException {
+        return interceptGeoServerRequest(request, endpoint, null);
+    }
+
+    /**
+     * Intercepts the given request. If a servlet response is given and the response of GeoServer
+     * doesn't need to be intercepted (i.e. there is no response interceptor for the requested
+     * service or the response is allowed by an {@link InterceptorRule}), the response will be
+     * streamed to the client directly without buffering it in memory. In this case null will be
+     * returned. This method is not transactional on purpose, as no database connection should be held
+     * while streaming: the rules are looked up in the {@link InterceptorRuleIndex}.
+     *
+     * @param request
+     * @param endpoint
+     * @param servletResponse The response to stream to (optional).
+     * @return The (intercepted) response or null if it has been written to the servlet response already.
+     * @throws InterceptorException
+     * @throws URISyntaxException
+     * @throws HttpException
+     * @throws IOException
+     */
+    public HttpResponse interceptGeoServerRequest(HttpServletRequest request, Optional<String> endpoint,
+            HttpServletResponse servletResponse) throws InterceptorException, URISyntaxException, HttpException, IOException {
         // wrap the request, we want to manipulate it
         MutableHttpServletRequest mutableRequest =
             new MutableHttpServletRequest(request);
@@ -342,9 +396,31 @@ public class GeoServerInterceptorService {
         mutableRequest = ogcMessageDistributor
             .distributeToRequestInterceptor(mutableRequest, message);
 
+        // identical requests for e.g. capabilities or legends are sent only once if they arrive concurrently
+        final boolean coalesce = isCoalescable(mutableRequest, message);
+
+        if (servletResponse != null && !coalesce && !ogcMessageDistributor.isResponseInterceptionRequired(message)) {
+            log.trace("No response interception required, streaming the response.");
+
+            // send the request and pipe the white-listed response headers and
+            // the body to the client
+            sendRequest(mutableRequest, (statusCode, headers, body) -> {
+                servletResponse.setStatus(statusCode.value());
+
+                getResponseHeadersToForward(headers).forEach((headerKey, headerValues) ->
+                    headerValues.forEach(headerValue -> servletResponse.addHeader(headerKey, headerValue)));
+
+                if (body != null) {
+                    body.transferTo(servletResponse.getOutputStream());
+                }
+            });
+
+            return null;
+        }
+
         // send the request
         // TODO: Move to global proxy class
-        HttpResponse response = sendRequest(mutableRequest);
+        HttpResponse response = coalesce ? sendCoalescedRequest(mutableRequest) : sendRequest(mutableRequest);
 
         // intercept the response (if needed)
         HttpResponse interceptedResponse = ogcMessageDistributor
@@ -360,6 +436,73 @@ public class GeoServerInterceptorService {
         return interceptedResponse;
     }
 
+    /**
+     * Checks whether concurrent identical requests should be coalesced into a single request against
+     * GeoServer. This applies to GET requests of operations whose response is the same for all clients
+     * with the same credentials, e.g. GetCapabilities or GetLegendGraphic.
+     *
+     * @param request The (intercepted) request.
+     * @param message The OGC message of the request.
+     * @return true if the request should be coalesced.
+     */
+    private boolean isCoalescable(MutableHttpServletRequest request, OgcMessage message) {
+        return httpRequestCoalescer != null &&
+            "GET".equalsIgnoreCase(request.getMethod()) &&
+            message.getOperation() != null &&
+            HttpRequestCoalescer.isCoalescableOgcRequest(message.getOperation().toString());
+    }
+
+    /**
+     * Sends the given (GET) request or waits for the response of an identical request in flight.
+     *
+     * @param request The request to send.
+     * @return The response.
+     * @throws InterceptorException
+     * @throws HttpException
+     * @throws URISyntaxException
+     */
+    private HttpResponse sendCoalescedRequest(MutableHttpServletRequest request) throws InterceptorException, HttpException, URISyntaxException {
+        String key = getCoalescingKey(request);
+
+        try {
+            return httpRequestCoalescer.execute(key, () -> {
+                try {
+                    return sendRequest(request);
+                } catch (InterceptorException e) {
+                    throw new HttpException(e.getMessage(), e);
+                }
+            });
+        } catch (HttpException e) {
+            if (e.getCause() instanceof InterceptorException interceptorException) {
+                throw interceptorException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the key identifying the response of the given request: The full URI and a hash of the
+     * forwarded request headers (as they contain the credentials).
+     *
+     * @param request The request.
+     * @return The key.
+     * @throws URISyntaxException
+     */
+    private static String getCoalescingKey(MutableHttpServletRequest request) throws URISyntaxException {
+        URI fullRequestUri = getFullRequestURI(new URI(request.getRequestURI()),
+            createQueryParams(request.getParameterMap()));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Header header : getRequestHeadersToForward(request)) {
+                digest.update((header.getName() + ":" + header.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return fullRequestUri + "#" + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Detect whether the WMS reflector endpoint of GeoServer should be called instead of the one defined in provided message
      *
@@ -487,61 +630,9 @@ public class GeoServerInterceptorService {
             ruleEvent, service, operation, endPoint
         );
 
-        // get all persisted rules for the given service and event
-        List<InterceptorRule> interceptorRules = this.interceptorRuleService.findAllRulesForServiceAndEvent(service, HttpEnum.EventType.fromString(ruleEvent));
-
-        log.trace("Got " + interceptorRules.size() + " rule(s) from database.");
+        final HttpEnum.EventType event = HttpEnum.EventType.fromString(ruleEvent);
 
-        if (log.isTraceEnabled()) {
-            for (InterceptorRule interceptorRule : interceptorRules) {
-                log.trace("Returned rule is: " + interceptorRule);
-            }
-        }
-
-        log.trace("Evaluating the given rules for the most specific one:");
-
-        // create the predicate for finding the most specific rule out of
-        // the given rules (conditions in descending specific order).
-        // note: we don't need to check for request event (request/response)
-        // and the service type at all as the rule candidates are filtered by
-        // the DAO method already. the last check for service specificity found
-        // here is a fallback only.
-        HashMap<InterceptorRule, Integer> ruleMap = new HashMap<>();
-        interceptorRules.stream().forEach((rule) -> {
-            int score = 0;
-
-            if (!StringUtils.isEmpty(rule.getEndPoint()) && !StringUtils.isEmpty(endPoint) && !Strings.CI.equals(rule.getEndPoint(), endPoint)) {
-                return;
-            }
-            if (rule.getService() != null && !Objects.equals(rule.getService(), service) && service != null) {
-                return;
-            }
-            if (rule.getOperation() != null && !Objects.equals(rule.getOperation(), operation) && operation != null) {
-                return;
-            }
-            if (endPoint != null && Objects.equals(rule.getEndPoint(), endPoint)) {
-                ++score;
-            }
-            if (operation != null && Objects.equals(rule.getOperation(), operation)) {
-                ++score;
-            }
-            if (service != null && Objects.equals(rule.getService(), service)) {
-                ++score;
-            }
-            ruleMap.put(rule, score);
-        });
-
-        AtomicReference<Integer> biggestScore = new AtomicReference<>(0);
-        AtomicReference<InterceptorRule> mostSpecific = new AtomicReference<>();
-
-        ruleMap.entrySet().stream().forEach((entry) -> {
-            if (entry.getValue() > biggestScore.get()) {
-                mostSpecific.set(entry.getKey());
-                biggestScore.set(entry.getValue());
-            }
-        });
-
-        if (interceptorRules.size() == 0) {
+        if (!interceptorRuleIndex.hasRules(service, event)) {
             log.error("""
                 Got no interceptor rules for this request/response.
                 Usually this should not happen as one has to define at
@@ -550,12 +641,19 @@ public class GeoServerInterceptorService {
                 """);
 
             throw new InterceptorException("No interceptor rule found.");
-        } else if (log.isTraceEnabled()) {
+        }
+
+        // find the most specific rule out of the indexed rules for the given
+        // service and event (conditions in descending specific order: endpoint,
+        // operation, service).
+        InterceptorRule mostSpecific = interceptorRuleIndex.findMostSpecificRule(service, event, operation, endPoint);
+
+        if (log.isTraceEnabled()) {
             log.trace("Identified the following rule as most the specific " +
-                "one: " + mostSpecific.get());
+                "one: " + mostSpecific);
         }
 
-        return mostSpecific.get();
+        return mostSpecific;
     }
 
     /**
@@ -0,0 +1,272 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.interceptor.service;
+
+import de.terrestris.shogun.interceptor.enumeration.HttpEnum;
+import de.terrestris.shogun.interceptor.enumeration.OgcEnum;
+import de.terrestris.shogun.interceptor.model.InterceptorRule;
+import de.terrestris.shogun.interceptor.repository.InterceptorRuleRepository;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of all {@link InterceptorRule}s, keyed by (service, event) with
+ * sub-maps for the endpoint and the operation, so that the most specific rule for
+ * an OGC request can be resolved without querying the database.
+ *
+ * The index is loaded lazily and rebuilt after the rules have been changed (see
+ * {@link de.terrestris.shogun.interceptor.listener.InterceptorRuleChangeListener}).
+ */
+@Component
+@Log4j2
+public class InterceptorRuleIndex {
+
+    @Autowired
+    protected InterceptorRuleRepository interceptorRuleRepository;
+
+    /**
+     * Incremented on every invalidation, an index is only valid for the generation it has been
+     * loaded in. This way an index built from rules loaded before a concurrent invalidation is
+     * never used.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param service The service type.
+     * @param event The event type.
+     * @return Whether there are any rules for the given service and event.
+     */
+    public boolean hasRules(OgcEnum.ServiceType service, HttpEnum.EventType event) {
+        return getRuleSet(service, event) != null;
+    }
+
+    /**
+     * Returns the most specific rule for the given parameters, i.e. the rule matching most of
+     * service, operation and endpoint. Rules without an operation or endpoint match any operation
+     * or endpoint.
+     *
+     * @param service The service type.
+     * @param event The event type.
+     * @param operation The operation type (may be null).
+     * @param endPoint The endpoint, e.g. the qualified layer name (may be null).
+     * @return The most specific rule or null if no rule matches.
+     */
+    public InterceptorRule findMostSpecificRule(OgcEnum.ServiceType service, HttpEnum.EventType event,
+            OgcEnum.OperationType operation, String endPoint) {
+        RuleSet ruleSet = getRuleSet(service, event);
+        if (ruleSet == null) {
+            return null;
+        }
+
+        List<InterceptorRule> candidates = ruleSet.getCandidates(operation, endPoint);
+
+        log.trace("Evaluating {} candidate rule(s) for the most specific one", candidates.size());
+
+        InterceptorRule mostSpecific = null;
+        int biggestScore = 0;
+
+        for (InterceptorRule rule : candidates) {
+            int score = 0;
+
+            if (endPoint != null && Objects.equals(rule.getEndPoint(), endPoint)) {
+                ++score;
+            }
+            if (operation != null && Objects.equals(rule.getOperation(), operation)) {
+                ++score;
+            }
+            if (Objects.equals(rule.getService(), service)) {
+                ++score;
+            }
+
+            if (score > biggestScore) {
+                mostSpecific = rule;
+                biggestScore = score;
+            }
+        }
+
+        return mostSpecific;
+    }
+
+    /**
+     * Discards the current index, it will be rebuilt on the next access. If called within a
+     * transaction, the index is discarded (again) after its completion to not keep a state
+     * loaded before the commit.
+     */
+    public void invalidate() {
+        log.trace("Invalidating the interceptor rule index");
+
+        discard();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    discard();
+                }
+            });
+        }
+    }
+
+    private void discard() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private RuleSet getRuleSet(OgcEnum.ServiceType service, HttpEnum.EventType event) {
+        if (service == null || event == null) {
+            return null;
+        }
+
+        Map<HttpEnum.EventType, RuleSet> ruleSetsByEvent = getIndex().get(service);
+        if (ruleSetsByEvent == null) {
+            return null;
+        }
+
+        return ruleSetsByEvent.get(event);
+    }
+
+    private Map<OgcEnum.ServiceType, Map<HttpEnum.EventType, RuleSet>> getIndex() {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null && currentSnapshot.generation() == generation.get()) {
+            return currentSnapshot.index();
+        }
+
+        synchronized (this) {
+            while (true) {
+                long currentGeneration = generation.get();
+
+                currentSnapshot = snapshot;
+                if (currentSnapshot != null && currentSnapshot.generation() == currentGeneration) {
+                    return currentSnapshot.index();
+                }
+
+                currentSnapshot = new Snapshot(currentGeneration, buildIndex(interceptorRuleRepository.findAll()));
+
+                if (generation.get() == currentGeneration) {
+                    snapshot = currentSnapshot;
+                    return currentSnapshot.index();
+                }
+
+                log.debug("The interceptor rules have been changed while building the index, rebuilding it");
+            }
+        }
+    }
+
+    private static Map<OgcEnum.ServiceType, Map<HttpEnum.EventType, RuleSet>> buildIndex(List<InterceptorRule> rules) {
+        log.debug("Building the interceptor rule index from {} rule(s)", rules.size());
+
+        Map<OgcEnum.ServiceType, Map<HttpEnum.EventType, RuleSet>> newIndex = new EnumMap<>(OgcEnum.ServiceType.class);
+
+        for (InterceptorRule rule : rules) {
+            if (rule.getService() == null || rule.getEvent() == null) {
+                continue;
+            }
+
+            newIndex
+                .computeIfAbsent(rule.getService(), service -> new EnumMap<>(HttpEnum.EventType.class))
+                .computeIfAbsent(rule.getEvent(), event -> new RuleSet())
+                .add(rule);
+        }
+
+        return newIndex;
+    }
+
+    /**
+     * An index and the generation it has been loaded in.
+     */
+    private record Snapshot(long generation, Map<OgcEnum.ServiceType, Map<HttpEnum.EventType, RuleSet>> index) {}
+
+    /**
+     * The rules of a single (service, event) combination.
+     */
+    private static class RuleSet {
+
+        /**
+         * Rules with an endpoint, keyed by the lower case endpoint.
+         */
+        private final Map<String, OperationRules> byEndPoint = new HashMap<>();
+
+        private final OperationRules withoutEndPoint = new OperationRules();
+
+        void add(InterceptorRule rule) {
+            if (StringUtils.isEmpty(rule.getEndPoint())) {
+                withoutEndPoint.add(rule);
+            } else {
+                byEndPoint.computeIfAbsent(rule.getEndPoint().toLowerCase(Locale.ROOT), key -> new OperationRules())
+                    .add(rule);
+            }
+        }
+
+        /**
+         * @return The rules matching the given endpoint and operation, most specific ones first.
+         */
+        List<InterceptorRule> getCandidates(OgcEnum.OperationType operation, String endPoint) {
+            List<InterceptorRule> candidates = new ArrayList<>();
+
+            if (StringUtils.isEmpty(endPoint)) {
+                byEndPoint.values().forEach(operationRules -> operationRules.collect(operation, candidates));
+            } else {
+                OperationRules operationRules = byEndPoint.get(endPoint.toLowerCase(Locale.ROOT));
+                if (operationRules != null) {
+                    operationRules.collect(operation, candidates);
+                }
+            }
+
+            withoutEndPoint.collect(operation, candidates);
+
+            return candidates;
+        }
+    }
+
+    /**
+     * Rules grouped by their operation.
+     */
+    private static class OperationRules {
+
+        private final Map<OgcEnum.OperationType, List<InterceptorRule>> byOperation =
+            new EnumMap<>(OgcEnum.OperationType.class);
+
+        private final List<InterceptorRule> withoutOperation = new ArrayList<>();
+
+        void add(InterceptorRule rule) {
+            if (rule.getOperation() == null) {
+                withoutOperation.add(rule);
+            } else {
+                byOperation.computeIfAbsent(rule.getOperation(), key -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        void collect(OgcEnum.OperationType operation, List<InterceptorRule> target) {
+            if (operation == null) {
+                byOperation.values().forEach(target::addAll);
+            } else {
+                target.addAll(byOperation.getOrDefault(operation, List.of()));
+            }
+            target.addAll(withoutOperation);
+        }
+    }
+
+}
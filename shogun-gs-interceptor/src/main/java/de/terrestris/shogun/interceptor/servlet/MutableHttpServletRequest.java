@@ -18,6 +18,7 @@ package de.terrestris.shogun.interceptor.servlet;
 
 import de.terrestris.shogun.interceptor.enumeration.OgcEnum;
 import de.terrestris.shogun.interceptor.exception.InterceptorException;
+import de.terrestris.shogun.interceptor.util.OgcXmlRequestInfo;
 import de.terrestris.shogun.interceptor.util.OgcXmlUtil;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,7 +26,6 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.w3c.dom.Document;
 
 import java.io.*;
 import java.net.URI;
@@ -47,6 +47,13 @@ public class MutableHttpServletRequest extends HttpServletRequestWrapper {
 
     public static final String DEFAULT_CHARSET = "UTF-8";
 
+    /**
+     * The name of the request attribute the parsed {@link OgcXmlRequestInfo} of the request body is cached in.
+     */
+    public static final String OGC_XML_REQUEST_INFO_ATTRIBUTE = OgcXmlRequestInfo.class.getName();
+
+    private static final String VERSION = "VERSION";
+
     /**
      * Holds custom parameter mapping
      */
@@ -149,27 +156,16 @@ public class MutableHttpServletRequest extends HttpServletRequestWrapper {
                 value = StringUtils.join(params.get(parameter), ",");
             }
         } else {
-            String xml = OgcXmlUtil.getRequestBody(httpServletRequest);
-            if (!StringUtils.isEmpty(xml)) {
-                log.trace("The request contains a POST body.");
-                Document document = OgcXmlUtil.getDocumentFromString(xml);
-
+            OgcXmlRequestInfo requestInfo = getOgcXmlRequestInfo(httpServletRequest);
+            if (requestInfo != null) {
                 if (parameter.equalsIgnoreCase(OgcEnum.Service.SERVICE.toString())) {
-                    value = OgcXmlUtil.getPathInDocument(document, "/*/@service");
+                    value = StringUtils.defaultString(requestInfo.getService());
                 } else if (parameter.equalsIgnoreCase(OgcEnum.Operation.OPERATION.toString())) {
-                    value = OgcXmlUtil.getPathInDocument(document, "name(/*)");
-                    if (value.contains(":")) {
-                        value = value.split(":")[1];
-                    }
+                    value = StringUtils.defaultString(requestInfo.getOperation());
+                } else if (parameter.equalsIgnoreCase(VERSION)) {
+                    value = StringUtils.defaultString(requestInfo.getVersion());
                 } else if (Arrays.asList(OgcEnum.EndPoint.getAllValues()).contains(parameter)) {
-                    value = OgcXmlUtil.getPathInDocument(document, "//TypeName/text() | //TypeNames/text() | //GetCoverage/Identifier/text()");
-                    if (StringUtils.isEmpty(value)) {
-                        value = OgcXmlUtil.getPathInDocument(document, "//@typeName | //@typeNames");
-                    }
-                    if (StringUtils.isEmpty(value)) {
-                        log.debug("Check for first feature type in WFS-T insert request");
-                        value = OgcXmlUtil.getPathInDocument(document, "name(//Transaction/Insert/*[1])");
-                    }
+                    value = StringUtils.defaultString(requestInfo.getEndPoint());
                 }
             } else {
                 log.error("No body found in the request.");
@@ -180,6 +176,32 @@ public class MutableHttpServletRequest extends HttpServletRequestWrapper {
         return value;
     }
 
+    /**
+     * Returns the OGC request info of the XML body of the given request. The body is parsed
+     * only once per request, the result is cached in the request attribute
+     * {@link #OGC_XML_REQUEST_INFO_ATTRIBUTE} (and reset if the body changes).
+     *
+     * @param httpServletRequest The request.
+     * @return The request info or null if the request has no body.
+     * @throws IOException If the body is not well-formed XML.
+     */
+    private static OgcXmlRequestInfo getOgcXmlRequestInfo(HttpServletRequest httpServletRequest) throws IOException {
+        if (httpServletRequest.getAttribute(OGC_XML_REQUEST_INFO_ATTRIBUTE) instanceof OgcXmlRequestInfo requestInfo) {
+            return requestInfo;
+        }
+
+        String xml = OgcXmlUtil.getRequestBody(httpServletRequest);
+        if (StringUtils.isEmpty(xml)) {
+            return null;
+        }
+
+        log.trace("The request contains a POST body.");
+        OgcXmlRequestInfo requestInfo = OgcXmlUtil.parseOgcRequestInfo(xml);
+        httpServletRequest.setAttribute(OGC_XML_REQUEST_INFO_ATTRIBUTE, requestInfo);
+
+        return requestInfo;
+    }
+
     /**
      *
      */
@@ -331,6 +353,7 @@ public class MutableHttpServletRequest extends HttpServletRequestWrapper {
         ) {
             cachedInputStream = new ByteArrayOutputStream();
             IOUtils.copy(stream, cachedInputStream);
+            removeAttribute(OGC_XML_REQUEST_INFO_ATTRIBUTE);
         } catch (IOException e) {
             log.error("Exception on writing InputStream.", e);
         }
@@ -345,6 +368,7 @@ public class MutableHttpServletRequest extends HttpServletRequestWrapper {
         try {
             cachedInputStream = new ByteArrayOutputStream();
             IOUtils.copy(stream, cachedInputStream);
+            removeAttribute(OGC_XML_REQUEST_INFO_ATTRIBUTE);
         } catch (IOException e) {
             log.error("Exception on writing InputStream.", e);
         }
@@ -0,0 +1,48 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.interceptor.util;
+
+import lombok.Value;
+
+/**
+ * The OGC relevant parts of an XML (POST) request body, as extracted by
+ * {@link OgcXmlUtil#parseOgcRequestInfo(String)} in a single pass.
+ */
+@Value
+public class OgcXmlRequestInfo {
+
+    /**
+     * The value of the <code>service</code> attribute of the root element.
+     */
+    String service;
+
+    /**
+     * The value of the <code>version</code> attribute of the root element.
+     */
+    String version;
+
+    /**
+     * The local name of the root element, e.g. <code>GetFeature</code>.
+     */
+    String operation;
+
+    /**
+     * The requested layer/feature type/coverage, e.g. <code>shogun:buildings</code>.
+     */
+    String endPoint;
+
+}
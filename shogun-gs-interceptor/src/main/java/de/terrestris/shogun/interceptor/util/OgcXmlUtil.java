@@ -33,6 +33,10 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.TransformerException;
@@ -42,6 +46,8 @@ import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.*;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 @Log4j2
 public class OgcXmlUtil {
@@ -51,6 +57,12 @@ public class OgcXmlUtil {
      */
     private static final String DEFAULT_CHARSET = "UTF-8";
 
+    /**
+     * The (thread-safe) factory for the StAX readers used by {@link #parseOgcRequestInfo(String)}.
+     * DTDs and external entities are not supported.
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
     /**
      * @param request
      * @return
@@ -100,6 +112,127 @@ public class OgcXmlUtil {
         return document;
     }
 
+    /**
+     * Extracts the service, version, operation and endpoint of an OGC XML request
+     * in a single streaming pass, without building a DOM.
+     *
+     * The endpoint is determined in the same order as before with XPath:
+     * <ol>
+     *   <li>the text of the first <code>TypeName</code>, <code>TypeNames</code> or
+     *   <code>GetCoverage/Identifier</code> element,</li>
+     *   <li>the first <code>typeName</code> or <code>typeNames</code> attribute,</li>
+     *   <li>the (prefixed) name of the first feature in a <code>Transaction/Insert</code>.</li>
+     * </ol>
+     * Parsing stops as soon as the first option is found.
+     *
+     * @param xml The request body.
+     * @return The extracted request info (values not contained in the body are null).
+     * @throws IOException If the body is not well-formed XML.
+     */
+    public static OgcXmlRequestInfo parseOgcRequestInfo(String xml) throws IOException {
+        String service = null;
+        String version = null;
+        String operation = null;
+        String typeNameText = null;
+        String typeNameAttribute = null;
+        String insertedFeatureType = null;
+
+        // the local names of the currently opened elements
+        Deque<String> openElements = new ArrayDeque<>();
+        int insertDepth = -1;
+        int textDepth = -1;
+        StringBuilder text = new StringBuilder();
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+
+            while (typeNameText == null && reader.hasNext()) {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String localName = reader.getLocalName();
+                    String parentName = openElements.peek();
+                    int depth = openElements.size();
+
+                    if (depth == 0) {
+                        operation = localName;
+                        service = reader.getAttributeValue(null, "service");
+                        version = reader.getAttributeValue(null, "version");
+                    }
+
+                    if ("TypeName".equals(localName) || "TypeNames".equals(localName) ||
+                        ("Identifier".equals(localName) && "GetCoverage".equals(parentName))) {
+                        textDepth = depth;
+                        text.setLength(0);
+                    }
+
+                    if (typeNameAttribute == null) {
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String attributeName = reader.getAttributeLocalName(i);
+                            String attributeValue = reader.getAttributeValue(i);
+                            if (("typeName".equals(attributeName) || "typeNames".equals(attributeName)) &&
+                                    !StringUtils.isEmpty(attributeValue)) {
+                                typeNameAttribute = attributeValue;
+                                break;
+                            }
+                        }
+                    }
+
+                    if (insertedFeatureType == null) {
+                        if (insertDepth >= 0 && depth == insertDepth + 1) {
+                            String prefix = reader.getPrefix();
+                            insertedFeatureType = StringUtils.isEmpty(prefix) ? localName : prefix + ":" + localName;
+                        } else if (insertDepth < 0 && "Insert".equals(localName) && "Transaction".equals(parentName)) {
+                            insertDepth = depth;
+                        }
+                    }
+
+                    openElements.push(localName);
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (textDepth >= 0 && openElements.size() == textDepth + 1) {
+                        text.append(reader.getText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    openElements.pop();
+                    int depth = openElements.size();
+
+                    if (depth == textDepth) {
+                        textDepth = -1;
+                        if (!text.isEmpty()) {
+                            typeNameText = text.toString();
+                        }
+                    }
+
+                    if (depth == insertDepth) {
+                        insertDepth = -1;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse input body as XML: "
+                + e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    log.trace("Could not close the XML stream reader", e);
+                }
+            }
+        }
+
+        String endPoint = typeNameText;
+        if (StringUtils.isEmpty(endPoint)) {
+            endPoint = typeNameAttribute;
+        }
+        if (StringUtils.isEmpty(endPoint)) {
+            endPoint = insertedFeatureType;
+        }
+
+        return new OgcXmlRequestInfo(service, version, operation, endPoint);
+    }
+
     /**
      * @param document
      * @param path
@@ -212,4 +345,11 @@ public class OgcXmlUtil {
         return null;
     }
 
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
 }
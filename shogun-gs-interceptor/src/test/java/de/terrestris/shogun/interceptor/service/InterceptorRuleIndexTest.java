@@ -0,0 +1,116 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.interceptor.service;
+
+import de.terrestris.shogun.interceptor.enumeration.HttpEnum;
+import de.terrestris.shogun.interceptor.enumeration.InterceptorEnum;
+import de.terrestris.shogun.interceptor.enumeration.OgcEnum;
+import de.terrestris.shogun.interceptor.model.InterceptorRule;
+import de.terrestris.shogun.interceptor.repository.InterceptorRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterceptorRuleIndexTest {
+
+    private static final HttpEnum.EventType REQUEST = HttpEnum.EventType.REQUEST;
+
+    private static final OgcEnum.ServiceType WMS = OgcEnum.ServiceType.WMS;
+
+    @Mock
+    private InterceptorRuleRepository interceptorRuleRepository;
+
+    @InjectMocks
+    private InterceptorRuleIndex interceptorRuleIndex;
+
+    private final InterceptorRule allowAllWms = new InterceptorRule(REQUEST, InterceptorEnum.RuleType.ALLOW,
+        WMS, null, null);
+
+    private final InterceptorRule denyGetFeatureInfo = new InterceptorRule(REQUEST, InterceptorEnum.RuleType.DENY,
+        WMS, OgcEnum.OperationType.GET_FEATURE_INFO, null);
+
+    private final InterceptorRule modifyLayer = new InterceptorRule(REQUEST, InterceptorEnum.RuleType.MODIFY,
+        WMS, null, "SHOGUN:LAYER");
+
+    private final InterceptorRule denyGetMapOnLayer = new InterceptorRule(REQUEST, InterceptorEnum.RuleType.DENY,
+        WMS, OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER");
+
+    @Test
+    void findsMostSpecificRule() {
+        when(interceptorRuleRepository.findAll()).thenReturn(
+            List.of(allowAllWms, denyGetFeatureInfo, modifyLayer, denyGetMapOnLayer));
+
+        assertTrue(interceptorRuleIndex.hasRules(WMS, REQUEST));
+        assertFalse(interceptorRuleIndex.hasRules(WMS, HttpEnum.EventType.RESPONSE));
+        assertFalse(interceptorRuleIndex.hasRules(OgcEnum.ServiceType.WFS, REQUEST));
+
+        assertSame(allowAllWms, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:OTHER"));
+        assertSame(denyGetFeatureInfo, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_FEATURE_INFO, "SHOGUN:OTHER"));
+        assertSame(denyGetMapOnLayer, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER"));
+        assertSame(modifyLayer, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.DESCRIBE_LAYER, "SHOGUN:LAYER"));
+
+        verify(interceptorRuleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void rebuildsIndexAfterInvalidation() {
+        when(interceptorRuleRepository.findAll())
+            .thenReturn(List.of(allowAllWms))
+            .thenReturn(List.of(allowAllWms, modifyLayer));
+
+        assertSame(allowAllWms, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER"));
+
+        interceptorRuleIndex.invalidate();
+
+        assertSame(modifyLayer, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER"));
+        verify(interceptorRuleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void rebuildsIndexIfInvalidatedWhileBuilding() {
+        when(interceptorRuleRepository.findAll())
+            .thenAnswer(invocation -> {
+                // the rules are changed after they have been loaded
+                interceptorRuleIndex.invalidate();
+                return List.of(allowAllWms);
+            })
+            .thenReturn(List.of(allowAllWms, modifyLayer));
+
+        assertSame(modifyLayer, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER"));
+        assertSame(modifyLayer, interceptorRuleIndex.findMostSpecificRule(WMS, REQUEST,
+            OgcEnum.OperationType.GET_MAP, "SHOGUN:LAYER"));
+        verify(interceptorRuleRepository, times(2)).findAll();
+    }
+
+}
@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -138,6 +139,29 @@ class MutableHttpServletRequestTest {
         assertEquals(featureTypeName, requestEndPoint);
     }
 
+    @Test
+    void parsesXmlBodyOnlyOnceAndResetsOnNewBody() throws IOException, InterceptorException {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/geoserver.action");
+        mockRequest.setContent("""
+            <GetFeature xmlns="http://www.opengis.net/wfs" service="WFS" version="1.1.0">
+                <Query typeName="%s" xmlns:TEST="%s"/>
+            </GetFeature>
+            """.formatted(featureTypeName, namespaceUrl).getBytes());
+        MutableHttpServletRequest mutableRequest = new MutableHttpServletRequest(mockRequest);
+
+        assertEquals("WFS", MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "SERVICE"));
+        assertEquals("GetFeature", MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "REQUEST"));
+        assertEquals("1.1.0", MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "VERSION"));
+        assertEquals(featureTypeName, MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "TYPENAME"));
+        assertNotNull(mutableRequest.getAttribute(MutableHttpServletRequest.OGC_XML_REQUEST_INFO_ATTRIBUTE));
+
+        mutableRequest.setInputStream("<DescribeFeatureType xmlns=\"http://www.opengis.net/wfs\" service=\"WFS\"/>");
+
+        assertNull(mutableRequest.getAttribute(MutableHttpServletRequest.OGC_XML_REQUEST_INFO_ATTRIBUTE));
+        assertEquals("DescribeFeatureType", MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "REQUEST"));
+        assertEquals("", MutableHttpServletRequest.getRequestParameterValue(mutableRequest, "TYPENAME"));
+    }
+
     private static class MockServletInputStream extends jakarta.servlet.ServletInputStream {
         private final InputStream inputStream;
 
@@ -0,0 +1,70 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.config;
+
+import de.terrestris.shogun.lib.storage.BlobStore;
+import de.terrestris.shogun.lib.storage.FileSystemBlobStore;
+import de.terrestris.shogun.lib.storage.S3BlobStore;
+import de.terrestris.shogun.properties.BlobStoreProperties;
+import de.terrestris.shogun.properties.UploadProperties;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Creates the {@link BlobStore} configured via <code>upload.blob-store.type</code>. If the
+ * type is <code>DATABASE</code> (the default), no store is created and file contents are
+ * stored in the database.
+ */
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "upload.blob-store", name = "type", havingValue = "FILESYSTEM")
+    public BlobStore fileSystemBlobStore(BlobStoreProperties blobStoreProperties, UploadProperties uploadProperties) {
+        String basePath = blobStoreProperties.getBasePath();
+        if (StringUtils.isEmpty(basePath)) {
+            if (StringUtils.isEmpty(uploadProperties.getBasePath())) {
+                throw new IllegalStateException("Neither upload.blob-store.basePath nor upload.basePath is set.");
+            }
+            basePath = uploadProperties.getBasePath() + "/blobs";
+        }
+        return new FileSystemBlobStore(Path.of(basePath));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "upload.blob-store", name = "type", havingValue = "S3")
+    public BlobStore s3BlobStore(BlobStoreProperties blobStoreProperties) {
+        if (StringUtils.isAnyEmpty(blobStoreProperties.getEndpoint(), blobStoreProperties.getBucket(),
+                blobStoreProperties.getAccessKey(), blobStoreProperties.getSecretKey())) {
+            throw new IllegalStateException("The S3 blob store requires upload.blob-store.endpoint, bucket, " +
+                "accessKey and secretKey to be set.");
+        }
+        return new S3BlobStore(
+            blobStoreProperties.getEndpoint(),
+            blobStoreProperties.getRegion(),
+            blobStoreProperties.getBucket(),
+            blobStoreProperties.getAccessKey(),
+            blobStoreProperties.getSecretKey(),
+            !Boolean.FALSE.equals(blobStoreProperties.getPathStyleAccess())
+        );
+    }
+
+}
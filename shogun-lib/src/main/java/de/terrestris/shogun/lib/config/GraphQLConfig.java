@@ -16,16 +16,82 @@
  */
 package de.terrestris.shogun.lib.config;
 
+import de.terrestris.shogun.lib.graphql.instrumentation.FieldCostCalculator;
+import de.terrestris.shogun.lib.graphql.preparsed.PersistedQueryDocumentProvider;
 import de.terrestris.shogun.lib.graphql.scalar.DateTimeScalar;
 import de.terrestris.shogun.lib.graphql.scalar.GeometryScalar;
+import de.terrestris.shogun.lib.model.BaseEntity;
+import de.terrestris.shogun.lib.model.Layer;
+import de.terrestris.shogun.lib.model.Role;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.service.LayerService;
+import de.terrestris.shogun.lib.service.RoleService;
+import de.terrestris.shogun.lib.service.UserService;
+import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
+import de.terrestris.shogun.properties.GraphQLLimitsProperties;
+import de.terrestris.shogun.properties.GraphQLPersistedQueriesProperties;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
 import graphql.scalars.ExtendedScalars;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import reactor.core.publisher.Mono;
 
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Configures the GraphQL scalars and the {@link org.dataloader.DataLoader}s used to resolve the relations of the
+ * entities. The data loaders collect the keys of all nested fields of a result and fetch them (including the
+ * permission checks) in a single batch instead of one query per element.
+ *
+ * Additionally, queries exceeding the limits configured via {@link GraphQLLimitsProperties} are rejected before
+ * their execution and the parsed and validated queries are cached (see {@link PersistedQueryDocumentProvider}).
+ */
 @Configuration
 public class GraphQLConfig {
 
+    /**
+     * The name of the data loader for layers by their ID.
+     */
+    public static final String LAYER_LOADER = "layers";
+
+    /**
+     * The name of the data loader for the members of a group by the auth provider ID of the group.
+     */
+    public static final String GROUP_MEMBERS_LOADER = "groupMembers";
+
+    /**
+     * The name of the data loader for the roles of a group by the auth provider ID of the group.
+     */
+    public static final String GROUP_ROLES_LOADER = "groupRoles";
+
+    @Autowired
+    BatchLoaderRegistry batchLoaderRegistry;
+
+    @Autowired
+    @Lazy
+    LayerService layerService;
+
+    @Autowired
+    @Lazy
+    UserService userService;
+
+    @Autowired
+    @Lazy
+    RoleService roleService;
+
+    @Autowired
+    ObjectProvider<GroupProviderService> groupProviderService;
+
     @Bean
     public RuntimeWiringConfigurer runtimeWiringConfigurer() {
         return wiringBuilder -> {
@@ -36,4 +102,105 @@ public class GraphQLConfig {
         };
     }
 
+    @Bean
+    @ConditionalOnExpression("${graphql.limits.enabled:true}")
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            ObjectProvider<GraphQLLimitsProperties> graphQLLimitsProperties) {
+        GraphQLLimitsProperties properties = graphQLLimitsProperties.getIfAvailable(GraphQLLimitsProperties::new);
+
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    @Bean
+    @ConditionalOnExpression("${graphql.limits.enabled:true}")
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            ObjectProvider<GraphQLLimitsProperties> graphQLLimitsProperties) {
+        GraphQLLimitsProperties properties = graphQLLimitsProperties.getIfAvailable(GraphQLLimitsProperties::new);
+
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(),
+            new FieldCostCalculator(properties));
+    }
+
+    @Bean
+    @ConditionalOnExpression("${graphql.persisted-queries.enabled:true}")
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(
+            ObjectProvider<GraphQLPersistedQueriesProperties> graphQLPersistedQueriesProperties) {
+        GraphQLPersistedQueriesProperties properties =
+            graphQLPersistedQueriesProperties.getIfAvailable(GraphQLPersistedQueriesProperties::new);
+
+        PersistedQueryDocumentProvider documentProvider = new PersistedQueryDocumentProvider(properties.getMaxSize());
+
+        return builder -> builder.configureGraphQl(graphQlBuilder ->
+            graphQlBuilder.preparsedDocumentProvider(documentProvider));
+    }
+
+    @PostConstruct
+    public void registerDataLoaders() {
+        batchLoaderRegistry.forTypePair(Long.class, Layer.class)
+            .withName(LAYER_LOADER)
+            .registerMappedBatchLoader((layerIds, environment) -> Mono.fromCallable(() ->
+                mapBy(layerService.findAllById(new ArrayList<>(layerIds)), BaseEntity::getId)));
+
+        batchLoaderRegistry.<String, List<User>>forName(GROUP_MEMBERS_LOADER)
+            .registerMappedBatchLoader((groupIds, environment) -> Mono.fromCallable(() -> {
+                Map<String, List<String>> memberIds = new HashMap<>();
+                for (String groupId : groupIds) {
+                    memberIds.put(groupId, getGroupMemberIds(groupId));
+                }
+
+                List<User> users = userService.findAllByAuthProviderIds(flatten(memberIds));
+
+                return resolve(memberIds, mapBy(users, User::getAuthProviderId));
+            }));
+
+        batchLoaderRegistry.<String, List<Role>>forName(GROUP_ROLES_LOADER)
+            .registerMappedBatchLoader((groupIds, environment) -> Mono.fromCallable(() -> {
+                Map<String, List<String>> roleIds = new HashMap<>();
+                for (String groupId : groupIds) {
+                    roleIds.put(groupId, getGroupRoleIds(groupId));
+                }
+
+                List<Role> roles = roleService.findAllByAuthProviderIds(flatten(roleIds));
+
+                return resolve(roleIds, mapBy(roles, Role::getAuthProviderId));
+            }));
+    }
+
+    private List<String> getGroupMemberIds(String groupId) {
+        GroupProviderService<?, ?> provider = groupProviderService.getIfAvailable();
+        return provider == null ? List.of() : provider.getGroupMemberIds(groupId);
+    }
+
+    private List<String> getGroupRoleIds(String groupId) {
+        GroupProviderService<?, ?> provider = groupProviderService.getIfAvailable();
+        return provider == null ? List.of() : provider.getGroupRoleIds(groupId);
+    }
+
+    private static <K, V> Map<K, V> mapBy(List<V> values, Function<V, K> keyMapper) {
+        Map<K, V> result = new HashMap<>();
+        for (V value : values) {
+            result.putIfAbsent(keyMapper.apply(value), value);
+        }
+        return result;
+    }
+
+    private static Set<String> flatten(Map<String, List<String>> ids) {
+        Set<String> result = new HashSet<>();
+        ids.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Replaces the IDs of each key with the loaded entities, the IDs of the entities that couldn't be loaded
+     * (e.g. since the current user is not allowed to read them) are skipped.
+     */
+    private static <T> Map<String, List<T>> resolve(Map<String, List<String>> ids, Map<String, T> entities) {
+        Map<String, List<T>> result = new HashMap<>();
+        ids.forEach((key, entityIds) -> result.put(key, entityIds.stream()
+            .map(entities::get)
+            .filter(Objects::nonNull)
+            .toList()));
+        return result;
+    }
+
 }
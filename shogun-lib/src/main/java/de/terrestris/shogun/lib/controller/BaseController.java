@@ -34,7 +34,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.history.Revision;
 import org.springframework.data.history.Revisions;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -42,6 +41,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 // TODO Specify and type extension of BaseService
@@ -75,7 +75,7 @@ public abstract class BaseController<T extends BaseService<?, S>, S extends Base
             description = "Internal Server Error: Something internal went wrong while deleting the entity"
         )
     })
-    public Page<S> findAll(@PageableDefault(Integer.MAX_VALUE) @ParameterObject Pageable pageable) {
+    public Page<S> findAll(@ParameterObject Pageable pageable) {
         log.trace("Requested to return all entities of type {}", getGenericClassName());
 
         try {
@@ -116,6 +116,32 @@ public abstract class BaseController<T extends BaseService<?, S>, S extends Base
         }
     }
 
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by ID. Unlike the
+     * offset based {@link #findAll(Pageable)} the costs of a request don't grow with the position
+     * in the result set: clients pass the ID of the last entity they've received to get the next ones
+     * (starting with <code>after=0</code>) until less than <code>limit</code> entities are returned.
+     *
+     * @param after The ID of the last entity of the previous request.
+     * @param limit The maximum number of entities to return (at most {@link #maxPageSize}).
+     * @return The next entities.
+     */
+    @GetMapping(
+        params = "after",
+        produces = { "application/json" }
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Returns the entities following the entity with the given ID, ordered by ID (keyset pagination)",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    public List<S> findAllAfter(
+        @RequestParam("after") Long after,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return findEntitiesAfter(after, limit);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(security = { @SecurityRequirement(name = "bearer-key") })
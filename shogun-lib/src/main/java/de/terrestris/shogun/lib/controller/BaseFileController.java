@@ -24,15 +24,16 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.*;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,7 +42,7 @@ public abstract class BaseFileController<T extends BaseFileService<?, S>, S exte
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Page<S> findAll(@PageableDefault(Integer.MAX_VALUE) @ParameterObject Pageable pageable) {
+    public Page<S> findAll(@ParameterObject Pageable pageable) {
         log.trace("Requested to return all entities of type {}", getGenericClassName());
 
         try {
@@ -82,6 +83,33 @@ public abstract class BaseFileController<T extends BaseFileService<?, S>, S exte
         }
     }
 
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by ID. Unlike the
+     * offset based {@link #findAll(Pageable)} the costs of a request don't grow with the position
+     * in the result set: clients pass the ID of the last entity they've received to get the next ones
+     * (starting with <code>after=0</code>) until less than <code>limit</code> entities are returned.
+     *
+     * @param after The ID of the last entity of the previous request.
+     * @param limit The maximum number of entities to return (at most {@link #maxPageSize}).
+     * @return The next entities.
+     */
+    @GetMapping(params = "after")
+    @ResponseStatus(HttpStatus.OK)
+    public List<S> findAllAfter(
+        @RequestParam("after") Long after,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return findEntitiesAfter(after, limit);
+    }
+
+    /**
+     * Returns the content of the file with the given UUID. Partial requests (<code>Range</code>)
+     * as well as conditional requests (<code>If-None-Match</code> based on the content hash,
+     * <code>If-Modified-Since</code> based on the modification date) are supported.
+     *
+     * @param fileUuid The UUID of the file.
+     * @return The file content.
+     */
     @GetMapping("/{fileUuid}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<?> findOne(@PathVariable("fileUuid") UUID fileUuid) {
@@ -96,10 +124,21 @@ public abstract class BaseFileController<T extends BaseFileService<?, S>, S exte
                 responseHeaders.setContentType(MediaType.parseMediaType(file.getFileType()));
                 responseHeaders.setContentDisposition(ContentDisposition.parse(
                     String.format("inline; filename=\"%s\"", file.getFileName())));
+                // the file may be cached, but it has to be revalidated since permissions may change
+                responseHeaders.setCacheControl(CacheControl.noCache().cachePrivate());
+                if (file.getContentHash() != null) {
+                    responseHeaders.setETag("\"" + file.getContentHash() + "\"");
+                }
+                if (file.getModified() != null) {
+                    responseHeaders.setLastModified(file.getModified().toInstant());
+                } else if (file.getCreated() != null) {
+                    responseHeaders.setLastModified(file.getCreated().toInstant());
+                }
                 log.trace("Successfully got file with UUID {}", fileUuid);
 
-                byte[] fileData = service.getFileData(file);
-                return new ResponseEntity<>(fileData, responseHeaders, HttpStatus.OK);
+                // Range and conditional (304) requests are handled by Spring MVC for resource bodies
+                Resource fileResource = service.getFileResource(file);
+                return new ResponseEntity<>(fileResource, responseHeaders, HttpStatus.OK);
             }
 
             log.error("Could not find entity of type {} with UUID {}", getGenericClassName(), fileUuid);
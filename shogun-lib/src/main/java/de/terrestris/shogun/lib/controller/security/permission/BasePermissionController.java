@@ -18,7 +18,9 @@
 
 package de.terrestris.shogun.lib.controller.security.permission;
 
+import de.terrestris.shogun.lib.dto.BulkPermissionDto;
 import de.terrestris.shogun.lib.dto.PermissionCollectionTypeDto;
+import de.terrestris.shogun.lib.enumeration.BulkPermissionOperation;
 import de.terrestris.shogun.lib.exception.security.permission.*;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.Group;
@@ -32,20 +34,39 @@ import de.terrestris.shogun.lib.service.UserService;
 import de.terrestris.shogun.lib.service.security.permission.*;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Log4j2
 public abstract class BasePermissionController<T extends BaseService<?, S>, S extends BaseEntity> {
 
+    /**
+     * The number of entities returned by the list endpoints if no page <code>size</code> (or
+     * <code>limit</code>) is requested explicitly. Shares its configuration with the paged endpoints, where
+     * it's applied by Spring Data itself.
+     */
+    @Value("${spring.data.web.pageable.default-page-size:20}")
+    protected int defaultPageSize;
+
+    /**
+     * The maximum number of entities returned by a single list request.
+     */
+    @Value("${spring.data.web.pageable.max-page-size:2000}")
+    protected int maxPageSize;
+
     @Autowired
     protected T service;
 
@@ -82,6 +103,9 @@ public abstract class BasePermissionController<T extends BaseService<?, S>, S ex
     @Autowired
     protected RoleClassPermissionService roleClassPermissionService;
 
+    @Autowired
+    protected BulkInstancePermissionService bulkInstancePermissionService;
+
     @GetMapping("/{id}/permissions/instance/user")
     @ResponseStatus(HttpStatus.OK)
     public List<UserInstancePermission> getUserInstancePermissions(@PathVariable("id") Long entityId) {
@@ -1176,6 +1200,137 @@ public abstract class BasePermissionController<T extends BaseService<?, S>, S ex
         }
     }
 
+    @PostMapping("/permissions/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public void bulkUpdateInstancePermissions(@RequestBody BulkPermissionDto bulkPermission) {
+        log.trace("Requested to apply the bulk permission operation {} for entities of type {}",
+            bulkPermission.getOperation(), getGenericClassName());
+
+        if (bulkPermission.getOperation() == null || bulkPermission.getEntityIds() == null ||
+                bulkPermission.getEntityIds().isEmpty() || (bulkPermission.getPermission() == null &&
+                bulkPermission.getOperation() != BulkPermissionOperation.REVOKE)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            List<Long> entityIds = bulkPermission.getEntityIds().stream().distinct().toList();
+            List<S> entities = new ArrayList<>(service.findAllById(entityIds));
+
+            Optional<Long> missingEntityId = getMissingId(entityIds, entities);
+            if (missingEntityId.isPresent()) {
+                throw new EntityNotFoundException(missingEntityId.get(), getGenericClassName(), messageSource);
+            }
+
+            List<User> users = null;
+            if (bulkPermission.getUserIds() != null) {
+                List<Long> userIds = bulkPermission.getUserIds().stream().distinct().toList();
+                users = userService.findAllById(userIds);
+
+                Optional<Long> missingUserId = getMissingId(userIds, users);
+                if (missingUserId.isPresent()) {
+                    throw new UserNotFoundException(missingUserId.get(), messageSource);
+                }
+            }
+
+            List<Group> groups = null;
+            if (bulkPermission.getGroupIds() != null) {
+                List<Long> groupIds = bulkPermission.getGroupIds().stream().distinct().toList();
+                groups = groupService.findAllById(groupIds);
+
+                Optional<Long> missingGroupId = getMissingId(groupIds, groups);
+                if (missingGroupId.isPresent()) {
+                    throw new GroupNotFoundException(missingGroupId.get(), messageSource);
+                }
+            }
+
+            List<Role> roles = null;
+            if (bulkPermission.getRoleIds() != null) {
+                List<Long> roleIds = bulkPermission.getRoleIds().stream().distinct().toList();
+                roles = roleService.findAllById(roleIds);
+
+                Optional<Long> missingRoleId = getMissingId(roleIds, roles);
+                if (missingRoleId.isPresent()) {
+                    throw new RoleNotFoundException(missingRoleId.get(), messageSource);
+                }
+            }
+
+            bulkInstancePermissionService.apply(bulkPermission.getOperation(), entities, users, groups, roles,
+                bulkPermission.getPermission());
+
+            log.trace("Successfully applied the bulk permission operation {} for {} entities of type {}",
+                bulkPermission.getOperation(), entities.size(), getGenericClassName());
+        } catch (AccessDeniedException ade) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        } catch (ResponseStatusException rse) {
+            throw rse;
+        } catch (Exception e) {
+            throw new UpdatePermissionException(e, messageSource);
+        }
+    }
+
+    private Optional<Long> getMissingId(List<Long> requestedIds, List<? extends BaseEntity> entities) {
+        Set<Long> foundIds = entities.stream()
+            .map(BaseEntity::getId)
+            .collect(Collectors.toSet());
+
+        return requestedIds.stream()
+            .filter(id -> !foundIds.contains(id))
+            .findFirst();
+    }
+
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by ID (keyset pagination),
+     * shared by the list endpoints of the entity and file controllers.
+     *
+     * @param after The ID of the last entity of the previous request.
+     * @param limit The maximum number of entities to return, defaults to {@link #defaultPageSize} and is
+     *              capped at {@link #maxPageSize}.
+     * @return The next entities.
+     */
+    protected List<S> findEntitiesAfter(Long after, Integer limit) {
+        int boundedLimit = Math.clamp(limit == null ? defaultPageSize : limit, 1, maxPageSize);
+
+        log.trace("Requested to return up to {} entities of type {} after ID {}", boundedLimit,
+            getGenericClassName(), after);
+
+        try {
+            List<S> persistedEntities = service.findAllAfter(after, boundedLimit);
+
+            log.trace("Successfully got {} entities of type {} after ID {}", persistedEntities.size(),
+                getGenericClassName(), after);
+
+            return persistedEntities;
+        } catch (AccessDeniedException ade) {
+            log.warn("Access to entity of type {} is denied", getGenericClassName());
+
+            throw new ResponseStatusException(
+                HttpStatus.NOT_FOUND,
+                messageSource.getMessage(
+                    "BaseController.NOT_FOUND",
+                    null,
+                    LocaleContextHolder.getLocale()
+                ),
+                ade
+            );
+        } catch (ResponseStatusException rse) {
+            throw rse;
+        } catch (Exception e) {
+            log.error("Error while requesting entities of type {} after ID {}: \n {}",
+                getGenericClassName(), after, e.getMessage());
+            log.trace("Full stack trace: ", e);
+
+            throw new ResponseStatusException(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                messageSource.getMessage(
+                    "BaseController.INTERNAL_SERVER_ERROR",
+                    null,
+                    LocaleContextHolder.getLocale()
+                ),
+                e
+            );
+        }
+    }
+
     protected String getGenericClassName() {
         Class<?>[] resolvedTypeArguments = GenericTypeResolver.resolveTypeArguments(getClass(),
                 BasePermissionController.class);
@@ -0,0 +1,62 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.dto;
+
+import de.terrestris.shogun.lib.enumeration.BulkPermissionOperation;
+import de.terrestris.shogun.lib.enumeration.PermissionCollectionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class BulkPermissionDto {
+
+    private BulkPermissionOperation operation;
+
+    private List<Long> entityIds;
+
+    /**
+     * The users to change the permissions for. If not set, the user permissions of the
+     * entities won't be touched (even for {@link BulkPermissionOperation#REPLACE}).
+     */
+    private List<Long> userIds;
+
+    /**
+     * The groups to change the permissions for. If not set, the group permissions of the
+     * entities won't be touched (even for {@link BulkPermissionOperation#REPLACE}).
+     */
+    private List<Long> groupIds;
+
+    /**
+     * The roles to change the permissions for. If not set, the role permissions of the
+     * entities won't be touched (even for {@link BulkPermissionOperation#REPLACE}).
+     */
+    private List<Long> roleIds;
+
+    /**
+     * The permission to set, required for {@link BulkPermissionOperation#GRANT} and
+     * {@link BulkPermissionOperation#REPLACE}.
+     */
+    private PermissionCollectionType permission;
+
+}
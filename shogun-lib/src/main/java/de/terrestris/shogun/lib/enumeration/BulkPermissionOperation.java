@@ -0,0 +1,40 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.enumeration;
+
+/**
+ * The operations supported by the bulk instance permission endpoint.
+ */
+public enum BulkPermissionOperation {
+    /**
+     * Sets the permission for all given principals on all given entities. Existing
+     * permissions of these principals on the entities are replaced.
+     */
+    GRANT,
+
+    /**
+     * Removes the permissions of all given principals on all given entities. The deletions
+     * are audited like the ones of the single permission endpoints.
+     */
+    REVOKE,
+
+    /**
+     * Replaces all permissions of the given principal types (users, groups or roles) on all
+     * given entities with the permission of the given principals.
+     */
+    REPLACE
+}
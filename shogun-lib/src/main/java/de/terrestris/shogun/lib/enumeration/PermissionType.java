@@ -16,16 +16,47 @@
  */
 package de.terrestris.shogun.lib.enumeration;
 
+import java.util.Collection;
+
 public enum PermissionType {
-    ADMIN("ADMIN"),
-    CREATE("CREATE"),
-    DELETE("DELETE"),
-    UPDATE("UPDATE"),
-    READ("READ");
+    ADMIN("ADMIN", 16),
+    CREATE("CREATE", 1),
+    DELETE("DELETE", 8),
+    UPDATE("UPDATE", 4),
+    READ("READ", 2);
+
+    /**
+     * The mask matching all permissions that grant read access (READ or ADMIN).
+     */
+    public static final short READ_ACCESS_MASK = 2 | 16;
 
     private final String type;
 
-    PermissionType(String type) {
+    private final short mask;
+
+    PermissionType(String type, int mask) {
         this.type = type;
+        this.mask = (short) mask;
+    }
+
+    /**
+     * @return The bit representing this permission in the permission mask of instance permissions.
+     */
+    public short getMask() {
+        return mask;
+    }
+
+    /**
+     * @param permissions The permissions.
+     * @return The permission mask of the given permissions.
+     */
+    public static short toMask(Collection<PermissionType> permissions) {
+        short result = 0;
+        if (permissions != null) {
+            for (PermissionType permission : permissions) {
+                result |= permission.getMask();
+            }
+        }
+        return result;
     }
 }
@@ -16,19 +16,30 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import de.terrestris.shogun.lib.config.GraphQLConfig;
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.graphql.dto.MutateApplication;
 import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.Layer;
 import de.terrestris.shogun.lib.service.ApplicationService;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 import org.springframework.data.history.Revision;
 import org.springframework.data.history.Revisions;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class ApplicationGraphQLController extends BaseGraphQLController<Application, ApplicationService> {
@@ -38,6 +49,11 @@ public class ApplicationGraphQLController extends BaseGraphQLController<Applicat
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<Application> allApplicationsConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<Application> applicationById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -78,4 +94,35 @@ public class ApplicationGraphQLController extends BaseGraphQLController<Applicat
         return super.delete(id);
     }
 
+    @SchemaMapping(typeName = "Application", field = "layers")
+    public CompletableFuture<List<Layer>> layers(Application application, DataFetchingEnvironment environment) {
+        DataLoader<Long, Layer> dataLoader = environment.getDataLoader(GraphQLConfig.LAYER_LOADER);
+
+        return dataLoader.loadMany(List.copyOf(getLayerIds(application)))
+            .thenApply(layers -> layers.stream()
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Collects the IDs of all layers referenced in the layer tree of the given application. Since the structure of
+     * the layer tree is defined by each project, all <code>layerId</code> values of the tree are considered.
+     */
+    private Set<Long> getLayerIds(Application application) {
+        Set<Long> layerIds = new LinkedHashSet<>();
+
+        if (application.getLayerTree() == null) {
+            return layerIds;
+        }
+
+        JsonNode layerTree = objectMapper.valueToTree(application.getLayerTree());
+        for (JsonNode layerId : layerTree.findValues("layerId")) {
+            if (layerId.canConvertToLong()) {
+                layerIds.add(layerId.asLong());
+            }
+        }
+
+        return layerIds;
+    }
+
 }
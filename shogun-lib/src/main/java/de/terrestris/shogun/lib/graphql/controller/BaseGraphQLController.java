@@ -18,7 +18,11 @@ package de.terrestris.shogun.lib.graphql.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.terrestris.shogun.lib.graphql.dto.Connection;
+import de.terrestris.shogun.lib.graphql.dto.Edge;
+import de.terrestris.shogun.lib.graphql.dto.PageInfo;
 import de.terrestris.shogun.lib.graphql.exception.EntityNotAvailableException;
+import de.terrestris.shogun.lib.graphql.exception.InvalidCursorException;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.repository.BaseCrudRepository;
 import de.terrestris.shogun.lib.service.BaseService;
@@ -31,7 +35,9 @@ import org.springframework.data.history.Revisions;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +48,18 @@ public abstract class BaseGraphQLController<E extends BaseEntity, S extends Base
     @Lazy
     protected ObjectMapper objectMapper;
 
+    /**
+     * The number of entities returned by a connection if <code>first</code> isn't given.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The maximum number of entities returned by a connection.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String CURSOR_PREFIX = "cursor:";
+
     @Autowired
     protected S service;
 
@@ -49,6 +67,38 @@ public abstract class BaseGraphQLController<E extends BaseEntity, S extends Base
         return this.service.findAll();
     }
 
+    /**
+     * Returns a single page of the entities the current user may read ordered by ID. The page is selected
+     * by keyset pagination (<code>id > after</code>) and the permissions are checked by the query, so the
+     * costs don't depend on the size of the table.
+     *
+     * @param first The maximum number of entities to return (at most {@link #MAX_PAGE_SIZE}).
+     * @param after The cursor of the last entity of the previous page (if any).
+     * @return The connection.
+     */
+    public Connection<E> findAllConnection(Integer first, String after) {
+        int limit = Math.clamp(first == null ? DEFAULT_PAGE_SIZE : first, 1, MAX_PAGE_SIZE);
+        long afterId = decodeCursor(after);
+
+        // fetch one additional entity to determine whether there's a next page
+        List<E> entities = this.service.findAllAfter(afterId, limit + 1);
+        boolean hasNextPage = entities.size() > limit;
+
+        List<Edge<E>> edges = entities.stream()
+            .limit(limit)
+            .map(entity -> new Edge<>(entity, encodeCursor(entity.getId())))
+            .toList();
+
+        PageInfo pageInfo = new PageInfo(
+            hasNextPage,
+            afterId > 0,
+            edges.isEmpty() ? null : edges.getFirst().getCursor(),
+            edges.isEmpty() ? null : edges.getLast().getCursor()
+        );
+
+        return new Connection<>(edges, pageInfo);
+    }
+
     public Optional<E> findOne(Long id) {
         Optional<E> persistedEntity = this.service.findOne(id);
 
@@ -147,6 +197,29 @@ public abstract class BaseGraphQLController<E extends BaseEntity, S extends Base
         }
     }
 
+    static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor %s".formatted(cursor));
+            }
+
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor %s".formatted(cursor));
+        }
+    }
+
     private E deserializeInput(Serializable entityMap) {
         E entity = null;
 
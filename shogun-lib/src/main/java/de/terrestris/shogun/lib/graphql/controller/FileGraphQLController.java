@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.model.File;
 import de.terrestris.shogun.lib.service.FileService;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -33,6 +34,11 @@ public class FileGraphQLController extends BaseGraphQLController<File, FileServi
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<File> allFilesConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<File> fileById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -16,19 +16,27 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.config.GraphQLConfig;
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.graphql.dto.MutateGroup;
 import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.model.Role;
+import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.service.GroupService;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 import org.springframework.data.history.Revision;
 import org.springframework.data.history.Revisions;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class GroupGraphQLController extends BaseGraphQLController<Group, GroupService> {
@@ -38,6 +46,11 @@ public class GroupGraphQLController extends BaseGraphQLController<Group, GroupSe
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<Group> allGroupsConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<Group> groupById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -78,4 +91,26 @@ public class GroupGraphQLController extends BaseGraphQLController<Group, GroupSe
         return super.delete(id);
     }
 
+    @SchemaMapping(typeName = "Group", field = "members")
+    public CompletableFuture<List<User>> members(Group group, DataFetchingEnvironment environment) {
+        if (group.getAuthProviderId() == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        DataLoader<String, List<User>> dataLoader = environment.getDataLoader(GraphQLConfig.GROUP_MEMBERS_LOADER);
+
+        return dataLoader.load(group.getAuthProviderId());
+    }
+
+    @SchemaMapping(typeName = "Group", field = "roles")
+    public CompletableFuture<List<Role>> roles(Group group, DataFetchingEnvironment environment) {
+        if (group.getAuthProviderId() == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        DataLoader<String, List<Role>> dataLoader = environment.getDataLoader(GraphQLConfig.GROUP_ROLES_LOADER);
+
+        return dataLoader.load(group.getAuthProviderId());
+    }
+
 }
@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.model.ImageFile;
 import de.terrestris.shogun.lib.service.ImageFileService;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -33,6 +34,11 @@ public class ImageFileGraphQLController extends BaseGraphQLController<ImageFile,
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<ImageFile> allImageFilesConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<ImageFile> imageFileById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.graphql.dto.MutateLayer;
 import de.terrestris.shogun.lib.model.Layer;
 import de.terrestris.shogun.lib.service.LayerService;
@@ -38,6 +39,11 @@ public class LayerGraphQLController extends BaseGraphQLController<Layer, LayerSe
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<Layer> allLayersConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<Layer> layerById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.graphql.dto.MutateTextualContent;
 import de.terrestris.shogun.lib.model.TextualContent;
 import de.terrestris.shogun.lib.service.TextualContentService;
@@ -38,6 +39,11 @@ public class TextualContentGraphQLController extends BaseGraphQLController<Textu
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<TextualContent> allTextualContentsConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<TextualContent> textualContentById(@Argument("id") Long id) {
         return super.findOne(id);
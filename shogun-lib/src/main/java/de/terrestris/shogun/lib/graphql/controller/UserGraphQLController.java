@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.graphql.controller;
 
+import de.terrestris.shogun.lib.graphql.dto.Connection;
 import de.terrestris.shogun.lib.graphql.dto.MutateUser;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.service.UserService;
@@ -38,6 +39,11 @@ public class UserGraphQLController extends BaseGraphQLController<User, UserServi
         return super.findAll();
     }
 
+    @QueryMapping
+    public Connection<User> allUsersConnection(@Argument("first") Integer first, @Argument("after") String after) {
+        return super.findAllConnection(first, after);
+    }
+
     @QueryMapping
     public Optional<User> userById(@Argument("id") Long id) {
         return super.findOne(id);
@@ -0,0 +1,94 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.graphql.instrumentation;
+
+import de.terrestris.shogun.lib.graphql.controller.BaseGraphQLController;
+import de.terrestris.shogun.properties.GraphQLLimitsProperties;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimates the costs of a field for the {@link graphql.analysis.MaxQueryComplexityInstrumentation}.
+ *
+ * The cost of a field is its configured cost (see {@link GraphQLLimitsProperties#getFieldCosts()}) plus the
+ * complexity of its sub fields, multiplied by the expected number of elements for lists and connections. The
+ * number of elements is taken from the <code>first</code> or <code>ids</code> arguments if given. Introspection
+ * fields are counted without any multiplier.
+ */
+public class FieldCostCalculator implements FieldComplexityCalculator {
+
+    private final GraphQLLimitsProperties properties;
+
+    public FieldCostCalculator(GraphQLLimitsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        String parentTypeName = environment.getParentType().getName();
+        String fieldName = environment.getFieldDefinition().getName();
+
+        if (fieldName.startsWith("__") || parentTypeName.startsWith("__")) {
+            return 1 + childComplexity;
+        }
+
+        int cost = properties.getFieldCosts()
+            .getOrDefault(parentTypeName + "." + fieldName, properties.getDefaultFieldCost());
+
+        long complexity = cost + (long) getMultiplier(environment) * childComplexity;
+
+        return (int) Math.min(complexity, Integer.MAX_VALUE);
+    }
+
+    private int getMultiplier(FieldComplexityEnvironment environment) {
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType());
+
+        if (GraphQLTypeUtil.isList(type)) {
+            // the size of the edges is determined by the connection field itself
+            if (environment.getParentType().getName().endsWith("Connection")) {
+                return 1;
+            }
+
+            return getListSize(environment.getArguments(), properties.getDefaultListSize());
+        }
+
+        if (type instanceof GraphQLNamedType namedType && namedType.getName().endsWith("Connection")) {
+            return getListSize(environment.getArguments(), BaseGraphQLController.DEFAULT_PAGE_SIZE);
+        }
+
+        return 1;
+    }
+
+    private static int getListSize(Map<String, Object> arguments, int defaultSize) {
+        if (arguments.get("first") instanceof Number first) {
+            return Math.clamp(first.intValue(), 1, BaseGraphQLController.MAX_PAGE_SIZE);
+        }
+
+        if (arguments.get("ids") instanceof Collection<?> ids) {
+            return Math.max(ids.size(), 1);
+        }
+
+        return defaultSize;
+    }
+
+}
@@ -0,0 +1,145 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.graphql.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Caches the parsed and validated documents of the GraphQL queries by the SHA-256 hash of the query, so
+ * repeated queries skip parsing and validation.
+ *
+ * Additionally, the automatic persisted queries of Apollo are supported: If the request contains the extension
+ * <code>{"persistedQuery": {"version": 1, "sha256Hash": "..."}}</code>, the query may be omitted once it has
+ * been sent (together with its hash) before. Unknown hashes are answered with a <code>PersistedQueryNotFound</code>
+ * error, the client is expected to repeat the request including the query then.
+ *
+ * Documents with (validation) errors are not cached. The limits of the query depth and complexity are checked
+ * on execution and therefore apply to cached documents as well.
+ */
+@Log4j2
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    static final String SHA256_HASH_KEY = "sha256Hash";
+
+    /**
+     * The cached documents in the order of their last access, guarded by itself.
+     */
+    private final Map<String, PreparsedDocumentEntry> documents;
+
+    /**
+     * @param maxSize The maximum number of cached documents, the least recently used one is evicted if the
+     *                limit is reached.
+     */
+    public PersistedQueryDocumentProvider(int maxSize) {
+        this.documents = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, parseAndValidateFunction));
+    }
+
+    private PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        boolean hasQuery = !StringUtils.isBlank(query) && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+        Object persistedQueryId = getPersistedQueryId(executionInput);
+
+        if (persistedQueryId == null && !hasQuery) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        if (persistedQueryId != null && !(persistedQueryId instanceof String)) {
+            return new PreparsedDocumentEntry(new PersistedQueryIdInvalid(persistedQueryId));
+        }
+
+        if (!hasQuery) {
+            PreparsedDocumentEntry document = getCachedDocument(((String) persistedQueryId).toLowerCase());
+            if (document == null) {
+                log.debug("No query found for the persisted query ID {}", persistedQueryId);
+                return new PreparsedDocumentEntry(new PersistedQueryNotFound(persistedQueryId));
+            }
+            return document;
+        }
+
+        String hash = sha256(query);
+        if (persistedQueryId != null && !hash.equalsIgnoreCase((String) persistedQueryId)) {
+            return new PreparsedDocumentEntry(new PersistedQueryIdInvalid(persistedQueryId));
+        }
+
+        PreparsedDocumentEntry document = getCachedDocument(hash);
+        if (document == null) {
+            document = parseAndValidateFunction.apply(executionInput);
+
+            if (!document.hasErrors()) {
+                synchronized (documents) {
+                    documents.put(hash, document);
+                }
+            }
+        }
+        return document;
+    }
+
+    private PreparsedDocumentEntry getCachedDocument(String hash) {
+        // a get changes the access order as well
+        synchronized (documents) {
+            return documents.get(hash);
+        }
+    }
+
+    private static Object getPersistedQueryId(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery) {
+            return persistedQuery.get(SHA256_HASH_KEY);
+        }
+        return null;
+    }
+
+    static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+}
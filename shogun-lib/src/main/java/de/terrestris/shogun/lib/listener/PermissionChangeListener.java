@@ -0,0 +1,52 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.listener;
+
+import de.terrestris.shogun.lib.model.security.permission.BasePermission;
+import de.terrestris.shogun.lib.security.access.PermissionDecisionCache;
+import de.terrestris.shogun.lib.util.ApplicationContextProvider;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * JPA entity listener invalidating the {@link PermissionDecisionCache} whenever
+ * a {@link BasePermission} is created, updated or removed and after the transaction has
+ * been committed.
+ */
+@Log4j2
+public class PermissionChangeListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPermissionChange(BasePermission permission) {
+        ApplicationContext applicationContext = ApplicationContextProvider.getContext();
+
+        if (applicationContext == null) {
+            return;
+        }
+
+        log.trace("Permission with ID {} changed, invalidating cached permission decisions", permission.getId());
+
+        applicationContext.getBeanProvider(PermissionDecisionCache.class)
+            .ifAvailable(PermissionDecisionCache::invalidateAfterCommit);
+    }
+
+}
@@ -82,6 +82,28 @@ public class File extends BaseEntity {
     @Getter @Setter
     private String path;
 
+    @JsonIgnore
+    @Column
+    @Getter @Setter
+    private String blobKey;
+
+    @Column
+    @Getter @Setter
+    @Schema(
+        description = "The SHA-256 hash (hex encoded) of the file content, used as ETag when serving the file.",
+        accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String contentHash;
+
+    @Column
+    @Getter @Setter
+    @Schema(
+        description = "The size of the file content in bytes.",
+        accessMode = Schema.AccessMode.READ_ONLY,
+        example = "1024"
+    )
+    private Long contentLength;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
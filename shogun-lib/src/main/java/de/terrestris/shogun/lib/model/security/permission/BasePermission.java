@@ -17,7 +17,9 @@
  */
 package de.terrestris.shogun.lib.model.security.permission;
 
+import de.terrestris.shogun.lib.listener.PermissionChangeListener;
 import de.terrestris.shogun.lib.model.BaseEntity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.OneToOne;
@@ -32,6 +34,7 @@ import java.util.Objects;
 import static org.hibernate.envers.RelationTargetAuditMode.NOT_AUDITED;
 
 @MappedSuperclass
+@EntityListeners(PermissionChangeListener.class)
 @Audited
 @Getter
 @Setter
@@ -16,11 +16,13 @@
  */
 package de.terrestris.shogun.lib.model.security.permission;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.MappedSuperclass;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.Hibernate;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
 
 import java.util.Objects;
 
@@ -36,6 +38,27 @@ public abstract class InstancePermission extends BasePermission {
     @Column
     private Long entityId;
 
+    /**
+     * The permissions of the permission collection as bit mask (see {@link PermissionType#getMask()}). It's
+     * derived from the permission collection on every write and allows to check the permissions with an
+     * index-only scan. The database triggers of V0.18.1 keep it in sync for writes bypassing the entity (plain
+     * SQL, bulk queries) and for changes of the permissions of a collection.
+     */
+    @Column
+    @NotAudited
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Short permissionMask;
+
+    @PrePersist
+    @PreUpdate
+    protected void updatePermissionMask() {
+        PermissionCollection permissionCollection = getPermission();
+        permissionMask = permissionCollection == null ? null :
+            PermissionType.toMask(permissionCollection.getPermissions());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
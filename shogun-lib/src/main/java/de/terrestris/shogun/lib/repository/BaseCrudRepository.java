@@ -16,6 +16,7 @@
  */
 package de.terrestris.shogun.lib.repository;
 
+import de.terrestris.shogun.lib.enumeration.PermissionType;
 import jakarta.persistence.QueryHint;
 import org.hibernate.jpa.AvailableHints;
 import org.jspecify.annotations.NonNull;
@@ -30,6 +31,13 @@ import org.springframework.data.repository.history.RevisionRepository;
 
 import java.util.List;
 
+/**
+ * Base repository of all entities.
+ *
+ * The instance permission subqueries check the permission mask against
+ * {@link PermissionType#READ_ACCESS_MASK} (<code>READ | ADMIN</code>, bound via SpEL), which is backed by the
+ * composite <code>(entity_id, principal_id) INCLUDE (permission_mask)</code> indexes.
+ */
 @NoRepositoryBean
 public interface BaseCrudRepository<T, ID> extends
     RevisionRepository<T, ID, Integer>, CrudRepository<T, ID>,
@@ -58,12 +66,12 @@ public interface BaseCrudRepository<T, ID> extends
             SELECT 1 FROM userinstancepermissions uip
             WHERE uip.user.id = :userId
             AND uip.entityId = m.id
-            AND uip.permission.name IN ('ADMIN', 'READ', 'CREATE_READ', 'CREATE_READ_UPDATE', 'CREATE_READ_DELETE', 'READ_UPDATE', 'READ_DELETE', 'READ_UPDATE_DELETE')
+            AND bitand(uip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
         ) OR EXISTS (
             SELECT 1 FROM roleinstancepermissions rip
             WHERE rip.role.id IN :roleIds
             AND rip.entityId = m.id
-            AND rip.permission.name IN ('ADMIN', 'READ', 'CREATE_READ', 'CREATE_READ_UPDATE', 'CREATE_READ_DELETE', 'READ_UPDATE', 'READ_DELETE', 'READ_UPDATE_DELETE')
+            AND bitand(rip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
         )
     """)
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
@@ -87,17 +95,17 @@ public interface BaseCrudRepository<T, ID> extends
             SELECT 1 FROM userinstancepermissions uip
             WHERE uip.user.id = :userId
             AND uip.entityId = m.id
-            AND uip.permission.name IN ('ADMIN', 'READ', 'CREATE_READ', 'CREATE_READ_UPDATE', 'CREATE_READ_DELETE', 'READ_UPDATE', 'READ_DELETE', 'READ_UPDATE_DELETE')
+            AND bitand(uip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
         ) OR EXISTS (
             SELECT 1 FROM groupinstancepermissions gip
             WHERE gip.group.id IN :groupIds
             AND gip.entityId = m.id
-            AND gip.permission.name IN ('ADMIN', 'READ', 'CREATE_READ', 'CREATE_READ_UPDATE', 'CREATE_READ_DELETE', 'READ_UPDATE', 'READ_DELETE', 'READ_UPDATE_DELETE')
+            AND bitand(gip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
         ) OR EXISTS (
             SELECT 1 FROM roleinstancepermissions rip
             WHERE rip.role.id IN :roleIds
             AND rip.entityId = m.id
-            AND rip.permission.name IN ('ADMIN', 'READ', 'CREATE_READ', 'CREATE_READ_UPDATE', 'CREATE_READ_DELETE', 'READ_UPDATE', 'READ_DELETE', 'READ_UPDATE_DELETE')
+            AND bitand(rip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
         )
     """)
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
@@ -115,6 +123,96 @@ public interface BaseCrudRepository<T, ID> extends
     @NonNull
     Page<T> findAll(@NonNull Pageable pageable);
 
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by their ID without checking any
+     * permissions (keyset pagination).
+     *
+     * @param after The ID of the last entity of the previous slice (use 0 to start from the beginning).
+     * @param pageable The pageable limiting the number of results, should be unsorted and start at page 0.
+     * @return The next entities.
+     */
+    @Query("""
+        FROM #{#entityName} m
+        WHERE m.id > :after
+        ORDER BY m.id
+    """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<T> findAllAfter(Long after, Pageable pageable);
+
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by their ID for which the user with
+     * userId has permission via UserInstancePermission (keyset pagination).
+     *
+     * @param after The ID of the last entity of the previous slice (use 0 to start from the beginning).
+     * @param pageable The pageable limiting the number of results, should be unsorted and start at page 0.
+     * @param userId ID of the authenticated user.
+     * @param roleIds All IDs of the roles of the authenticated user.
+     * @return The next entities.
+     */
+    @Query("""
+        FROM #{#entityName} m
+        WHERE m.id > :after
+        AND (
+            EXISTS (
+                SELECT 1 FROM publicinstancepermissions pip
+                WHERE m.id = pip.entityId
+            ) OR EXISTS (
+                SELECT 1 FROM userinstancepermissions uip
+                WHERE uip.user.id = :userId
+                AND uip.entityId = m.id
+                AND bitand(uip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
+            ) OR EXISTS (
+                SELECT 1 FROM roleinstancepermissions rip
+                WHERE rip.role.id IN :roleIds
+                AND rip.entityId = m.id
+                AND bitand(rip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
+            )
+        )
+        ORDER BY m.id
+    """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<T> findAllAfter(Long after, Pageable pageable, Long userId, List<Long> roleIds);
+
+    /**
+     * Returns the entities with an ID greater than <code>after</code> ordered by their ID for which the user with
+     * userId has permission via UserInstancePermission or GroupInstancePermission (keyset pagination).
+     *
+     * @param after The ID of the last entity of the previous slice (use 0 to start from the beginning).
+     * @param pageable The pageable limiting the number of results, should be unsorted and start at page 0.
+     * @param userId ID of the authenticated user.
+     * @param groupIds All IDs of the groups of the authenticated user.
+     * @param roleIds All IDs of the roles of the authenticated user.
+     * @return The next entities.
+     */
+    @Query("""
+        FROM #{#entityName} m
+        WHERE m.id > :after
+        AND (
+            EXISTS (
+                SELECT 1 FROM publicinstancepermissions pip
+                WHERE m.id = pip.entityId
+            ) OR EXISTS (
+                SELECT 1 FROM userinstancepermissions uip
+                WHERE uip.user.id = :userId
+                AND uip.entityId = m.id
+                AND bitand(uip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
+            ) OR EXISTS (
+                SELECT 1 FROM groupinstancepermissions gip
+                WHERE gip.group.id IN :groupIds
+                AND gip.entityId = m.id
+                AND bitand(gip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
+            ) OR EXISTS (
+                SELECT 1 FROM roleinstancepermissions rip
+                WHERE rip.role.id IN :roleIds
+                AND rip.entityId = m.id
+                AND bitand(rip.permissionMask, :#{T(de.terrestris.shogun.lib.enumeration.PermissionType).READ_ACCESS_MASK}) <> 0
+            )
+        )
+        ORDER BY m.id
+    """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<T> findAllAfter(Long after, Pageable pageable, Long userId, List<Long> groupIds, List<Long> roleIds);
+
     @QueryHints({
         @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
         @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "default-query-results-region")
@@ -18,9 +18,12 @@ package de.terrestris.shogun.lib.repository;
 
 import jakarta.persistence.QueryHint;
 import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,4 +33,14 @@ public interface BaseFileRepository<T, ID> extends BaseCrudRepository<T, ID> {
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<T> findByFileUuid(UUID uuid);
 
+    /**
+     * Returns the IDs of all files whose content is still stored in the database
+     * although a blob store is available.
+     *
+     * @param pageable The page to return.
+     * @return The IDs of the files.
+     */
+    @Query("SELECT f.id FROM #{#entityName} f WHERE f.file IS NOT NULL AND f.blobKey IS NULL ORDER BY f.id")
+    List<Long> findIdsWithInlineContent(Pageable pageable);
+
 }
@@ -20,9 +20,13 @@ import de.terrestris.shogun.lib.model.Role;
 import jakarta.persistence.QueryHint;
 import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -31,4 +35,13 @@ public interface RoleRepository extends BaseCrudRepository<Role, Long>, JpaSpeci
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByAuthProviderId(String authProviderId);
 
+    /**
+     * Returns the given auth provider IDs that already belong to a role in the database.
+     *
+     * @param authProviderIds The auth provider IDs to check.
+     * @return The subset of the auth provider IDs that is already known.
+     */
+    @Query("SELECT r.authProviderId FROM roles r WHERE r.authProviderId IN :authProviderIds")
+    List<String> findExistingAuthProviderIds(@Param("authProviderIds") Collection<String> authProviderIds);
+
 }
@@ -20,9 +20,13 @@ import de.terrestris.shogun.lib.model.User;
 import jakarta.persistence.QueryHint;
 import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -31,4 +35,13 @@ public interface UserRepository extends BaseCrudRepository<User, Long>, JpaSpeci
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByAuthProviderId(String authProviderId);
 
+    /**
+     * Returns the given auth provider IDs that already belong to a user in the database.
+     *
+     * @param authProviderIds The auth provider IDs to check.
+     * @return The subset of the auth provider IDs that is already known.
+     */
+    @Query("SELECT u.authProviderId FROM users u WHERE u.authProviderId IN :authProviderIds")
+    List<String> findExistingAuthProviderIds(@Param("authProviderIds") Collection<String> authProviderIds);
+
 }
@@ -25,6 +25,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +37,10 @@ public interface GroupClassPermissionRepository extends BasePermissionRepository
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<GroupClassPermission> findByGroupIdAndClassName(Long groupId, String className);
 
+    @Query("Select gcp from groupclasspermissions gcp where gcp.group.id in ?1 and gcp.className = ?2")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<GroupClassPermission> findByGroupIdInAndClassName(Collection<Long> groupIds, String className);
+
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<GroupClassPermission> findAllByGroup(Group group);
 
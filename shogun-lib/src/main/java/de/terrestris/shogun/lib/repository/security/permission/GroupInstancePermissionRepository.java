@@ -25,6 +25,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,10 +37,18 @@ public interface GroupInstancePermissionRepository extends BasePermissionReposit
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<GroupInstancePermission> findByGroupIdAndEntityId(Long groupId, Long entityId);
 
+    @Query("Select gip from groupinstancepermissions gip where gip.group.id in ?1 and gip.entityId = ?2")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<GroupInstancePermission> findByGroupIdInAndEntityId(Collection<Long> groupIds, Long entityId);
+
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<GroupInstancePermission> findByEntityId(Long entityId);
 
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<GroupInstancePermission> findAllByGroup(Group group);
 
+    List<GroupInstancePermission> findAllByGroupIdInAndEntityIdIn(Collection<Long> groupIds, Collection<Long> entityIds);
+
+    List<GroupInstancePermission> findAllByEntityIdIn(Collection<Long> entityIds);
+
 }
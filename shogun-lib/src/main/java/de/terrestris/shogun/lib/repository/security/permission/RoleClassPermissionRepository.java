@@ -27,6 +27,7 @@ import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,10 @@ public interface RoleClassPermissionRepository extends BasePermissionRepository<
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleClassPermission> findByRoleIdAndClassName(Long roleId, String className);
 
+    @Query("Select rcp from roleclasspermissions rcp where rcp.role.id in ?1 and rcp.className = ?2")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<RoleClassPermission> findByRoleIdInAndClassName(Collection<Long> roleIds, String className);
+
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<RoleClassPermission> findAllByRole(Role role);
 
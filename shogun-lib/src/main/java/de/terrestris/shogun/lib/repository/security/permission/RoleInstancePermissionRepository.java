@@ -27,6 +27,7 @@ import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,10 @@ public interface RoleInstancePermissionRepository extends BasePermissionReposito
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleInstancePermission> findByRoleIdAndEntityId(Long roleId, Long entityId);
 
+    @Query("Select rip from roleinstancepermissions rip where rip.role.id in ?1 and rip.entityId = ?2")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<RoleInstancePermission> findByRoleIdInAndEntityId(Collection<Long> roleIds, Long entityId);
+
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<RoleInstancePermission> findByEntityId(Long entityId);
 
@@ -50,4 +55,9 @@ public interface RoleInstancePermissionRepository extends BasePermissionReposito
 
     @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<RoleInstancePermission> findAllByRole(Role role);
+
+    List<RoleInstancePermission> findAllByRoleIdInAndEntityIdIn(Collection<Long> roleIds, Collection<Long> entityIds);
+
+    List<RoleInstancePermission> findAllByEntityIdIn(Collection<Long> entityIds);
+
 }
@@ -28,6 +28,7 @@ import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,4 +57,8 @@ public interface UserInstancePermissionRepository extends BasePermissionReposito
     @Query(value = "DELETE FROM {h-schema}userinstancepermissions u WHERE u.user_id=:userId", nativeQuery = true)
     void deleteAllByUserId(@Param("userId") Long userId);
 
+    List<UserInstancePermission> findAllByUserIdInAndEntityIdIn(Collection<Long> userIds, Collection<Long> entityIds);
+
+    List<UserInstancePermission> findAllByEntityIdIn(Collection<Long> entityIds);
+
 }
@@ -0,0 +1,141 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.repository.specification;
+
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.model.security.permission.GroupInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.PublicInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.RoleInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.UserInstancePermission;
+import jakarta.persistence.criteria.*;
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Restricts a query to the entities a user may read. This is the criteria API counterpart of the
+ * <code>EXISTS</code> subqueries in {@link de.terrestris.shogun.lib.repository.BaseCrudRepository}
+ * and can be combined with any other {@link Specification} via {@link Specification#and(Specification)}.
+ *
+ * @param <T> The type of the entity.
+ */
+@Getter
+public class PermissionSpecification<T> implements Specification<T> {
+
+    private final boolean unrestricted;
+
+    private final boolean includePublic;
+
+    private final Long userId;
+
+    private final List<Long> groupIds;
+
+    private final List<Long> roleIds;
+
+    private PermissionSpecification(boolean unrestricted, boolean includePublic, Long userId, List<Long> groupIds,
+            List<Long> roleIds) {
+        this.unrestricted = unrestricted;
+        this.includePublic = includePublic;
+        this.userId = userId;
+        this.groupIds = groupIds == null ? List.of() : groupIds;
+        this.roleIds = roleIds == null ? List.of() : roleIds;
+    }
+
+    /**
+     * @return A specification that doesn't restrict the query at all, e.g. for administrators.
+     */
+    public static <T> PermissionSpecification<T> unrestricted() {
+        return new PermissionSpecification<>(true, false, null, null, null);
+    }
+
+    /**
+     * @param includePublic Whether entities with a public instance permission are readable.
+     * @param userId The ID of the user (may be null for anonymous access).
+     * @param groupIds The IDs of the groups of the user.
+     * @param roleIds The IDs of the roles of the user.
+     * @return A specification matching all entities the user, one of the groups or one of the roles has
+     * an instance permission with READ access for.
+     */
+    public static <T> PermissionSpecification<T> readableBy(boolean includePublic, Long userId, List<Long> groupIds,
+            List<Long> roleIds) {
+        return new PermissionSpecification<>(false, includePublic, userId, groupIds, roleIds);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (unrestricted) {
+            return criteriaBuilder.conjunction();
+        }
+
+        Path<Long> entityId = root.get("id");
+        List<Predicate> permissionPredicates = new ArrayList<>();
+
+        if (includePublic) {
+            Subquery<Integer> publicPermission = query.subquery(Integer.class);
+            Root<PublicInstancePermission> pip = publicPermission.from(PublicInstancePermission.class);
+            publicPermission
+                .select(criteriaBuilder.literal(1))
+                .where(criteriaBuilder.equal(pip.get("entityId"), entityId));
+            permissionPredicates.add(criteriaBuilder.exists(publicPermission));
+        }
+
+        if (userId != null) {
+            permissionPredicates.add(instancePermissionExists(UserInstancePermission.class, "user",
+                List.of(userId), entityId, query, criteriaBuilder));
+        }
+
+        if (!groupIds.isEmpty()) {
+            permissionPredicates.add(instancePermissionExists(GroupInstancePermission.class, "group",
+                groupIds, entityId, query, criteriaBuilder));
+        }
+
+        if (!roleIds.isEmpty()) {
+            permissionPredicates.add(instancePermissionExists(RoleInstancePermission.class, "role",
+                roleIds, entityId, query, criteriaBuilder));
+        }
+
+        if (permissionPredicates.isEmpty()) {
+            return criteriaBuilder.disjunction();
+        }
+
+        return criteriaBuilder.or(permissionPredicates.toArray(Predicate[]::new));
+    }
+
+    private static <P> Predicate instancePermissionExists(Class<P> permissionClass, String principalAttribute,
+            Collection<Long> principalIds, Path<Long> entityId, CriteriaQuery<?> query,
+            CriteriaBuilder criteriaBuilder) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<P> permission = subquery.from(permissionClass);
+
+        subquery
+            .select(criteriaBuilder.literal(1))
+            .where(
+                criteriaBuilder.equal(permission.get("entityId"), entityId),
+                permission.get(principalAttribute).get("id").in(principalIds),
+                criteriaBuilder.notEqual(
+                    criteriaBuilder.function("bitand", Short.class, permission.get("permissionMask"),
+                        criteriaBuilder.literal(PermissionType.READ_ACCESS_MASK)),
+                    (short) 0
+                )
+            );
+
+        return criteriaBuilder.exists(subquery);
+    }
+}
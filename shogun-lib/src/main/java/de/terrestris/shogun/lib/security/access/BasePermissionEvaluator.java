@@ -23,13 +23,13 @@ import de.terrestris.shogun.lib.security.access.entity.BaseEntityPermissionEvalu
 import de.terrestris.shogun.lib.security.access.entity.DefaultPermissionEvaluator;
 import de.terrestris.shogun.lib.service.security.provider.UserProviderService;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
-import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -37,7 +37,7 @@ import java.util.Optional;
 public class BasePermissionEvaluator implements PermissionEvaluator {
 
     @Autowired
-    protected List<BaseEntityPermissionEvaluator<?>> permissionEvaluators;
+    protected PermissionEvaluatorRegistry permissionEvaluatorRegistry;
 
     @Autowired
     protected DefaultPermissionEvaluator defaultPermissionEvaluator;
@@ -45,6 +45,9 @@ public class BasePermissionEvaluator implements PermissionEvaluator {
     @Autowired
     private UserProviderService userProviderService;
 
+    @Autowired
+    private PermissionDecisionCache permissionDecisionCache;
+
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject,
             Object permissionObject) {
@@ -74,9 +77,8 @@ public class BasePermissionEvaluator implements PermissionEvaluator {
         if (targetDomainObject instanceof Class<?>) {
             // test if user/group class permission for provided class exists
             Class clazz = (Class<?>) targetDomainObject;
-            String className = ((Class<?>) targetDomainObject).getCanonicalName();
             BaseEntityPermissionEvaluator entityPermissionEvaluator =
-                this.getPermissionEvaluatorForClass(className);
+                this.getPermissionEvaluatorForClass(clazz);
             final PermissionType permission = PermissionType.valueOf((String) permissionObject);
             return entityPermissionEvaluator.hasPermission(user, clazz, permission);
         }
@@ -108,13 +110,17 @@ public class BasePermissionEvaluator implements PermissionEvaluator {
         log.trace("Getting the appropriate permission evaluator implementation for class '{}'",
             targetDomainObject.getClass().getSimpleName());
 
+        final Class<?> persistentObjectClass = Hibernate.getClass(persistentObject);
+
         BaseEntityPermissionEvaluator entityPermissionEvaluator =
-            this.getPermissionEvaluatorForClass(persistentObject.getClass().getCanonicalName());
+            this.getPermissionEvaluatorForClass(persistentObjectClass);
 
         log.debug("Checking permissions with permission evaluator '{}'",
             entityPermissionEvaluator.getClass().getSimpleName());
 
-        return entityPermissionEvaluator.hasPermission(user, persistentObject, permission);
+        return permissionDecisionCache.getOrEvaluate(user, persistentObjectClass.getCanonicalName(),
+            persistentObject.getId(), permission,
+            () -> entityPermissionEvaluator.hasPermission(user, persistentObject, permission));
     }
 
     @Override
@@ -147,7 +153,8 @@ public class BasePermissionEvaluator implements PermissionEvaluator {
         log.trace("Checking permissions with permission evaluator '{}'",
             entityPermissionEvaluator.getClass().getSimpleName());
 
-        return entityPermissionEvaluator.hasPermission(user, targetEntityId, targetDomainType, permission);
+        return permissionDecisionCache.getOrEvaluate(user, targetDomainType, targetEntityId, permission,
+            () -> entityPermissionEvaluator.hasPermission(user, targetEntityId, targetDomainType, permission));
     }
 
     /**
@@ -156,14 +163,18 @@ public class BasePermissionEvaluator implements PermissionEvaluator {
      * @return
      */
     protected BaseEntityPermissionEvaluator getPermissionEvaluatorForClass(String persistentObjectClass) {
+        return permissionEvaluatorRegistry.findPermissionEvaluator(persistentObjectClass)
+            .orElse(defaultPermissionEvaluator);
+    }
 
-        BaseEntityPermissionEvaluator entityPermissionEvaluator = permissionEvaluators.stream()
-                .filter(permissionEvaluator -> persistentObjectClass.equals(
-                        permissionEvaluator.getEntityClassName().getCanonicalName()))
-                .findAny()
-                .orElse(defaultPermissionEvaluator);
-
-        return entityPermissionEvaluator;
+    /**
+     * Returns the {@BaseEntityPermissionEvaluator} for the given {@BaseEntity} class.
+     *
+     * @return
+     */
+    protected BaseEntityPermissionEvaluator getPermissionEvaluatorForClass(Class<?> persistentObjectClass) {
+        return permissionEvaluatorRegistry.findPermissionEvaluator(persistentObjectClass)
+            .orElse(defaultPermissionEvaluator);
     }
 
 }
@@ -0,0 +1,228 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access;
+
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.event.KeycloakEvent;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.properties.PermissionCacheProperties;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caches the outcome of entity permission evaluations keyed by
+ * (user, entity class, entity ID, permission type).
+ *
+ * Decisions are always reused within the current request (e.g. while a
+ * <code>@PostFilter</code> iterates over a list of entities) and, if a TTL is
+ * configured via {@link PermissionCacheProperties}, across requests of the same user.
+ * The cache is invalidated whenever a permission is written (and once more after the
+ * transaction has been committed) or Keycloak reports a change of group memberships or roles.
+ */
+@Component
+@Log4j2
+public class PermissionDecisionCache {
+
+    private static final String REQUEST_ATTRIBUTE_NAME = PermissionDecisionCache.class.getName();
+
+    @Autowired(required = false)
+    private PermissionCacheProperties permissionCacheProperties;
+
+    private final Map<DecisionKey, CachedDecision> sharedDecisions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached decision for the given key or evaluates (and caches) it.
+     *
+     * @param user The user to check the permission for (may be null for anonymous access).
+     * @param entityType The canonical class name of the entity.
+     * @param entityId The ID of the entity. Decisions for unsaved entities (null) won't be cached.
+     * @param permission The permission to check.
+     * @param evaluation The actual permission evaluation.
+     * @return Whether the permission is granted.
+     */
+    public boolean getOrEvaluate(User user, String entityType, Long entityId, PermissionType permission,
+            BooleanSupplier evaluation) {
+        if (!isEnabled() || entityId == null) {
+            return evaluation.getAsBoolean();
+        }
+
+        DecisionKey key = new DecisionKey(user == null ? null : user.getId(), entityType, entityId, permission);
+
+        Map<DecisionKey, Boolean> requestDecisions = getRequestDecisions();
+        if (requestDecisions != null) {
+            Boolean requestDecision = requestDecisions.get(key);
+            if (requestDecision != null) {
+                log.trace("Using request cached permission decision for {}", key);
+                return requestDecision;
+            }
+        }
+
+        Boolean decision = getSharedDecision(key);
+        if (decision != null) {
+            log.trace("Using cached permission decision for {}", key);
+        } else {
+            decision = evaluation.getAsBoolean();
+            putSharedDecision(key, decision);
+        }
+
+        if (requestDecisions != null) {
+            requestDecisions.put(key, decision);
+        }
+
+        return decision;
+    }
+
+    /**
+     * Removes all cached decisions, e.g. after permissions have been changed.
+     */
+    public void invalidate() {
+        log.trace("Invalidating all cached permission decisions");
+
+        sharedDecisions.clear();
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Removes all cached decisions now and, if called within a transaction, once more after its commit. Otherwise
+     * concurrent requests could cache decisions based on the (not yet committed) previous permissions in the
+     * meantime, which would be kept until the TTL expires.
+     */
+    public void invalidateAfterCommit() {
+        invalidate();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+                TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        // register the synchronization only once per transaction, e.g. for bulk changes of permissions
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PermissionDecisionCache.this);
+            }
+        });
+    }
+
+    @EventListener
+    public void onKeycloakEvent(KeycloakEvent event) {
+        switch (event.getEventType()) {
+            case USER_GROUP_MEMBERSHIP_CHANGED, USER_ROLES_CHANGED, USER_DELETED, GROUP_DELETED,
+                GROUP_ROLES_CHANGED -> invalidate();
+        }
+    }
+
+    private boolean isEnabled() {
+        return permissionCacheProperties == null || !Boolean.FALSE.equals(permissionCacheProperties.getEnabled());
+    }
+
+    private Duration getTtl() {
+        if (permissionCacheProperties == null || permissionCacheProperties.getTtl() == null) {
+            return Duration.ZERO;
+        }
+        return permissionCacheProperties.getTtl();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<DecisionKey, Boolean> getRequestDecisions() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Map<DecisionKey, Boolean> decisions = (Map<DecisionKey, Boolean>) requestAttributes.getAttribute(
+            REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+
+        if (decisions == null) {
+            decisions = new HashMap<>();
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE_NAME, decisions, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return decisions;
+    }
+
+    private Boolean getSharedDecision(DecisionKey key) {
+        if (getTtl().isZero() || getTtl().isNegative()) {
+            return null;
+        }
+
+        CachedDecision cachedDecision = sharedDecisions.get(key);
+        if (cachedDecision == null) {
+            return null;
+        }
+
+        if (cachedDecision.getExpiresAt() < System.currentTimeMillis()) {
+            sharedDecisions.remove(key, cachedDecision);
+            return null;
+        }
+
+        return cachedDecision.isGranted();
+    }
+
+    private void putSharedDecision(DecisionKey key, boolean decision) {
+        Duration ttl = getTtl();
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+
+        Integer maxSize = permissionCacheProperties.getMaxSize();
+        if (maxSize != null && sharedDecisions.size() >= maxSize) {
+            log.debug("Permission decision cache reached its maximum size of {} entries, clearing it", maxSize);
+            sharedDecisions.clear();
+        }
+
+        sharedDecisions.put(key, new CachedDecision(decision, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Value
+    private static class DecisionKey {
+        Long userId;
+        String entityType;
+        Long entityId;
+        PermissionType permission;
+    }
+
+    @Value
+    private static class CachedDecision {
+        boolean granted;
+        long expiresAt;
+    }
+
+}
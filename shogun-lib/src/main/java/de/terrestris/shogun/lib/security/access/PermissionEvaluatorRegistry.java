@@ -0,0 +1,91 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access;
+
+import de.terrestris.shogun.lib.security.access.entity.BaseEntityPermissionEvaluator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the {@link BaseEntityPermissionEvaluator} of each entity class, so the appropriate
+ * evaluator can be looked up without iterating (and resolving the generic type of) all
+ * registered evaluators on every permission check.
+ */
+@Component
+@Log4j2
+public class PermissionEvaluatorRegistry {
+
+    @Autowired
+    protected List<BaseEntityPermissionEvaluator<?>> permissionEvaluators;
+
+    private Map<Class<?>, BaseEntityPermissionEvaluator<?>> evaluatorsByClass = Map.of();
+
+    private Map<String, BaseEntityPermissionEvaluator<?>> evaluatorsByClassName = Map.of();
+
+    @PostConstruct
+    public void init() {
+        Map<Class<?>, BaseEntityPermissionEvaluator<?>> byClass = new HashMap<>();
+        Map<String, BaseEntityPermissionEvaluator<?>> byClassName = new HashMap<>();
+
+        for (BaseEntityPermissionEvaluator<?> permissionEvaluator : permissionEvaluators) {
+            Class<?> entityClass = permissionEvaluator.getEntityClassName();
+
+            if (entityClass == null) {
+                log.warn("Could not resolve the entity class of permission evaluator {}",
+                    permissionEvaluator.getClass().getSimpleName());
+                continue;
+            }
+
+            // keep the first evaluator if multiple evaluators are registered for the same class
+            byClass.putIfAbsent(entityClass, permissionEvaluator);
+            byClassName.putIfAbsent(entityClass.getCanonicalName(), permissionEvaluator);
+        }
+
+        evaluatorsByClass = Map.copyOf(byClass);
+        evaluatorsByClassName = Map.copyOf(byClassName);
+
+        log.debug("Registered {} permission evaluators", evaluatorsByClass.size());
+    }
+
+    /**
+     * Returns the permission evaluator registered for the given entity class.
+     *
+     * @param entityClass The entity class.
+     * @return The evaluator or an empty optional if there is no specific one.
+     */
+    public Optional<BaseEntityPermissionEvaluator<?>> findPermissionEvaluator(Class<?> entityClass) {
+        return Optional.ofNullable(evaluatorsByClass.get(entityClass));
+    }
+
+    /**
+     * Returns the permission evaluator registered for the given entity class.
+     *
+     * @param entityClassName The canonical name of the entity class.
+     * @return The evaluator or an empty optional if there is no specific one.
+     */
+    public Optional<BaseEntityPermissionEvaluator<?>> findPermissionEvaluator(String entityClassName) {
+        return Optional.ofNullable(evaluatorsByClassName.get(entityClassName));
+    }
+
+}
@@ -0,0 +1,103 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access.entity;
+
+import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the {@link BaseCrudRepository} of each entity class, so the repository for a target
+ * domain type can be looked up without inspecting the (proxied) repository interfaces on every
+ * permission check.
+ */
+@Component
+@Log4j2
+public class BaseCrudRepositoryRegistry {
+
+    @Autowired(required = false)
+    protected List<BaseCrudRepository> baseCrudRepositories;
+
+    private Map<Class<?>, BaseCrudRepository> repositoriesByClass = Map.of();
+
+    private Map<String, BaseCrudRepository> repositoriesByClassName = Map.of();
+
+    @PostConstruct
+    public void init() {
+        if (baseCrudRepositories == null) {
+            log.debug("No BaseCrudRepositories available.");
+            return;
+        }
+
+        Map<Class<?>, BaseCrudRepository> byClass = new HashMap<>();
+        Map<String, BaseCrudRepository> byClassName = new HashMap<>();
+
+        for (BaseCrudRepository repository : baseCrudRepositories) {
+            // currently we are always proxied due to the usage of the envers revision repository implementation
+            for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(
+                    repositoryInterface, BaseCrudRepository.class);
+
+                if (typeArguments == null) {
+                    continue;
+                }
+
+                // keep the first repository if multiple repositories are registered for the same class
+                byClass.putIfAbsent(typeArguments[0], repository);
+                byClassName.putIfAbsent(typeArguments[0].getCanonicalName().toLowerCase(), repository);
+            }
+        }
+
+        repositoriesByClass = Map.copyOf(byClass);
+        repositoriesByClassName = Map.copyOf(byClassName);
+
+        log.debug("Registered {} repositories", repositoriesByClass.size());
+    }
+
+    /**
+     * Returns the repository of the given entity class.
+     *
+     * @param entityClass The entity class.
+     * @return The repository or an empty optional if there is none.
+     */
+    public Optional<BaseCrudRepository> findRepository(Class<?> entityClass) {
+        return Optional.ofNullable(repositoriesByClass.get(entityClass));
+    }
+
+    /**
+     * Returns the repository of the given entity class.
+     *
+     * @param entityClassName The canonical name of the entity class (case-insensitive).
+     * @return The repository or an empty optional if there is none.
+     */
+    public Optional<BaseCrudRepository> findRepository(String entityClassName) {
+        if (entityClassName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(repositoriesByClassName.get(entityClassName.toLowerCase()));
+    }
+
+}
@@ -23,18 +23,21 @@ import de.terrestris.shogun.lib.model.Role;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.model.security.permission.*;
 import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import de.terrestris.shogun.lib.repository.specification.PermissionSpecification;
 import de.terrestris.shogun.lib.service.security.permission.*;
 import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
 import de.terrestris.shogun.lib.service.security.provider.RoleProviderService;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.Strings;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
-import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -72,11 +75,16 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
     private PublicInstancePermissionService publicInstancePermissionService;
 
     @Autowired
-    protected List<BaseCrudRepository> baseCrudRepositories;
+    protected BaseCrudRepositoryRegistry baseCrudRepositoryRegistry;
+
+    private Class<E> entityClass;
 
     @Override
     public Class<E> getEntityClassName() {
-        return (Class<E>) GenericTypeResolver.resolveTypeArgument(getClass(), BaseEntityPermissionEvaluator.class);
+        if (entityClass == null) {
+            entityClass = (Class<E>) GenericTypeResolver.resolveTypeArgument(getClass(), BaseEntityPermissionEvaluator.class);
+        }
+        return entityClass;
     }
 
     @Override
@@ -148,32 +156,13 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
     public boolean hasPermission(User user, Long entityId, String targetDomainType, PermissionType permission) {
         log.trace("About to find the appropriate repository for target domain {}.", targetDomainType);
 
-        if (baseCrudRepositories == null) {
-            log.trace("BaseCrudRepositories is null. Permission will be restricted.");
+        if (baseCrudRepositoryRegistry == null) {
+            log.trace("BaseCrudRepositoryRegistry is null. Permission will be restricted.");
             return false;
         }
 
         // Find the matching repository for entity with the provided target domain type
-        Optional<BaseCrudRepository> baseCrudRepository = baseCrudRepositories.stream()
-            .filter(repository -> {
-                // currently we are always proxied due to the usage of the envers revision repository implementation
-                // Todo: check if repository is proxied or not
-                Class<?>[] classes = AopProxyUtils.proxiedUserInterfaces(repository);
-                if (classes.length > 0) {
-                    return Arrays.stream(classes)
-                        .anyMatch(clazz -> {
-                            Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(
-                                clazz, BaseCrudRepository.class);
-                            if (typeArguments == null) {
-                                return false;
-                            } else {
-                                return typeArguments[0].getCanonicalName().equalsIgnoreCase(targetDomainType);
-                            }
-                        });
-                }
-                return false;
-            })
-            .findFirst();
+        Optional<BaseCrudRepository> baseCrudRepository = baseCrudRepositoryRegistry.findRepository(targetDomainType);
 
         if (baseCrudRepository.isEmpty()) {
             log.warn("No repository for class {} could be found. Permission will " +
@@ -258,9 +247,7 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
         if (permission.equals(PermissionType.CREATE) && entity.getId() == null) {
             rolePermissionCols = List.of(new PermissionCollection());
         } else {
-            rolePermissionCols = roles.stream()
-                .map(role -> roleInstancePermissionService.findPermissionCollectionFor(entity, role))
-                .toList();
+            rolePermissionCols = roleInstancePermissionService.findPermissionCollectionsFor(entity, roles);
         }
 
         return rolePermissionCols.stream().anyMatch(rolePermissionCol -> {
@@ -298,9 +285,8 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
     public boolean hasPermissionByRoleClassPermission(User user, BaseEntity entity, PermissionType permission) {
         List<Role> roles = roleProviderService.getRolesForUser(user);
 
-        List<PermissionCollection> rolePermissionCols = roles.stream()
-            .map(role -> roleClassPermissionService.findPermissionCollectionFor(entity, role))
-            .toList();
+        List<PermissionCollection> rolePermissionCols = roleClassPermissionService
+            .findPermissionCollectionsFor(entity.getClass(), roles);
 
         return rolePermissionCols.stream().anyMatch(rolePermissionCol -> {
             final Set<PermissionType> roleClassPermissions = rolePermissionCol.getPermissions();
@@ -326,8 +312,85 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
      */
     @Override
     public Page<E> findAll(User user, Pageable pageable, BaseCrudRepository<E, Long> repository, Class<E> baseEntityClass) {
+        ReadPermissionScope scope = getReadPermissionScope(user, baseEntityClass);
+
+        if (scope.isUnrestricted()) {
+            return repository.findAll(pageable);
+        }
+
+        if (scope.getGroupIds().isEmpty()) {
+            // user has no groups so only user instance permissions have to be checked
+            return repository.findAll(pageable, scope.getUserId(), scope.getRoleIds());
+        }
+
+        // check both user and group instance permissions
+        return repository.findAll(pageable, scope.getUserId(), scope.getGroupIds(), scope.getRoleIds());
+    }
+
+    /**
+     * Default <code>findAllAfter</code> implementation for keyset pagination. Uses the same simplifications as
+     * {@link #findAll(User, Pageable, BaseCrudRepository, Class)}, but instead of an offset the entities are
+     * selected by <code>id > after</code> which can be answered by the primary key index regardless of the
+     * position in the result set.
+     *
+     * @param user The authenticated user.
+     * @param after The ID of the last entity of the previous slice (use 0 to start from the beginning).
+     * @param limit The maximum number of entities to return.
+     * @param repository The base entity repository used to fetch the entities.
+     * @return The next entities ordered by their ID.
+     */
+    @Override
+    public List<E> findAllAfter(User user, Long after, int limit, BaseCrudRepository<E, Long> repository,
+            Class<E> baseEntityClass) {
+        ReadPermissionScope scope = getReadPermissionScope(user, baseEntityClass);
+        Pageable pageable = PageRequest.ofSize(limit);
+
+        if (scope.isUnrestricted()) {
+            return repository.findAllAfter(after, pageable);
+        }
+
+        if (scope.getGroupIds().isEmpty()) {
+            return repository.findAllAfter(after, pageable, scope.getUserId(), scope.getRoleIds());
+        }
+
+        return repository.findAllAfter(after, pageable, scope.getUserId(), scope.getGroupIds(), scope.getRoleIds());
+    }
+
+    /**
+     * Default <code>getReadSpecification</code> implementation. Uses the same simplifications as
+     * {@link #findAll(User, Pageable, BaseCrudRepository, Class)} and restricts the query via
+     * instance permission subqueries otherwise.
+     *
+     * @param user The authenticated user.
+     * @param baseEntityClass The class of the entities to read.
+     * @return The specification matching all readable entities.
+     */
+    @Override
+    public Specification<E> getReadSpecification(User user, Class<E> baseEntityClass) {
+        ReadPermissionScope scope = getReadPermissionScope(user, baseEntityClass);
+
+        if (scope.isUnrestricted()) {
+            return PermissionSpecification.unrestricted();
+        }
+
+        // users and groups can't be public, see hasPublicPermission()
+        boolean includePublic = !Group.class.isAssignableFrom(baseEntityClass) &&
+            !User.class.isAssignableFrom(baseEntityClass);
+
+        return PermissionSpecification.readableBy(includePublic, scope.getUserId(), scope.getGroupIds(),
+            scope.getRoleIds());
+    }
+
+    /**
+     * Determines which entities of the given class the user may read.
+     *
+     * @param user The authenticated user (may be null for anonymous access).
+     * @param baseEntityClass The class of the entities to read.
+     * @return The scope to restrict the queries to.
+     */
+    protected ReadPermissionScope getReadPermissionScope(User user, Class<E> baseEntityClass) {
         if (user == null) {
-            return repository.findAll(pageable, null, null);
+            return new ReadPermissionScope(false, null, List.of(), null);
         }
 
         // option A: user has role `ADMIN`.
@@ -339,7 +402,7 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
         );
 
         if (isAdmin) {
-            return repository.findAll(pageable);
+            return ReadPermissionScope.UNRESTRICTED;
         }
 
         // option B: user has permission through instance or group class permissions.
@@ -347,20 +410,17 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
         Optional<GroupClassPermission> groupClassPermission = groupClassPermissionService.findFor(baseEntityClass, user);
 
         if (containsReadPermission(userClassPermission.orElse(null), groupClassPermission.orElse(null))) {
-            return repository.findAll(pageable);
+            return ReadPermissionScope.UNRESTRICTED;
         }
 
         // option C: user has permission through role class permissions.
         List<Role> roles = roleProviderService.getRolesForUser(user);
 
-        List<RoleClassPermission> roleClassPermissions = roles.stream()
-            .map(role -> roleClassPermissionService.findFor(baseEntityClass, role))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .toList();
+        List<PermissionCollection> roleClassPermissionCols = roleClassPermissionService
+            .findPermissionCollectionsFor(baseEntityClass, roles);
 
-        if (containsReadPermission(roleClassPermissions.toArray(RoleClassPermission[]::new))) {
-            return repository.findAll(pageable);
+        if (roleClassPermissionCols.stream().anyMatch(this::grantsReadPermission)) {
+            return ReadPermissionScope.UNRESTRICTED;
         }
 
         List<Long> roleIds = roles.stream()
@@ -368,28 +428,24 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
             .toList();
 
         // option D: check instance permissions for each entity with a single query.
-        List<Group<GroupRepresentation>> userGroups = groupProviderService.getGroupsForUser();
-        if (userGroups.isEmpty()) {
-            // user has no groups so only user instance permissions have to be checked
-            return repository.findAll(pageable, user.getId(), roleIds);
-        } else {
-            // check both user and group instance permissions
-            List<Long> groupIds = userGroups.stream()
-                .map(BaseEntity::getId)
-                .toList();
-            return repository.findAll(pageable, user.getId(), groupIds, roleIds);
-        }
+        List<Long> groupIds = groupProviderService.getGroupsForUser().stream()
+            .map(BaseEntity::getId)
+            .toList();
+
+        return new ReadPermissionScope(false, user.getId(), groupIds, roleIds);
     }
 
     private boolean containsReadPermission(ClassPermission ...classPermissions) {
-        return Arrays.stream(classPermissions).anyMatch(classPermission -> {
-            if (classPermission == null) {
-                return false;
-            }
-            Set<PermissionType> permissions = classPermission.getPermission().getPermissions();
-            return permissions.contains(PermissionType.READ) ||
-                permissions.contains(PermissionType.ADMIN);
-        });
+        return Arrays.stream(classPermissions)
+            .filter(Objects::nonNull)
+            .map(ClassPermission::getPermission)
+            .anyMatch(this::grantsReadPermission);
+    }
+
+    private boolean grantsReadPermission(PermissionCollection permissionCollection) {
+        Set<PermissionType> permissions = permissionCollection.getPermissions();
+        return permissions.contains(PermissionType.READ) ||
+            permissions.contains(PermissionType.ADMIN);
     }
 
     protected boolean hasPublicPermission(E entity) {
@@ -407,13 +463,21 @@ public abstract class BaseEntityPermissionEvaluator<E extends BaseEntity> implem
      * @return The class.
      */
     public Class<? extends BaseEntity> getBaseEntityClass() {
-        Class<? extends BaseEntity>[] resolvedTypeArguments = (Class<? extends BaseEntity>[]) GenericTypeResolver.resolveTypeArguments(getClass(),
-            BaseEntityPermissionEvaluator.class);
+        // the type argument is resolved once only, see getEntityClassName()
+        return getEntityClassName();
+    }
 
-        if (resolvedTypeArguments != null && resolvedTypeArguments.length == 1) {
-            return resolvedTypeArguments[0];
-        } else {
-            return null;
-        }
+    /**
+     * The entities a user may read: either all of them (unrestricted) or those the user, one of the
+     * groups or one of the roles has an instance permission for (or which are public).
+     */
+    @Value
+    protected static class ReadPermissionScope {
+        protected static final ReadPermissionScope UNRESTRICTED = new ReadPermissionScope(true, null, List.of(), List.of());
+
+        boolean unrestricted;
+        Long userId;
+        List<Long> groupIds;
+        List<Long> roleIds;
     }
 }
@@ -17,10 +17,16 @@
 package de.terrestris.shogun.lib.security.access.entity;
 
 import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.repository.BaseCrudRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
 
 // https://insource.io/blog/articles/custom-authorization-with-spring-boot.html
 public interface EntityPermissionEvaluator<E> {
@@ -38,4 +44,48 @@ public interface EntityPermissionEvaluator<E> {
      * default implementation for {@link de.terrestris.shogun.lib.model.BaseEntity}.
      */
     Page<E> findAll(User user, Pageable pageable, BaseCrudRepository<E, Long> repository, Class<E> baseEntityClass);
+
+    /**
+     * Custom permission evaluators should override this method to check permissions for requests with keyset
+     * pagination in the database. See {@link BaseEntityPermissionEvaluator#findAllAfter(User, Long, int, BaseCrudRepository, Class)}
+     * for the implementation for {@link BaseEntity}.
+     *
+     * By default, the entities are loaded in slices ordered by ID and checked one by one via
+     * {@link #hasPermission(User, Object, PermissionType)} until the limit is reached.
+     */
+    default List<E> findAllAfter(User user, Long after, int limit, BaseCrudRepository<E, Long> repository,
+            Class<E> baseEntityClass) {
+        List<E> result = new ArrayList<>();
+        Long lastId = after;
+
+        while (result.size() < limit) {
+            List<E> candidates = repository.findAllAfter(lastId, PageRequest.ofSize(limit));
+
+            for (E candidate : candidates) {
+                if (result.size() < limit && hasPermission(user, candidate, PermissionType.READ)) {
+                    result.add(candidate);
+                }
+            }
+
+            if (candidates.size() < limit || !(candidates.getLast() instanceof BaseEntity lastEntity)) {
+                break;
+            }
+            lastId = lastEntity.getId();
+        }
+
+        return result;
+    }
+
+    /**
+     * Custom permission evaluators should override this method to check permissions for unpaged requests in the
+     * database. See {@link BaseEntityPermissionEvaluator#getReadSpecification(User, Class)} for the implementation
+     * for {@link BaseEntity}.
+     *
+     * @return The specification matching all readable entities or null if the permissions can't be checked by the
+     * database (the default). In this case, the loaded entities are checked one by one via
+     * {@link #hasPermission(User, Object, PermissionType)}.
+     */
+    default Specification<E> getReadSpecification(User user, Class<E> baseEntityClass) {
+        return null;
+    }
 }
@@ -23,6 +23,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class GroupPermissionEvaluator extends BaseEntityPermissionEvaluator<Group> {
 
@@ -35,4 +37,14 @@ public class GroupPermissionEvaluator extends BaseEntityPermissionEvaluator<Grou
 
         return groups;
     }
+
+    @Override
+    public List<Group> findAllAfter(User user, Long after, int limit, BaseCrudRepository<Group, Long> repository,
+        Class<Group> baseEntityClass) {
+        List<Group> groups = super.findAllAfter(user, after, limit, repository, baseEntityClass);
+
+        groups.forEach(u -> groupProviderService.setTransientRepresentations(u));
+
+        return groups;
+    }
 }
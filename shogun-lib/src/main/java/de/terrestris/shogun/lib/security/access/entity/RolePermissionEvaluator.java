@@ -25,6 +25,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class RolePermissionEvaluator extends BaseEntityPermissionEvaluator<Role> {
 
@@ -40,4 +42,14 @@ public class RolePermissionEvaluator extends BaseEntityPermissionEvaluator<Role>
 
         return roles;
     }
+
+    @Override
+    public List<Role> findAllAfter(User user, Long after, int limit, BaseCrudRepository<Role, Long> repository,
+        Class<Role> baseEntityClass) {
+        List<Role> roles = super.findAllAfter(user, after, limit, repository, baseEntityClass);
+
+        roles.forEach(u -> roleProviderService.setTransientRepresentations(u));
+
+        return roles;
+    }
 }
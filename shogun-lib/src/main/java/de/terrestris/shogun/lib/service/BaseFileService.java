@@ -18,6 +18,9 @@ package de.terrestris.shogun.lib.service;
 
 import de.terrestris.shogun.lib.model.File;
 import de.terrestris.shogun.lib.repository.BaseFileRepository;
+import de.terrestris.shogun.lib.storage.BlobStore;
+import de.terrestris.shogun.lib.storage.BlobStoreResource;
+import de.terrestris.shogun.lib.util.FileUtil;
 import de.terrestris.shogun.properties.UploadProperties;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
@@ -30,13 +33,22 @@ import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tomcat.util.http.fileupload.InvalidFileNameException;
 import org.apache.tomcat.util.http.fileupload.impl.InvalidContentTypeException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.PatternMatchUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -48,6 +60,9 @@ public abstract class BaseFileService<T extends BaseFileRepository<S, Long> & Jp
     @Autowired
     private UploadProperties uploadProperties;
 
+    @Autowired(required = false)
+    private BlobStore blobStore;
+
     @PostAuthorize("hasRole('ROLE_ADMIN') or hasPermission(returnObject.orElse(null), 'READ')")
     public Optional<S> findOne(UUID fileUuid) {
         return repository.findByFileUuid(fileUuid);
@@ -55,6 +70,58 @@ public abstract class BaseFileService<T extends BaseFileRepository<S, Long> & Jp
 
     public abstract S create(MultipartFile uploadFile, Boolean writeToSystem) throws Exception;
 
+    @Override
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasPermission(#entity, 'DELETE')")
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public void delete(S entity) {
+        String blobKey = entity.getBlobKey();
+
+        super.delete(entity);
+
+        if (blobKey != null && blobStore != null) {
+            deleteBlobAfterCommit(blobKey);
+        }
+    }
+
+    /**
+     * Sets the content of the given file. If a {@link BlobStore} is configured, the content is
+     * written to the store and only its key is set on the file, otherwise the content is stored
+     * in the database. The written blob is deleted again if the current transaction is rolled back.
+     * Callers that don't run in a transaction have to call {@link #deleteBlobOfUnsavedFile} if the
+     * file could not be saved.
+     *
+     * @param file The file entity.
+     * @param content The content.
+     * @throws IOException If the content could not be written to the blob store.
+     */
+    protected void setFileContent(S file, byte[] content) throws IOException {
+        file.setContentHash(FileUtil.getContentHash(content));
+        file.setContentLength((long) content.length);
+
+        if (blobStore != null) {
+            String blobKey = file.getFileUuid().toString();
+            blobStore.put(blobKey, content);
+            deleteBlobAfterRollback(blobKey);
+            file.setBlobKey(blobKey);
+            file.setFile(null);
+        } else {
+            file.setFile(content);
+        }
+    }
+
+    /**
+     * Deletes the blob written by {@link #setFileContent} if the given file could not be saved. The
+     * blob is deleted right away, as the file referencing it won't be committed in any case.
+     *
+     * @param file The file entity that could not be saved.
+     */
+    protected void deleteBlobOfUnsavedFile(S file) {
+        if (file.getBlobKey() != null && blobStore != null) {
+            log.debug("File could not be saved, deleting the orphaned blob {}", file.getBlobKey());
+            deleteBlob(file.getBlobKey());
+        }
+    }
+
     public void isValid(MultipartFile file) throws Exception {
         if (file == null) {
             throw new Exception("Given file is null.");
@@ -104,6 +171,12 @@ public abstract class BaseFileService<T extends BaseFileRepository<S, Long> & Jp
      * @throws IOException
      */
     public byte[] getFileData(S file) throws IOException {
+        if (file.getBlobKey() != null) {
+            log.trace("… load file from blob store");
+            try (InputStream in = getBlobStore().get(file.getBlobKey())) {
+                return in.readAllBytes();
+            }
+        }
         if (file.getPath() == null) {
             log.trace("… load file from database");
             return file.getFile();
@@ -118,4 +191,75 @@ public abstract class BaseFileService<T extends BaseFileRepository<S, Long> & Jp
         }
     }
 
+    /**
+     * Get the file data as {@link Resource}. Depends on storage strategy (DB vs. disk), files
+     * stored on disk will be streamed from there and not loaded into memory.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public Resource getFileResource(S file) throws IOException {
+        if (file.getBlobKey() != null) {
+            log.trace("… stream file from blob store");
+            return new BlobStoreResource(getBlobStore(), file.getBlobKey(), file.getContentLength());
+        }
+        if (file.getPath() == null) {
+            log.trace("… load file from database");
+            return new ByteArrayResource(file.getFile() == null ? new byte[0] : file.getFile());
+        }
+        java.io.File dataFile = new java.io.File(uploadProperties.getBasePath() + "/" + file.getPath());
+        if (dataFile.exists()) {
+            log.trace("… stream file from disk");
+            return new FileSystemResource(dataFile);
+        } else {
+            log.error("Could not load File {} from disk", file.getId());
+            throw new FileNotFoundException("Could not load File " + file.getId() + " from disk");
+        }
+    }
+
+    private BlobStore getBlobStore() throws IOException {
+        if (blobStore == null) {
+            throw new IOException("The file content is stored in a blob store, but no blob store is configured. " +
+                "Please check upload.blob-store in your application.yml");
+        }
+        return blobStore;
+    }
+
+    private void deleteBlobAfterCommit(String blobKey) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteBlob(blobKey);
+                }
+            });
+        } else {
+            deleteBlob(blobKey);
+        }
+    }
+
+    private void deleteBlobAfterRollback(String blobKey) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        log.debug("Transaction has been rolled back, deleting the orphaned blob {}", blobKey);
+                        deleteBlob(blobKey);
+                    }
+                }
+            });
+        }
+    }
+
+    private void deleteBlob(String blobKey) {
+        try {
+            blobStore.delete(blobKey);
+        } catch (IOException e) {
+            log.warn("Could not delete blob {}: {}", blobKey, e.getMessage());
+            log.trace("Full stack trace: ", e);
+        }
+    }
+
 }
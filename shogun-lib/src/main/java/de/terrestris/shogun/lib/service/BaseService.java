@@ -21,9 +21,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
 import de.terrestris.shogun.lib.enumeration.PermissionCollectionType;
+import de.terrestris.shogun.lib.enumeration.PermissionType;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import de.terrestris.shogun.lib.repository.specification.PermissionSpecification;
+import de.terrestris.shogun.lib.security.access.PermissionEvaluatorRegistry;
 import de.terrestris.shogun.lib.security.access.entity.BaseEntityPermissionEvaluator;
 import de.terrestris.shogun.lib.security.access.entity.DefaultPermissionEvaluator;
 import de.terrestris.shogun.lib.service.security.permission.GroupInstancePermissionService;
@@ -31,6 +34,7 @@ import de.terrestris.shogun.lib.service.security.permission.RoleInstancePermissi
 import de.terrestris.shogun.lib.service.security.permission.UserInstancePermissionService;
 import de.terrestris.shogun.lib.service.security.provider.UserProviderService;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.Strings;
 import org.hibernate.envers.AuditReader;
 import org.hibernate.envers.query.AuditEntity;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,16 +47,26 @@ import org.springframework.data.history.Revisions;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-
+import java.util.stream.Collectors;
+
+/**
+ * The base service for all entities.
+ * <p>
+ * All reads are read-only transactions except for {@link #findAll(Pageable)}: the current user is looked up
+ * by {@link #getCurrentUser()}, which never creates it, while {@link UserProviderService#getUserBySession()}
+ * (as used by {@link #findAll(Pageable)}) might create the currently logged-in user if it's not available already.
+ */
 @Log4j2
 public abstract class BaseService<T extends BaseCrudRepository<S, Long> & JpaSpecificationExecutor<S>, S extends BaseEntity> {
 
@@ -83,15 +97,22 @@ public abstract class BaseService<T extends BaseCrudRepository<S, Long> & JpaSpe
     protected UserProviderService userProviderService;
 
     @Autowired
-    protected List<BaseEntityPermissionEvaluator<?>> permissionEvaluators;
+    protected PermissionEvaluatorRegistry permissionEvaluatorRegistry;
 
     @Autowired
     protected DefaultPermissionEvaluator defaultPermissionEvaluator;
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
+    private Class<? extends BaseEntity> baseEntityClass;
+
+    /**
+     * Returns all entities the current user may read. The permissions are checked by the database,
+     * see {@link #getReadSpecification()}.
+     *
+     * @return The readable entities.
+     */
     @Transactional(readOnly = true)
     public List<S> findAll() {
-        return (List<S>) repository.findAll();
+        return findAllReadable(null);
     }
 
     // It's intentional to not have this method annotated with readOnly = true since getUserBySession might create
@@ -105,15 +126,41 @@ public abstract class BaseService<T extends BaseCrudRepository<S, Long> & JpaSpe
 
         // todo: can this be simplified? autowiring BaseEntityPermissionEvaluator did not work.
         BaseEntityPermissionEvaluator entityPermissionEvaluator =
-            this.getPermissionEvaluatorForClass(entityClass.getCanonicalName());
+            this.getPermissionEvaluatorForClass(entityClass);
 
         return entityPermissionEvaluator.findAll(userOpt.orElse(null), pageable, repository, entityClass);
     }
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
+    /**
+     * Returns the next entities after the entity with the given ID ordered by ID (keyset pagination).
+     *
+     * @param after The ID of the last entity of the previous slice (use 0 to start from the beginning).
+     * @param limit The maximum number of entities to return.
+     * @return The readable entities with an ID greater than <code>after</code>.
+     */
+    @Transactional(readOnly = true)
+    public List<S> findAllAfter(Long after, int limit) {
+        // note: security check is done in permission evaluator
+        Optional<User> userOpt = getCurrentUser();
+
+        Class<? extends BaseEntity> entityClass = this.getBaseEntityClass();
+
+        BaseEntityPermissionEvaluator entityPermissionEvaluator =
+            this.getPermissionEvaluatorForClass(entityClass);
+
+        return entityPermissionEvaluator.findAllAfter(userOpt.orElse(null), after, limit, repository, entityClass);
+    }
+
+    /**
+     * Returns all entities matching the given specification the current user may read. The permissions
+     * are checked by the database, see {@link #getReadSpecification()}.
+     *
+     * @param specification The specification to filter the entities by (may be null).
+     * @return The matching and readable entities.
+     */
     @Transactional(readOnly = true)
     public List<S> findAllBy(Specification specification) {
-        return (List<S>) repository.findAll(specification);
+        return findAllReadable(specification);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -128,10 +175,20 @@ public abstract class BaseService<T extends BaseCrudRepository<S, Long> & JpaSpe
         return repository.findById(id);
     }
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
+    /**
+     * Returns the entities with the given IDs the current user may read. The permissions are checked
+     * by the database for all IDs at once, see {@link #getReadSpecification()}.
+     *
+     * @param id The IDs of the entities.
+     * @return The readable entities (in no particular order).
+     */
     @Transactional(readOnly = true)
     public List<S> findAllById(List<Long> id) {
-        return (List<S>) repository.findAllById(id);
+        if (id == null || id.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return findAllReadable((root, query, criteriaBuilder) -> root.get("id").in(id));
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasPermission(#entity, 'READ')")
@@ -235,24 +292,108 @@ public abstract class BaseService<T extends BaseCrudRepository<S, Long> & JpaSpe
      * @return The class.
      */
     public Class<? extends BaseEntity> getBaseEntityClass() {
+        if (baseEntityClass != null) {
+            return baseEntityClass;
+        }
+
         Class<? extends BaseEntity>[] resolvedTypeArguments = (Class<? extends BaseEntity>[]) GenericTypeResolver.resolveTypeArguments(
             getClass(), BaseService.class
         );
 
         if (resolvedTypeArguments != null && resolvedTypeArguments.length == 2) {
-            return resolvedTypeArguments[1];
+            baseEntityClass = resolvedTypeArguments[1];
+            return baseEntityClass;
         } else {
             return null;
         }
     }
 
+    /**
+     * Returns the specification restricting queries to the entities the current user may read (as
+     * determined by the permission evaluator of the entity class). This replaces filtering the
+     * (complete) result with <code>@PostFilter</code> by a single query.
+     *
+     * @return The permission specification.
+     */
+    protected Specification<S> getReadSpecification() {
+        Optional<User> userOpt = getCurrentUser();
+
+        Class<? extends BaseEntity> entityClass = this.getBaseEntityClass();
+
+        BaseEntityPermissionEvaluator entityPermissionEvaluator =
+            this.getPermissionEvaluatorForClass(entityClass);
+
+        return entityPermissionEvaluator.getReadSpecification(userOpt.orElse(null), entityClass);
+    }
+
+    /**
+     * Combines the given specification with the {@link #getReadSpecification() permission specification}.
+     *
+     * @param specification The specification (may be null).
+     * @return The combined specification or null if the permissions can't be checked by the database.
+     */
+    protected Specification<S> getReadSpecification(Specification<S> specification) {
+        Specification<S> readSpecification = getReadSpecification();
+
+        if (readSpecification == null || specification == null) {
+            return readSpecification;
+        }
+
+        return readSpecification.and(specification);
+    }
+
+    /**
+     * Returns the entities matching the given specification the current user may read. If the permission evaluator
+     * can't check the permissions by the database (see
+     * {@link de.terrestris.shogun.lib.security.access.entity.EntityPermissionEvaluator#getReadSpecification(User, Class)}),
+     * the loaded entities are checked one by one instead.
+     *
+     * @param specification The specification (may be null).
+     * @return The matching and readable entities.
+     */
+    protected List<S> findAllReadable(Specification<S> specification) {
+        Specification<S> readSpecification = getReadSpecification(specification);
+
+        if (readSpecification != null) {
+            return repository.findAll(readSpecification);
+        }
+
+        List<S> entities = repository.findAll(specification == null ? PermissionSpecification.<S>unrestricted() :
+            specification);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(grantedAuthority -> Strings.CI.equals(grantedAuthority.getAuthority(), "ROLE_ADMIN"))) {
+            return entities;
+        }
+
+        User user = getCurrentUser().orElse(null);
+        BaseEntityPermissionEvaluator entityPermissionEvaluator =
+            this.getPermissionEvaluatorForClass(this.getBaseEntityClass());
+
+        return entities.stream()
+            .filter(entity -> entityPermissionEvaluator.hasPermission(user, entity, PermissionType.READ))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the currently logged-in user as stored in the database. Unlike
+     * {@link UserProviderService#getUserBySession()} this never creates the user, so it can be used by
+     * read-only transactions.
+     *
+     * @return The current user or an empty optional if the user isn't logged in (or not yet stored).
+     */
+    protected Optional<User> getCurrentUser() {
+        return userProviderService.getUserFromAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     protected BaseEntityPermissionEvaluator getPermissionEvaluatorForClass(String persistentObjectClass) {
-        BaseEntityPermissionEvaluator entityPermissionEvaluator = permissionEvaluators.stream()
-            .filter(permissionEvaluator -> persistentObjectClass.equals(
-                permissionEvaluator.getEntityClassName().getCanonicalName()))
-            .findAny()
+        return permissionEvaluatorRegistry.findPermissionEvaluator(persistentObjectClass)
             .orElse(defaultPermissionEvaluator);
+    }
 
-        return entityPermissionEvaluator;
+    protected BaseEntityPermissionEvaluator getPermissionEvaluatorForClass(Class<?> persistentObjectClass) {
+        return permissionEvaluatorRegistry.findPermissionEvaluator(persistentObjectClass)
+            .orElse(defaultPermissionEvaluator);
     }
 }
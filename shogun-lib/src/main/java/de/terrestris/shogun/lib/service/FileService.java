@@ -55,14 +55,17 @@ public class FileService extends BaseFileService<FileRepository, File> {
         byte[] fileByteArray = FileUtil.fileToByteArray(uploadFile);
 
         File file = new File();
-        file.setFile(fileByteArray);
+        setFileContent(file, fileByteArray);
         file.setFileType(uploadFile.getContentType());
         file.setFileName(uploadFile.getOriginalFilename());
         file.setActive(true);
 
-        File savedFile = this.create(file);
-
-        return savedFile;
+        try {
+            return this.create(file);
+        } catch (Exception e) {
+            deleteBlobOfUnsavedFile(file);
+            throw e;
+        }
     }
 
     /**
@@ -88,8 +91,11 @@ public class FileService extends BaseFileService<FileRepository, File> {
             throw new Exception("Could not upload file. fileName is null.");
         }
 
+        byte[] fileByteArray = FileUtil.fileToByteArray(uploadFile);
         File file = new File();
         file.setFileType(uploadFile.getContentType());
+        file.setContentHash(FileUtil.getContentHash(fileByteArray));
+        file.setContentLength((long) fileByteArray.length);
         file.setFileName(fileName);
         file.setActive(true);
 
@@ -103,7 +109,6 @@ public class FileService extends BaseFileService<FileRepository, File> {
         fileDirectory.mkdirs();
 
         // Write multipart file data to target directory
-        byte[] fileByteArray = FileUtil.fileToByteArray(uploadFile);
         java.io.File outFile = new java.io.File(fileDirectory, fileName);
         InputStream in = new ByteArrayInputStream(fileByteArray);
 
@@ -44,11 +44,10 @@ public class GroupService extends BaseService<GroupRepository, Group> {
     @Autowired
     GroupClassPermissionService groupClassPermissionService;
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<Group> findAll() {
-        List<Group> groups = repository.findAll();
+        List<Group> groups = super.findAll();
 
         for (Group group : groups) {
             groupProviderService.setTransientRepresentations(group);
@@ -57,11 +56,10 @@ public class GroupService extends BaseService<GroupRepository, Group> {
         return groups;
     }
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<Group> findAllBy(Specification specification) {
-        List<Group> groups = (List<Group>) repository.findAll(specification);
+        List<Group> groups = super.findAllBy(specification);
 
         for (Group group : groups) {
             groupProviderService.setTransientRepresentations(group);
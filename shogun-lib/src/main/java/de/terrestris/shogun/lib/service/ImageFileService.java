@@ -49,23 +49,28 @@ public class ImageFileService extends BaseFileService<ImageFileRepository, Image
         byte[] fileByteArray = FileUtil.fileToByteArray(uploadFile);
 
         ImageFile file = new ImageFile();
-        file.setFile(fileByteArray);
+        setFileContent(file, fileByteArray);
         file.setFileType(uploadFile.getContentType());
         file.setFileName(uploadFile.getOriginalFilename());
         file.setActive(true);
 
-        Dimension imageDimensions = ImageFileUtil.getImageDimensions(uploadFile);
-        if (imageDimensions != null) {
-            int thumbnailSize = uploadProperties.getImage().getThumbnailSize();
-            file.setThumbnail(ImageFileUtil.getScaledImage(uploadFile, imageDimensions, thumbnailSize));
-            file.setWidth(imageDimensions.width);
-            file.setHeight(imageDimensions.height);
-        } else {
-            log.warn("Could not detect the dimensions of the image. Neither width, height " +
-                "nor the thumbnail can be set.");
+        try {
+            Dimension imageDimensions = ImageFileUtil.getImageDimensions(uploadFile);
+            if (imageDimensions != null) {
+                int thumbnailSize = uploadProperties.getImage().getThumbnailSize();
+                file.setThumbnail(ImageFileUtil.getScaledImage(uploadFile, imageDimensions, thumbnailSize));
+                file.setWidth(imageDimensions.width);
+                file.setHeight(imageDimensions.height);
+            } else {
+                log.warn("Could not detect the dimensions of the image. Neither width, height " +
+                    "nor the thumbnail can be set.");
+            }
+
+            return this.create(file);
+        } catch (Exception e) {
+            deleteBlobOfUnsavedFile(file);
+            throw e;
         }
-
-        return this.create(file);
     }
 
     @Override
@@ -86,6 +91,8 @@ public class ImageFileService extends BaseFileService<ImageFileRepository, Image
         byte[] fileByteArray = FileUtil.fileToByteArray(uploadFile);
         ImageFile file = new ImageFile();
         file.setFileType(uploadFile.getContentType());
+        file.setContentHash(FileUtil.getContentHash(fileByteArray));
+        file.setContentLength((long) fileByteArray.length);
         file.setFileName(uploadFile.getOriginalFilename());
         file.setActive(true);
 
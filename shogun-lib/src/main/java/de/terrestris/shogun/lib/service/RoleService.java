@@ -24,12 +24,13 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,11 +44,10 @@ public class RoleService extends BaseService<RoleRepository, Role> {
     @Autowired
     RoleClassPermissionService roleClassPermissionService;
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<Role> findAll() {
-        List<Role> roles = repository.findAll();
+        List<Role> roles = super.findAll();
 
         for (Role role : roles) {
             roleProviderService.setTransientRepresentations(role);
@@ -56,11 +56,10 @@ public class RoleService extends BaseService<RoleRepository, Role> {
         return roles;
     }
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<Role> findAllBy(Specification specification) {
-        List<Role> roles = (List<Role>) repository.findAll(specification);
+        List<Role> roles = super.findAllBy(specification);
 
         for (Role role : roles) {
             roleProviderService.setTransientRepresentations(role);
@@ -82,6 +81,22 @@ public class RoleService extends BaseService<RoleRepository, Role> {
         return role;
     }
 
+    /**
+     * Returns the roles with the given auth provider IDs the current user may read.
+     *
+     * @param authProviderIds The auth provider IDs (e.g. Keycloak IDs).
+     * @return The readable roles (in no particular order).
+     */
+    @Transactional(readOnly = true)
+    public List<Role> findAllByAuthProviderIds(Collection<String> authProviderIds) {
+        if (authProviderIds == null || authProviderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return findAllBy((Specification<Role>) (root, query, criteriaBuilder) ->
+            root.get("authProviderId").in(authProviderIds));
+    }
+
     @PostAuthorize("hasRole('ROLE_ADMIN') or hasPermission(returnObject.orElse(null), 'READ')")
     @Transactional(readOnly = true)
     public Optional<Role> findByKeyCloakId(String keycloakId) {
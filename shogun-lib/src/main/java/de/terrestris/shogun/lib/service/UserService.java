@@ -23,12 +23,13 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,11 +40,10 @@ public class UserService extends BaseService<UserRepository, User> {
     @Autowired
     UserClassPermissionService userClassPermissionService;
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<User> findAll() {
-        List<User> users = repository.findAll();
+        List<User> users = super.findAll();
 
         for (User user : users) {
             userProviderService.setTransientRepresentations(user);
@@ -52,11 +52,10 @@ public class UserService extends BaseService<UserRepository, User> {
         return users;
     }
 
-    @PostFilter("hasRole('ROLE_ADMIN') or hasPermission(filterObject, 'READ')")
     @Transactional(readOnly = true)
     @Override
     public List<User> findAllBy(Specification specification) {
-        List<User> users = (List<User>) repository.findAll(specification);
+        List<User> users = super.findAllBy(specification);
 
         for (User user : users) {
             userProviderService.setTransientRepresentations(user);
@@ -78,6 +77,22 @@ public class UserService extends BaseService<UserRepository, User> {
         return user;
     }
 
+    /**
+     * Returns the users with the given auth provider IDs the current user may read.
+     *
+     * @param authProviderIds The auth provider IDs (e.g. Keycloak IDs).
+     * @return The readable users (in no particular order).
+     */
+    @Transactional(readOnly = true)
+    public List<User> findAllByAuthProviderIds(Collection<String> authProviderIds) {
+        if (authProviderIds == null || authProviderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return findAllBy((Specification<User>) (root, query, criteriaBuilder) ->
+            root.get("authProviderId").in(authProviderIds));
+    }
+
     @PostAuthorize("hasRole('ROLE_ADMIN') or hasPermission(returnObject.orElse(null), 'READ')")
     @Transactional(readOnly = true)
     public Optional<User> findByKeyCloakId(String keycloakId) {
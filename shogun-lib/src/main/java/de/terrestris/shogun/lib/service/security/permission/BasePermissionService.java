@@ -17,16 +17,51 @@
  */
 package de.terrestris.shogun.lib.service.security.permission;
 
+import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.security.permission.BasePermission;
 import de.terrestris.shogun.lib.repository.security.permission.BasePermissionRepository;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 @Log4j2
 public abstract class BasePermissionService<T extends BasePermissionRepository<S, Long> & JpaSpecificationExecutor<S>, S extends BasePermission> {
 
     @Autowired
     protected T repository;
 
+    /**
+     * Sets the auth provider representations of the principals (e.g. the groups) of the given permissions.
+     * Every principal is resolved only once, permissions of the same principal share its representation.
+     *
+     * @param permissions The permissions.
+     * @param getPrincipal Returns the principal of a permission.
+     * @param setTransientRepresentations Resolves the representation of a principal.
+     * @param copyRepresentation Copies the representation of an already resolved principal (second argument)
+     *                           to another instance of the same principal (first argument).
+     */
+    protected <E extends BaseEntity> void setAuthProviderRepresentations(List<S> permissions,
+            Function<S, E> getPrincipal, Consumer<E> setTransientRepresentations,
+            BiConsumer<E, E> copyRepresentation) {
+        Map<Long, E> resolvedPrincipals = new HashMap<>();
+
+        permissions.forEach(permission -> {
+            E principal = getPrincipal.apply(permission);
+            E resolvedPrincipal = resolvedPrincipals.putIfAbsent(principal.getId(), principal);
+
+            if (resolvedPrincipal == null) {
+                setTransientRepresentations.accept(principal);
+            } else if (resolvedPrincipal != principal) {
+                copyRepresentation.accept(principal, resolvedPrincipal);
+            }
+        });
+    }
+
 }
@@ -0,0 +1,131 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.service.security.permission;
+
+import de.terrestris.shogun.lib.enumeration.BulkPermissionOperation;
+import de.terrestris.shogun.lib.enumeration.PermissionCollectionType;
+import de.terrestris.shogun.lib.model.BaseEntity;
+import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.model.Role;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.security.access.PermissionDecisionCache;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Changes the user, group and role instance permissions of many entities at once.
+ */
+@Log4j2
+@Service
+public class BulkInstancePermissionService {
+
+    @Autowired
+    protected UserInstancePermissionService userInstancePermissionService;
+
+    @Autowired
+    protected GroupInstancePermissionService groupInstancePermissionService;
+
+    @Autowired
+    protected RoleInstancePermissionService roleInstancePermissionService;
+
+    @Autowired
+    protected PermissionDecisionCache permissionDecisionCache;
+
+    /**
+     * Applies the given operation to the instance permissions of the given entities and
+     * principals in a single transaction. Entities the current user is not allowed to update
+     * (and for {@link BulkPermissionOperation#REVOKE} and {@link BulkPermissionOperation#REPLACE}
+     * to delete) are skipped.
+     *
+     * @param operation                The operation to apply.
+     * @param persistedEntityList      The entities to change the permissions for.
+     * @param users                    The users to change the permissions for (null to skip users).
+     * @param groups                   The groups to change the permissions for (null to skip groups).
+     * @param roles                    The roles to change the permissions for (null to skip roles).
+     * @param permissionCollectionType The permission collection type to set (ignored for REVOKE).
+     */
+    @Transactional
+    @PreFilter(
+        filterTarget = "persistedEntityList",
+        value = "hasRole('ROLE_ADMIN') or (hasPermission(filterObject, 'UPDATE') and " +
+            "(#operation.name() == 'GRANT' or hasPermission(filterObject, 'DELETE')))"
+    )
+    public void apply(
+        BulkPermissionOperation operation,
+        List<? extends BaseEntity> persistedEntityList,
+        List<User> users,
+        List<Group> groups,
+        List<Role> roles,
+        PermissionCollectionType permissionCollectionType
+    ) {
+        log.debug("Applying bulk permission operation {} to {} entities", operation, persistedEntityList.size());
+
+        if (persistedEntityList.isEmpty()) {
+            return;
+        }
+
+        switch (operation) {
+            case GRANT -> {
+                if (users != null) {
+                    userInstancePermissionService.setPermission(persistedEntityList, users, permissionCollectionType);
+                }
+                if (groups != null) {
+                    groupInstancePermissionService.setPermission(persistedEntityList, groups, permissionCollectionType);
+                }
+                if (roles != null) {
+                    roleInstancePermissionService.setPermission(persistedEntityList, roles, permissionCollectionType);
+                }
+            }
+            case REVOKE -> {
+                if (users != null) {
+                    userInstancePermissionService.deleteFor(persistedEntityList, users);
+                }
+                if (groups != null) {
+                    groupInstancePermissionService.deleteFor(persistedEntityList, groups);
+                }
+                if (roles != null) {
+                    roleInstancePermissionService.deleteFor(persistedEntityList, roles);
+                }
+            }
+            case REPLACE -> {
+                if (users != null) {
+                    userInstancePermissionService.deleteAllFor(persistedEntityList);
+                    userInstancePermissionService.setPermission(persistedEntityList, users, permissionCollectionType);
+                }
+                if (groups != null) {
+                    groupInstancePermissionService.deleteAllFor(persistedEntityList);
+                    groupInstancePermissionService.setPermission(persistedEntityList, groups, permissionCollectionType);
+                }
+                if (roles != null) {
+                    roleInstancePermissionService.deleteAllFor(persistedEntityList);
+                    roleInstancePermissionService.setPermission(persistedEntityList, roles, permissionCollectionType);
+                }
+            }
+        }
+
+        // The entity listeners only fire once the changes are flushed, so the cached decisions are dropped here
+        // already (and again after the commit, other requests might cache the old permissions until then). The
+        // permissions are deleted one by one, so Envers audits the deletions of REVOKE and REPLACE as well.
+        permissionDecisionCache.invalidateAfterCommit();
+    }
+
+}
@@ -31,8 +31,13 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -85,16 +90,9 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @return The (optional) permission.
      */
     public Optional<GroupClassPermission> findFor(BaseEntity entity, Group group) {
-        String className = entity.getClass().getCanonicalName();
+        Optional<GroupClassPermission> permission = findPermission(entity.getClass(), group);
 
-        log.trace("Getting all group class permissions for group with Keycloak ID {} and " +
-            "entity class {}", group.getAuthProviderId(), className);
-
-        Optional<GroupClassPermission> permission = repository.findByGroupIdAndClassName(group.getId(), className);
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
+        permission.ifPresent(this::setAuthProviderRepresentation);
 
         return permission;
     }
@@ -107,23 +105,18 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @return The (optional) permission.
      */
     public Optional<GroupClassPermission> findFor(Class<? extends BaseEntity> clazz, Group group) {
-        String className = clazz.getCanonicalName();
+        Optional<GroupClassPermission> permission = findPermission(clazz, group);
 
-        log.trace("Getting all group class permissions for group with Keycloak ID {} and " +
-            "entity class {}", group.getAuthProviderId(), className);
-
-        Optional<GroupClassPermission> permission = repository.findByGroupIdAndClassName(group.getId(), className);
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
+        permission.ifPresent(this::setAuthProviderRepresentation);
 
         return permission;
     }
 
     /**
      * Returns the {@link GroupClassPermission} for the given query arguments. Hereby
-     * all groups of the given user will be considered.
+     * all groups of the given user will be considered and queried at once. If the user
+     * has permissions through multiple groups, the one of the first group (in the order
+     * given by the auth provider) will be returned.
      *
      * @param clazz The class to find the permission for.
      * @param user  The user to find the permission for.
@@ -137,23 +130,29 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
 
         // Get all groups of the user from Keycloak
         List<Group> groups = groupProviderService.findByUser(user);
-        Optional<GroupClassPermission> gcp = Optional.empty();
-        if (groups == null) {
-            return gcp;
+
+        if (groups == null || groups.isEmpty()) {
+            return Optional.empty();
         }
 
-        for (Group g : groups) {
-            Optional<GroupClassPermission> permissionsForGroup = repository
-                .findByGroupIdAndClassName(g.getId(), className);
+        Map<Long, Group> groupsById = groups.stream()
+            .collect(Collectors.toMap(Group::getId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
 
-            if (permissionsForGroup.isPresent()) {
-                gcp = permissionsForGroup;
-                setAuthProviderRepresentation(gcp.get());
-                break;
-            }
-        }
+        Map<Long, GroupClassPermission> permissionsByGroupId = repository
+            .findByGroupIdInAndClassName(groupsById.keySet(), className)
+            .stream()
+            .collect(Collectors.toMap(gcp -> gcp.getGroup().getId(), Function.identity(), (first, second) -> first));
+
+        Optional<GroupClassPermission> permission = groupsById.keySet().stream()
+            .map(permissionsByGroupId::get)
+            .filter(Objects::nonNull)
+            .findFirst();
 
-        return gcp;
+        // The groups of the user already contain their representation, no need to request it again
+        permission.ifPresent(gcp -> gcp.getGroup().setProviderDetails(
+            groupsById.get(gcp.getGroup().getId()).getProviderDetails()));
+
+        return permission;
     }
 
     /**
@@ -166,6 +165,40 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @return The (optional) permission.
      */
     public Optional<GroupClassPermission> findFor(BaseEntity entity, Group group, User user) {
+        Optional<GroupClassPermission> permission = findPermission(entity, group, user);
+
+        permission.ifPresent(this::setAuthProviderRepresentation);
+
+        return permission;
+    }
+
+    /**
+     * Returns the {@link GroupClassPermission} for the given class and group without
+     * resolving the representation of the group in the auth provider.
+     *
+     * @param clazz The class to find the permission for.
+     * @param group The group to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<GroupClassPermission> findPermission(Class<? extends BaseEntity> clazz, Group group) {
+        String className = clazz.getCanonicalName();
+
+        log.trace("Getting all group class permissions for group with Keycloak ID {} and " +
+            "entity class {}", group.getAuthProviderId(), className);
+
+        return repository.findByGroupIdAndClassName(group.getId(), className);
+    }
+
+    /**
+     * Returns the {@link GroupClassPermission} for the given entity, group and user without
+     * resolving the representation of the group in the auth provider.
+     *
+     * @param entity The entity to find the permission for.
+     * @param group  The group to find the permission for.
+     * @param user   The user to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<GroupClassPermission> findPermission(BaseEntity entity, Group group, User user) {
         log.trace("Getting all group class permissions for user with Keycloak ID {} and " +
                 "entity with ID {} in the context of group with Keycloak ID {}", user.getAuthProviderId(),
             entity.getId(), group.getAuthProviderId());
@@ -179,13 +212,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
             return Optional.empty();
         }
 
-        Optional<GroupClassPermission> permission = repository.findByGroupIdAndClassName(group.getId(), entity.getClass().getCanonicalName());
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
-
-        return permission;
+        return repository.findByGroupIdAndClassName(group.getId(), entity.getClass().getCanonicalName());
     }
 
     /**
@@ -196,7 +223,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @return The collection (may be empty).
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Group group) {
-        Optional<GroupClassPermission> groupClassPermission = this.findFor(entity, group);
+        Optional<GroupClassPermission> groupClassPermission = this.findPermission(entity.getClass(), group);
 
         return getPermissionCollection(groupClassPermission);
     }
@@ -226,7 +253,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @return The collection (may be empty).
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Group group, User user) {
-        Optional<GroupClassPermission> groupClassPermission = this.findFor(entity, group, user);
+        Optional<GroupClassPermission> groupClassPermission = this.findPermission(entity, group, user);
 
         return getPermissionCollection(groupClassPermission);
     }
@@ -264,7 +291,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @param clazz                The clazz to clear the permission for.
      */
     private void clearExistingPermission(Group group, PermissionCollection permissionCollection, Class<? extends BaseEntity> clazz) {
-        Optional<GroupClassPermission> existingPermission = findFor(clazz, group);
+        Optional<GroupClassPermission> existingPermission = findPermission(clazz, group);
 
         // Check if there is already an existing permission set on the entity
         if (existingPermission.isPresent()) {
@@ -300,7 +327,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @param persistedEntity The entity to clear the permissions for.
      */
     public void deleteAllFor(BaseEntity persistedEntity) {
-        List<GroupClassPermission> groupClassPermissions = this.findFor(persistedEntity);
+        List<GroupClassPermission> groupClassPermissions = repository.findByClassName(persistedEntity.getClass().getCanonicalName());
 
         repository.deleteAll(groupClassPermissions);
 
@@ -314,7 +341,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
      * @param group The group to clear the permissions for.
      */
     public void deleteAllFor(Group group) {
-        List<GroupClassPermission> groupClassPermissions = this.findFor(group);
+        List<GroupClassPermission> groupClassPermissions = repository.findAllByGroup(group);
 
         repository.deleteAll(groupClassPermissions);
 
@@ -323,7 +350,7 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
     }
 
     public void deleteFor(BaseEntity persistedEntity, Group group) {
-        Optional<GroupClassPermission> groupClassPermission = this.findFor(persistedEntity, group);
+        Optional<GroupClassPermission> groupClassPermission = this.findPermission(persistedEntity.getClass(), group);
 
         if (groupClassPermission.isPresent()) {
             repository.delete(groupClassPermission.get());
@@ -340,6 +367,8 @@ public class GroupClassPermissionService extends BasePermissionService<GroupClas
     }
 
     private void setAuthProviderRepresentation(List<GroupClassPermission> permissions) {
-        permissions.forEach((groupClassPermission -> setAuthProviderRepresentation(groupClassPermission)));
+        setAuthProviderRepresentations(permissions, GroupClassPermission::getGroup,
+            groupProviderService::setTransientRepresentations,
+            (group, resolvedGroup) -> group.setProviderDetails(resolvedGroup.getProviderDetails()));
     }
 }
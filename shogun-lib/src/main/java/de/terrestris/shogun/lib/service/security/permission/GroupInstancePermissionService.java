@@ -32,8 +32,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -62,36 +67,6 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
         return permissions;
     }
 
-    /**
-     * Get permission for SHOGun group
-     *
-     * @param entity entity to get group permissions for
-     * @param group  The SHOGun group
-     * @return
-     */
-    public Optional<GroupInstancePermission> findFor(BaseEntity entity, Group group) {
-        if (entity == null || group == null) {
-            log.trace("Either entity or group is null");
-            return Optional.empty();
-        }
-
-        if (entity.getId() == null || group.getId() == null) {
-            log.trace("Either entity or group is not persisted yet.");
-            return Optional.empty();
-        }
-
-        log.trace("Getting all group permissions for group with Keycloak ID {} and " +
-            "entity with ID {}", group.getAuthProviderId(), entity.getId());
-
-        Optional<GroupInstancePermission> permission = repository.findByGroupIdAndEntityId(group.getId(), entity.getId());
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
-
-        return permission;
-    }
-
     /**
      * Returns the {@link GroupInstancePermission} for the given query arguments.
      *
@@ -108,9 +83,26 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
         return permissions;
     }
 
+    /**
+     * Get permission for SHOGun group
+     *
+     * @param entity entity to get group permissions for
+     * @param group  The SHOGun group
+     * @return
+     */
+    public Optional<GroupInstancePermission> findFor(BaseEntity entity, Group group) {
+        Optional<GroupInstancePermission> permission = findPermission(entity, group);
+
+        permission.ifPresent(this::setAuthProviderRepresentation);
+
+        return permission;
+    }
+
     /**
      * Returns the {@link GroupInstancePermission} for the given query arguments. Hereby
-     * all groups of the given user will be considered.
+     * all groups of the given user will be considered and queried at once. If the user
+     * has permissions through multiple groups, the one of the first group (in the order
+     * given by the auth provider) will be returned.
      *
      * @param entity The entity to find the permission for.
      * @param user   The user to find the permission for.
@@ -122,23 +114,29 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
 
         // Get all groups of the user from Keycloak
         List<Group> groups = groupProviderService.findByUser(user);
-        Optional<GroupInstancePermission> gip = Optional.empty();
 
-        if (groups == null) {
-            return gip;
+        if (groups == null || groups.isEmpty()) {
+            return Optional.empty();
         }
 
-        for (Group g : groups) {
-            Optional<GroupInstancePermission> permissionsForGroup = repository
-                .findByGroupIdAndEntityId(g.getId(), entity.getId());
-            if (permissionsForGroup.isPresent()) {
-                gip = permissionsForGroup;
-                setAuthProviderRepresentation(gip.get());
-                break;
-            }
-        }
+        Map<Long, Group> groupsById = groups.stream()
+            .collect(Collectors.toMap(Group::getId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+
+        Map<Long, GroupInstancePermission> permissionsByGroupId = repository
+            .findByGroupIdInAndEntityId(groupsById.keySet(), entity.getId())
+            .stream()
+            .collect(Collectors.toMap(gip -> gip.getGroup().getId(), Function.identity(), (first, second) -> first));
 
-        return gip;
+        Optional<GroupInstancePermission> permission = groupsById.keySet().stream()
+            .map(permissionsByGroupId::get)
+            .filter(Objects::nonNull)
+            .findFirst();
+
+        // The groups of the user already contain their representation, no need to request it again
+        permission.ifPresent(gip -> gip.getGroup().setProviderDetails(
+            groupsById.get(gip.getGroup().getId()).getProviderDetails()));
+
+        return permission;
     }
 
     /**
@@ -151,6 +149,48 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
      * @return The (optional) permission.
      */
     public Optional<GroupInstancePermission> findFor(BaseEntity entity, Group group, User user) {
+        Optional<GroupInstancePermission> permission = findPermission(entity, group, user);
+
+        permission.ifPresent(this::setAuthProviderRepresentation);
+
+        return permission;
+    }
+
+    /**
+     * Returns the {@link GroupInstancePermission} for the given query arguments without
+     * resolving the representation of the group in the auth provider.
+     *
+     * @param entity The entity to find the permission for.
+     * @param group  The group to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<GroupInstancePermission> findPermission(BaseEntity entity, Group group) {
+        if (entity == null || group == null) {
+            log.trace("Either entity or group is null");
+            return Optional.empty();
+        }
+
+        if (entity.getId() == null || group.getId() == null) {
+            log.trace("Either entity or group is not persisted yet.");
+            return Optional.empty();
+        }
+
+        log.trace("Getting all group permissions for group with Keycloak ID {} and " +
+            "entity with ID {}", group.getAuthProviderId(), entity.getId());
+
+        return repository.findByGroupIdAndEntityId(group.getId(), entity.getId());
+    }
+
+    /**
+     * Returns the {@link GroupInstancePermission} for the given entity, group and user without
+     * resolving the representation of the group in the auth provider.
+     *
+     * @param entity The entity to find the permission for.
+     * @param group  The group to find the permission for.
+     * @param user   The user to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<GroupInstancePermission> findPermission(BaseEntity entity, Group group, User user) {
         log.trace("Getting all group instance permissions for user with Keycloak ID {} " +
                 "and entity with ID {} in the context of group with Keycloak ID {}",
             user.getAuthProviderId(), entity.getId(), group.getAuthProviderId());
@@ -164,13 +204,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
             return Optional.empty();
         }
 
-        Optional<GroupInstancePermission> permission = repository.findByGroupIdAndEntityId(group.getId(), entity.getId());
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
-
-        return permission;
+        return repository.findByGroupIdAndEntityId(group.getId(), entity.getId());
     }
 
     /**
@@ -181,7 +215,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
      * @return The collection (may be empty).
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Group group) {
-        Optional<GroupInstancePermission> groupInstancePermission = this.findFor(entity, group);
+        Optional<GroupInstancePermission> groupInstancePermission = this.findPermission(entity, group);
 
         return getPermissionCollection(groupInstancePermission);
     }
@@ -210,7 +244,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
      * @return The collection (may be empty).
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Group group, User user) {
-        Optional<GroupInstancePermission> groupInstancePermission = this.findFor(entity, group, user);
+        Optional<GroupInstancePermission> groupInstancePermission = this.findPermission(entity, group, user);
 
         return getPermissionCollection(groupInstancePermission);
     }
@@ -279,7 +313,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
      * @param entity               The entity to clear the permission for.
      */
     private void clearExistingPermission(Group group, PermissionCollection permissionCollection, BaseEntity entity) {
-        Optional<GroupInstancePermission> existingPermission = findFor(entity, group);
+        Optional<GroupInstancePermission> existingPermission = findPermission(entity, group);
 
         // Check if there is already an existing permission set on the entity
         if (existingPermission.isPresent()) {
@@ -293,13 +327,99 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
         }
     }
 
+    /**
+     * Sets the given {@link PermissionCollectionType} for all combinations of the given entities
+     * and groups. Existing permissions of the groups on the entities are removed
+     * and the new permissions are written in JDBC batches.
+     *
+     * @param persistedEntityList      The entities to set the permission for.
+     * @param groups                   The groups to set the permission for.
+     * @param permissionCollectionType The permission collection type (e.g. READ, READ_WRITE) to set.
+     */
+    public void setPermission(
+        List<? extends BaseEntity> persistedEntityList,
+        List<Group> groups,
+        PermissionCollectionType permissionCollectionType
+    ) {
+        if (persistedEntityList.isEmpty() || groups.isEmpty()) {
+            return;
+        }
+
+        Optional<PermissionCollection> permissionCollection = permissionCollectionRepository.findByName(permissionCollectionType);
+
+        if (permissionCollection.isEmpty()) {
+            throw new RuntimeException("Could not find requested permission collection");
+        }
+
+        deleteFor(persistedEntityList, groups);
+
+        List<GroupInstancePermission> groupInstancePermissionsToSave = new ArrayList<>(persistedEntityList.size() * groups.size());
+
+        for (BaseEntity entity : persistedEntityList) {
+            for (Group group : groups) {
+                GroupInstancePermission groupInstancePermission = new GroupInstancePermission();
+                groupInstancePermission.setGroup(group);
+                groupInstancePermission.setEntityId(entity.getId());
+                groupInstancePermission.setPermission(permissionCollection.get());
+                groupInstancePermissionsToSave.add(groupInstancePermission);
+            }
+        }
+
+        repository.saveAll(groupInstancePermissionsToSave);
+
+        log.info("Successfully set {} group instance permissions ({}) for {} entities and {} groups",
+            groupInstancePermissionsToSave.size(), permissionCollectionType, persistedEntityList.size(), groups.size());
+    }
+
+    /**
+     * Deletes the {@link GroupInstancePermission}s of the given groups on the given entities. The permissions are
+     * deleted one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     * @param groups              The groups to clear the permissions for.
+     */
+    public void deleteFor(List<? extends BaseEntity> persistedEntityList, List<Group> groups) {
+        if (persistedEntityList.isEmpty() || groups.isEmpty()) {
+            return;
+        }
+
+        List<GroupInstancePermission> groupInstancePermissions = repository.findAllByGroupIdInAndEntityIdIn(
+            groups.stream().map(Group::getId).toList(),
+            persistedEntityList.stream().map(BaseEntity::getId).toList()
+        );
+
+        repository.deleteAll(groupInstancePermissions);
+
+        log.debug("Deleted {} group instance permissions for {} entities and {} groups", groupInstancePermissions.size(),
+            persistedEntityList.size(), groups.size());
+    }
+
+    /**
+     * Deletes all {@link GroupInstancePermission}s of the given entities. The permissions are deleted
+     * one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     */
+    public void deleteAllFor(List<? extends BaseEntity> persistedEntityList) {
+        if (persistedEntityList.isEmpty()) {
+            return;
+        }
+
+        List<GroupInstancePermission> groupInstancePermissions = repository.findAllByEntityIdIn(
+            persistedEntityList.stream().map(BaseEntity::getId).toList());
+
+        repository.deleteAll(groupInstancePermissions);
+
+        log.debug("Deleted {} group instance permissions for {} entities", groupInstancePermissions.size(), persistedEntityList.size());
+    }
+
     /**
      * Deletes all {@link GroupInstancePermission} for the given entity.
      *
      * @param persistedEntity The entity to clear the permissions for.
      */
     public void deleteAllFor(BaseEntity persistedEntity) {
-        List<GroupInstancePermission> groupInstancePermissions = this.findFor(persistedEntity);
+        List<GroupInstancePermission> groupInstancePermissions = repository.findByEntityId(persistedEntity.getId());
 
         repository.deleteAll(groupInstancePermissions);
 
@@ -313,7 +433,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
      * @param group The group to clear the permissions for.
      */
     public void deleteAllFor(Group group) {
-        List<GroupInstancePermission> groupInstancePermissions = this.findFor(group);
+        List<GroupInstancePermission> groupInstancePermissions = repository.findAllByGroup(group);
 
         repository.deleteAll(groupInstancePermissions);
 
@@ -322,7 +442,7 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
     }
 
     public void deleteFor(BaseEntity persistedEntity, Group group) {
-        Optional<GroupInstancePermission> groupInstancePermission = this.findFor(persistedEntity, group);
+        Optional<GroupInstancePermission> groupInstancePermission = this.findPermission(persistedEntity, group);
 
         if (groupInstancePermission.isPresent()) {
             repository.delete(groupInstancePermission.get());
@@ -355,6 +475,8 @@ public class GroupInstancePermissionService extends BasePermissionService<GroupI
     }
 
     private void setAuthProviderRepresentation(List<GroupInstancePermission> permissions) {
-        permissions.forEach((groupInstancePermission -> setAuthProviderRepresentation(groupInstancePermission)));
+        setAuthProviderRepresentations(permissions, GroupInstancePermission::getGroup,
+            groupProviderService::setTransientRepresentations,
+            (group, resolvedGroup) -> group.setProviderDetails(resolvedGroup.getProviderDetails()));
     }
 }
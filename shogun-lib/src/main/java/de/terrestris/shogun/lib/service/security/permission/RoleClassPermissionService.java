@@ -86,16 +86,9 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @return {@link Optional} containing {@link RoleClassPermission}
      */
     public Optional<RoleClassPermission> findFor(Class<? extends BaseEntity> clazz, Role role) {
-        String className = clazz.getCanonicalName();
-
-        log.trace("Getting all role class permissions for role with Keycloak ID {} and " +
-            "entity class {}", role.getAuthProviderId(), className);
+        Optional<RoleClassPermission> permission = findPermission(clazz, role);
 
-        Optional<RoleClassPermission> permission = repository.findByRoleIdAndClassName(role.getId(), className);
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
+        permission.ifPresent(this::setAuthProviderRepresentation);
 
         return permission;
     }
@@ -109,18 +102,30 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @return The (optional) permission.
      */
     public Optional<RoleClassPermission> findFor(BaseEntity entity, Role role) {
-        log.trace("Getting all role class permissions for role with Keycloak ID {} and " +
-            "entity class {}", role.getAuthProviderId(), entity.getClass().getCanonicalName());
-
-        Optional<RoleClassPermission> permission = repository.findByRoleIdAndClassName(role.getId(), entity.getClass().getCanonicalName());
+        Optional<RoleClassPermission> permission = findPermission(entity.getClass(), role);
 
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
+        permission.ifPresent(this::setAuthProviderRepresentation);
 
         return permission;
     }
 
+    /**
+     * Returns the {@link RoleClassPermission} for the given class and role without
+     * resolving the representation of the role in the auth provider.
+     *
+     * @param clazz The class to find the permission for.
+     * @param role  The role to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<RoleClassPermission> findPermission(Class<? extends BaseEntity> clazz, Role role) {
+        String className = clazz.getCanonicalName();
+
+        log.trace("Getting all role class permissions for role with Keycloak ID {} and " +
+            "entity class {}", role.getAuthProviderId(), className);
+
+        return repository.findByRoleIdAndClassName(role.getId(), className);
+    }
+
     /**
      * Returns the {@link PermissionCollection} for the given query arguments.
      *
@@ -130,11 +135,38 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Role role) {
         Class<? extends BaseEntity> clazz = entity.getClass();
-        Optional<RoleClassPermission> roleClassPermission = this.findFor(clazz, role);
+        Optional<RoleClassPermission> roleClassPermission = this.findPermission(clazz, role);
 
         return getPermissionCollection(roleClassPermission);
     }
 
+    /**
+     * Returns the {@link PermissionCollection}s of all given roles on the given class. The
+     * permissions of all roles are fetched with a single query.
+     *
+     * @param clazz The class to find the collections for.
+     * @param roles The roles to find the collections for.
+     * @return The collections of the roles having a permission on the class (may be empty).
+     */
+    public List<PermissionCollection> findPermissionCollectionsFor(Class<? extends BaseEntity> clazz, List<Role> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+
+        String className = clazz.getCanonicalName();
+
+        log.trace("Getting all role class permissions for {} roles and entity class {}",
+            roles.size(), className);
+
+        List<Long> roleIds = roles.stream()
+            .map(Role::getId)
+            .toList();
+
+        return repository.findByRoleIdInAndClassName(roleIds, className).stream()
+            .map(RoleClassPermission::getPermission)
+            .toList();
+    }
+
     /**
      * Sets the given {@link PermissionCollectionType} for the given class and role.
      *
@@ -168,7 +200,7 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @param clazz                The class to clear the permission for.
      */
     private void clearExistingPermission(Role role, PermissionCollection permissionCollection, Class<? extends BaseEntity> clazz) {
-        Optional<RoleClassPermission> existingPermission = findFor(clazz, role);
+        Optional<RoleClassPermission> existingPermission = findPermission(clazz, role);
 
         // Check if there is already an existing permission set on the entity.
         if (existingPermission.isPresent()) {
@@ -188,7 +220,7 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @param persistedEntity The entity to clear the permissions for.
      */
     public void deleteAllFor(BaseEntity persistedEntity) {
-        List<RoleClassPermission> roleClassPermissions = this.findFor(persistedEntity);
+        List<RoleClassPermission> roleClassPermissions = repository.findByClassName(persistedEntity.getClass().getCanonicalName());
 
         repository.deleteAll(roleClassPermissions);
 
@@ -202,7 +234,7 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @param role The role to clear the permissions for.
      */
     public void deleteAllFor(Role role) {
-        List<RoleClassPermission> roleClassPermissions = this.findFor(role);
+        List<RoleClassPermission> roleClassPermissions = repository.findAllByRole(role);
 
         repository.deleteAll(roleClassPermissions);
 
@@ -217,7 +249,7 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
      * @param role            The role to clear the permission for.
      */
     public void deleteFor(BaseEntity persistedEntity, Role role) {
-        Optional<RoleClassPermission> roleClassPermission = this.findFor(persistedEntity.getClass(), role);
+        Optional<RoleClassPermission> roleClassPermission = this.findPermission(persistedEntity.getClass(), role);
 
         if (roleClassPermission.isPresent()) {
             repository.delete(roleClassPermission.get());
@@ -250,6 +282,8 @@ public class RoleClassPermissionService extends BasePermissionService<RoleClassP
     }
 
     private void setAuthProviderRepresentation(List<RoleClassPermission> permissions) {
-        permissions.forEach((roleClassPermission -> setAuthProviderRepresentation(roleClassPermission)));
+        setAuthProviderRepresentations(permissions, RoleClassPermission::getRole,
+            roleProviderService::setTransientRepresentations,
+            (role, resolvedRole) -> role.setProviderDetails(resolvedRole.getProviderDetails()));
     }
 }
@@ -69,19 +69,28 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
      * @return The (optional) permission.
      */
     public Optional<RoleInstancePermission> findFor(BaseEntity entity, Role role) {
-        log.trace("Getting all role permissions for role with Keycloak ID {} and " +
-            "entity with ID {}", role.getAuthProviderId(), entity);
+        Optional<RoleInstancePermission> permission = findPermission(entity, role);
 
-        Optional<RoleInstancePermission> permission = repository.findByRoleIdAndEntityId(
-            role.getId(), entity.getId());
-
-        if (permission.isPresent()) {
-            setAuthProviderRepresentation(permission.get());
-        }
+        permission.ifPresent(this::setAuthProviderRepresentation);
 
         return permission;
     }
 
+    /**
+     * Returns the {@link RoleInstancePermission} for the given entity and role without
+     * resolving the representation of the role in the auth provider.
+     *
+     * @param entity The entity to find the permission for.
+     * @param role   The role to find the permission for.
+     * @return The (optional) permission.
+     */
+    private Optional<RoleInstancePermission> findPermission(BaseEntity entity, Role role) {
+        log.trace("Getting all role permissions for role with Keycloak ID {} and " +
+            "entity with ID {}", role.getAuthProviderId(), entity);
+
+        return repository.findByRoleIdAndEntityId(role.getId(), entity.getId());
+    }
+
     /**
      * Get all {@link RoleInstancePermission} for the given entity.
      *
@@ -152,11 +161,36 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
      * @return {@link PermissionCollection} for {@link BaseEntity} and {@link Role}
      */
     public PermissionCollection findPermissionCollectionFor(BaseEntity entity, Role role) {
-        Optional<RoleInstancePermission> roleInstancePermission = this.findFor(entity, role);
+        Optional<RoleInstancePermission> roleInstancePermission = this.findPermission(entity, role);
 
         return getPermissionCollection(roleInstancePermission);
     }
 
+    /**
+     * Returns the {@link PermissionCollection}s of all given roles on the given entity. The
+     * permissions of all roles are fetched with a single query.
+     *
+     * @param entity The entity to find the collections for.
+     * @param roles  The roles to find the collections for.
+     * @return The collections of the roles having a permission on the entity (may be empty).
+     */
+    public List<PermissionCollection> findPermissionCollectionsFor(BaseEntity entity, List<Role> roles) {
+        if (entity.getId() == null || roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+
+        log.trace("Getting all role permissions for {} roles and entity with ID {}",
+            roles.size(), entity.getId());
+
+        List<Long> roleIds = roles.stream()
+            .map(Role::getId)
+            .toList();
+
+        return repository.findByRoleIdInAndEntityId(roleIds, entity.getId()).stream()
+            .map(RoleInstancePermission::getPermission)
+            .toList();
+    }
+
     /**
      * Sets the given {@link PermissionCollectionType} for the given entity and role.
      *
@@ -223,7 +257,7 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
      * @param entity               The entity to clear the permission for.
      */
     private void clearExistingPermission(Role role, PermissionCollection permissionCollection, BaseEntity entity) {
-        Optional<RoleInstancePermission> existingPermission = findFor(entity, role);
+        Optional<RoleInstancePermission> existingPermission = findPermission(entity, role);
 
         // Check if there is already an existing permission set on the entity.
         if (existingPermission.isPresent()) {
@@ -237,13 +271,99 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
         }
     }
 
+    /**
+     * Sets the given {@link PermissionCollectionType} for all combinations of the given entities
+     * and roles. Existing permissions of the roles on the entities are removed
+     * and the new permissions are written in JDBC batches.
+     *
+     * @param persistedEntityList      The entities to set the permission for.
+     * @param roles                    The roles to set the permission for.
+     * @param permissionCollectionType The permission collection type (e.g. READ, READ_WRITE) to set.
+     */
+    public void setPermission(
+        List<? extends BaseEntity> persistedEntityList,
+        List<Role> roles,
+        PermissionCollectionType permissionCollectionType
+    ) {
+        if (persistedEntityList.isEmpty() || roles.isEmpty()) {
+            return;
+        }
+
+        Optional<PermissionCollection> permissionCollection = permissionCollectionRepository.findByName(permissionCollectionType);
+
+        if (permissionCollection.isEmpty()) {
+            throw new RuntimeException("Could not find requested permission collection");
+        }
+
+        deleteFor(persistedEntityList, roles);
+
+        List<RoleInstancePermission> roleInstancePermissionsToSave = new ArrayList<>(persistedEntityList.size() * roles.size());
+
+        for (BaseEntity entity : persistedEntityList) {
+            for (Role role : roles) {
+                RoleInstancePermission roleInstancePermission = new RoleInstancePermission();
+                roleInstancePermission.setRole(role);
+                roleInstancePermission.setEntityId(entity.getId());
+                roleInstancePermission.setPermission(permissionCollection.get());
+                roleInstancePermissionsToSave.add(roleInstancePermission);
+            }
+        }
+
+        repository.saveAll(roleInstancePermissionsToSave);
+
+        log.info("Successfully set {} role instance permissions ({}) for {} entities and {} roles",
+            roleInstancePermissionsToSave.size(), permissionCollectionType, persistedEntityList.size(), roles.size());
+    }
+
+    /**
+     * Deletes the {@link RoleInstancePermission}s of the given roles on the given entities. The permissions are
+     * deleted one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     * @param roles               The roles to clear the permissions for.
+     */
+    public void deleteFor(List<? extends BaseEntity> persistedEntityList, List<Role> roles) {
+        if (persistedEntityList.isEmpty() || roles.isEmpty()) {
+            return;
+        }
+
+        List<RoleInstancePermission> roleInstancePermissions = repository.findAllByRoleIdInAndEntityIdIn(
+            roles.stream().map(Role::getId).toList(),
+            persistedEntityList.stream().map(BaseEntity::getId).toList()
+        );
+
+        repository.deleteAll(roleInstancePermissions);
+
+        log.debug("Deleted {} role instance permissions for {} entities and {} roles", roleInstancePermissions.size(),
+            persistedEntityList.size(), roles.size());
+    }
+
+    /**
+     * Deletes all {@link RoleInstancePermission}s of the given entities. The permissions are deleted
+     * one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     */
+    public void deleteAllFor(List<? extends BaseEntity> persistedEntityList) {
+        if (persistedEntityList.isEmpty()) {
+            return;
+        }
+
+        List<RoleInstancePermission> roleInstancePermissions = repository.findAllByEntityIdIn(
+            persistedEntityList.stream().map(BaseEntity::getId).toList());
+
+        repository.deleteAll(roleInstancePermissions);
+
+        log.debug("Deleted {} role instance permissions for {} entities", roleInstancePermissions.size(), persistedEntityList.size());
+    }
+
     /**
      * Deletes all {@link RoleInstancePermission} for the given entity.
      *
      * @param persistedEntity The entity to clear the permissions for.
      */
     public void deleteAllFor(BaseEntity persistedEntity) {
-        List<RoleInstancePermission> roleInstancePermissions = this.findFor(persistedEntity);
+        List<RoleInstancePermission> roleInstancePermissions = repository.findByEntityId(persistedEntity.getId());
 
         repository.deleteAll(roleInstancePermissions);
 
@@ -258,7 +378,7 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
      * @param role The role to clear the permissions for.
      */
     public void deleteAllFor(Role role) {
-        List<RoleInstancePermission> roleInstancePermissions = this.findFor(role);
+        List<RoleInstancePermission> roleInstancePermissions = repository.findAllByRole(role);
 
         repository.deleteAll(roleInstancePermissions);
 
@@ -273,7 +393,7 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
      * @param role            The role to clear the permission for.
      */
     public void deleteFor(BaseEntity persistedEntity, Role role) {
-        Optional<RoleInstancePermission> roleInstancePermission = this.findFor(persistedEntity, role);
+        Optional<RoleInstancePermission> roleInstancePermission = this.findPermission(persistedEntity, role);
 
         if (roleInstancePermission.isPresent()) {
             repository.delete(roleInstancePermission.get());
@@ -306,6 +426,8 @@ public class RoleInstancePermissionService extends BasePermissionService<RoleIns
     }
 
     private void setAuthProviderRepresentation(List<RoleInstancePermission> permissions) {
-        permissions.forEach((roleInstancePermission -> setAuthProviderRepresentation(roleInstancePermission)));
+        setAuthProviderRepresentations(permissions, RoleInstancePermission::getRole,
+            roleProviderService::setTransientRepresentations,
+            (role, resolvedRole) -> role.setProviderDetails(resolvedRole.getProviderDetails()));
     }
 }
@@ -237,6 +237,92 @@ public class UserInstancePermissionService extends BasePermissionService<UserIns
         }
     }
 
+    /**
+     * Sets the given {@link PermissionCollectionType} for all combinations of the given entities
+     * and users. Existing permissions of the users on the entities are removed
+     * and the new permissions are written in JDBC batches.
+     *
+     * @param persistedEntityList      The entities to set the permission for.
+     * @param users                    The users to set the permission for.
+     * @param permissionCollectionType The permission collection type (e.g. READ, READ_WRITE) to set.
+     */
+    public void setPermission(
+        List<? extends BaseEntity> persistedEntityList,
+        List<User> users,
+        PermissionCollectionType permissionCollectionType
+    ) {
+        if (persistedEntityList.isEmpty() || users.isEmpty()) {
+            return;
+        }
+
+        Optional<PermissionCollection> permissionCollection = permissionCollectionRepository.findByName(permissionCollectionType);
+
+        if (permissionCollection.isEmpty()) {
+            throw new RuntimeException("Could not find requested permission collection");
+        }
+
+        deleteFor(persistedEntityList, users);
+
+        List<UserInstancePermission> userInstancePermissionsToSave = new ArrayList<>(persistedEntityList.size() * users.size());
+
+        for (BaseEntity entity : persistedEntityList) {
+            for (User user : users) {
+                UserInstancePermission userInstancePermission = new UserInstancePermission();
+                userInstancePermission.setUser(user);
+                userInstancePermission.setEntityId(entity.getId());
+                userInstancePermission.setPermission(permissionCollection.get());
+                userInstancePermissionsToSave.add(userInstancePermission);
+            }
+        }
+
+        repository.saveAll(userInstancePermissionsToSave);
+
+        log.info("Successfully set {} user instance permissions ({}) for {} entities and {} users",
+            userInstancePermissionsToSave.size(), permissionCollectionType, persistedEntityList.size(), users.size());
+    }
+
+    /**
+     * Deletes the {@link UserInstancePermission}s of the given users on the given entities. The permissions are
+     * deleted one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     * @param users               The users to clear the permissions for.
+     */
+    public void deleteFor(List<? extends BaseEntity> persistedEntityList, List<User> users) {
+        if (persistedEntityList.isEmpty() || users.isEmpty()) {
+            return;
+        }
+
+        List<UserInstancePermission> userInstancePermissions = repository.findAllByUserIdInAndEntityIdIn(
+            users.stream().map(User::getId).toList(),
+            persistedEntityList.stream().map(BaseEntity::getId).toList()
+        );
+
+        repository.deleteAll(userInstancePermissions);
+
+        log.debug("Deleted {} user instance permissions for {} entities and {} users", userInstancePermissions.size(),
+            persistedEntityList.size(), users.size());
+    }
+
+    /**
+     * Deletes all {@link UserInstancePermission}s of the given entities. The permissions are deleted
+     * one by one (in JDBC batches) to have the deletion audited.
+     *
+     * @param persistedEntityList The entities to clear the permissions for.
+     */
+    public void deleteAllFor(List<? extends BaseEntity> persistedEntityList) {
+        if (persistedEntityList.isEmpty()) {
+            return;
+        }
+
+        List<UserInstancePermission> userInstancePermissions = repository.findAllByEntityIdIn(
+            persistedEntityList.stream().map(BaseEntity::getId).toList());
+
+        repository.deleteAll(userInstancePermissions);
+
+        log.debug("Deleted {} user instance permissions for {} entities", userInstancePermissions.size(), persistedEntityList.size());
+    }
+
     /**
      * Deletes all {@link UserInstancePermission} for the given entity.
      *
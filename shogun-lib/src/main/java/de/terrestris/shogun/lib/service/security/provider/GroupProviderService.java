@@ -27,6 +27,23 @@ public interface GroupProviderService<UserType, GroupType> {
 
     List<User<UserType>> getGroupMembers(String providerId);
 
+    /**
+     * Returns the provider IDs of the members of the given group. Providers should override this to avoid loading
+     * the complete members, by default they are taken from {@link #getGroupMembers(String)}.
+     */
+    default List<String> getGroupMemberIds(String providerId) {
+        return getGroupMembers(providerId).stream()
+            .map(User::getAuthProviderId)
+            .toList();
+    }
+
+    /**
+     * Returns the provider IDs of the roles of the given group. By default, no roles are returned.
+     */
+    default List<String> getGroupRoleIds(String providerId) {
+        return List.of();
+    }
+
     void setTransientRepresentations(Group<GroupType> group);
 
     List<Group<GroupType>> getGroupsForUser();
@@ -60,6 +60,9 @@ public class KeycloakGroupProviderService implements GroupProviderService<UserRe
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    KeycloakSynchronizer keycloakSynchronizer;
+
     @Transactional(readOnly = true)
     public List<Group<GroupRepresentation>> findByUser(User<UserRepresentation> user) {
         List<Group<GroupRepresentation>> groups = new ArrayList<>();
@@ -93,6 +96,14 @@ public class KeycloakGroupProviderService implements GroupProviderService<UserRe
         return users;
     }
 
+    public List<String> getGroupMemberIds(String id) {
+        return keycloakUtil.getKeycloakGroupMemberIds(id);
+    }
+
+    public List<String> getGroupRoleIds(String id) {
+        return keycloakUtil.getKeycloakGroupRoleIds(id);
+    }
+
     /**
      * Get SHOGun groups for currently logged in user based on actual assignment in keycloak
      * @return List of SHOGun for currently logged in user
@@ -120,10 +131,8 @@ public class KeycloakGroupProviderService implements GroupProviderService<UserRe
     }
 
     public void setTransientRepresentations(Group<GroupRepresentation> group) {
-        GroupResource groupResource = keycloakUtil.getGroupResource(group);
-
         try {
-            GroupRepresentation groupRepresentation = groupResource.toRepresentation();
+            GroupRepresentation groupRepresentation = keycloakUtil.getGroupRepresentation(group);
             group.setProviderDetails(groupRepresentation);
         } catch (Exception e) {
             log.warn("Could not get the GroupRepresentation for group with SHOGun ID {} and " +
@@ -153,7 +162,6 @@ public class KeycloakGroupProviderService implements GroupProviderService<UserRe
 
     @Override
     public void createAllGroups() {
-        var groupIds = keycloakUtil.getAllGroupIds();
-        groupIds.forEach(this::findOrCreateByProviderId);
+        keycloakSynchronizer.syncGroups();
     }
 }
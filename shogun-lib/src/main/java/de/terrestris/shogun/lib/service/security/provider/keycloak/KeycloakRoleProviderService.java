@@ -47,6 +47,9 @@ public class KeycloakRoleProviderService implements RoleProviderService<RoleRepr
     @Autowired
     RoleRepository roleRepository;
 
+    @Autowired
+    KeycloakSynchronizer keycloakSynchronizer;
+
     @Override
     public void setTransientRepresentations(Role<RoleRepresentation> role) {
         try {
@@ -99,8 +102,6 @@ public class KeycloakRoleProviderService implements RoleProviderService<RoleRepr
 
     @Override
     public void createAllRoles() {
-        var clientRoles = keycloakUtil.getClientRoles();
-        var clientRolesIds = clientRoles.stream().map(RoleRepresentation::getId).toList();
-        clientRolesIds.forEach(this::findOrCreateByProviderId);
+        keycloakSynchronizer.syncRoles();
     }
 }
@@ -0,0 +1,360 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.service.security.provider.keycloak;
+
+import de.terrestris.shogun.lib.event.OnRegistrationConfirmedEvent;
+import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.model.Role;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.repository.GroupRepository;
+import de.terrestris.shogun.lib.repository.RoleRepository;
+import de.terrestris.shogun.lib.repository.UserRepository;
+import de.terrestris.shogun.lib.util.KeycloakUtil;
+import de.terrestris.shogun.properties.KeycloakSyncProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Synchronizes the users, groups and roles of Keycloak into the SHOGun DB.
+ *
+ * The entities are fetched from Keycloak page by page (see <code>keycloak.sync.page-size</code>). Each
+ * page is created in its own transaction on a bounded executor, while the next page is being fetched
+ * already. Per page, the already existing entities are determined with a single query and only the
+ * missing ones are inserted (as JDBC batch). If some of them are created concurrently (e.g. by the login of
+ * a user), the unique constraint of the <code>auth_provider_id</code> rejects the page and it's retried once.
+ *
+ * NOTE: Make sure not to use services here, else the security checks will not run on them due to circular
+ * references.
+ */
+@ConditionalOnExpression("${keycloak.enabled:true}")
+@Log4j2
+@Component
+public class KeycloakSynchronizer {
+
+    public enum SyncType {
+        USERS,
+        GROUPS,
+        ROLES
+    }
+
+    @FunctionalInterface
+    interface PageFetcher {
+        List<String> fetch(int first, int max);
+    }
+
+    @Autowired
+    KeycloakUtil keycloakUtil;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    GroupRepository groupRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    KeycloakSyncProperties keycloakSyncProperties;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ConcurrentMap<SyncType, AtomicLong> fetched = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<SyncType, AtomicLong> created = new ConcurrentHashMap<>();
+
+    private final AtomicInteger runningSyncs = new AtomicInteger();
+
+    private ThreadPoolExecutor executorService;
+
+    private ExecutorService backgroundExecutorService;
+
+    @PostConstruct
+    public void init() {
+        for (SyncType type : SyncType.values()) {
+            fetched.put(type, new AtomicLong());
+            created.put(type, new AtomicLong());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executorService = new ThreadPoolExecutor(
+            keycloakSyncProperties.getThreads(),
+            keycloakSyncProperties.getThreads(),
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(keycloakSyncProperties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "keycloak-sync-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // let the fetching thread create the page itself if all workers are busy
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executorService.allowCoreThreadTimeOut(true);
+
+        registerMetrics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+        if (backgroundExecutorService != null) {
+            backgroundExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Synchronizes all groups, roles and users in the background.
+     *
+     * @return The future completing once all entities have been synchronized.
+     */
+    public synchronized Future<?> syncAllAsync() {
+        if (backgroundExecutorService == null) {
+            backgroundExecutorService = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "keycloak-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return backgroundExecutorService.submit(() -> {
+            try {
+                syncGroups();
+                syncRoles();
+                syncUsers();
+            } catch (RuntimeException e) {
+                log.error("Could not synchronize the users, groups and roles from Keycloak: {}", e.getMessage());
+                log.trace("Full stack trace: ", e);
+            }
+        });
+    }
+
+    /**
+     * Creates all Keycloak users not existing in the SHOGun DB yet. For every created user an
+     * {@link OnRegistrationConfirmedEvent} is published.
+     *
+     * @return The number of created users.
+     */
+    public int syncUsers() {
+        return sync(SyncType.USERS, keycloakUtil::getUserIds, this::createUsers);
+    }
+
+    /**
+     * Creates all (top level) Keycloak groups not existing in the SHOGun DB yet.
+     *
+     * @return The number of created groups.
+     */
+    public int syncGroups() {
+        return sync(SyncType.GROUPS, keycloakUtil::getGroupIds, this::createGroups);
+    }
+
+    /**
+     * Creates all Keycloak client roles not existing in the SHOGun DB yet.
+     *
+     * @return The number of created roles.
+     */
+    public int syncRoles() {
+        return sync(SyncType.ROLES, keycloakUtil::getClientRoleIds, this::createRoles);
+    }
+
+    /**
+     * @return The number of entities of the given type fetched from Keycloak since startup.
+     */
+    public long getFetchedCount(SyncType type) {
+        return fetched.get(type).get();
+    }
+
+    /**
+     * @return The number of entities of the given type created in the SHOGun DB since startup.
+     */
+    public long getCreatedCount(SyncType type) {
+        return created.get(type).get();
+    }
+
+    private int sync(SyncType type, PageFetcher fetcher, Function<List<String>, Integer> creator) {
+        int pageSize = keycloakSyncProperties.getPageSize();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // the pages might be created by the calling thread (see CallerRunsPolicy), never join its transaction
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Future<Integer>> pages = new ArrayList<>();
+
+        runningSyncs.incrementAndGet();
+        try {
+            int first = 0;
+            while (true) {
+                List<String> ids = fetcher.fetch(first, pageSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                fetched.get(type).addAndGet(ids.size());
+                pages.add(executorService.submit(() -> createPage(type, transactionTemplate, creator, ids)));
+
+                if (ids.size() < pageSize) {
+                    break;
+                }
+                first += pageSize;
+            }
+
+            int createdCount = 0;
+            for (Future<Integer> page : pages) {
+                createdCount += page.get();
+            }
+
+            log.info("Synchronized the {} from Keycloak, {} of them did not yet exist in the SHOGun DB and " +
+                "were therefore created.", type.name().toLowerCase(Locale.ROOT), createdCount);
+
+            return createdCount;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while synchronizing the " +
+                type.name().toLowerCase(Locale.ROOT) + " from Keycloak", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not synchronize the " +
+                type.name().toLowerCase(Locale.ROOT) + " from Keycloak", e.getCause());
+        } finally {
+            runningSyncs.decrementAndGet();
+        }
+    }
+
+    private int createPage(SyncType type, TransactionTemplate transactionTemplate,
+            Function<List<String>, Integer> creator, List<String> ids) {
+        Integer count;
+        try {
+            count = transactionTemplate.execute(status -> creator.apply(ids));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Some of the {} have been created concurrently, retrying the page: {}",
+                type.name().toLowerCase(Locale.ROOT), e.getMessage());
+            count = transactionTemplate.execute(status -> creator.apply(ids));
+        }
+
+        int createdCount = count == null ? 0 : count;
+        created.get(type).addAndGet(createdCount);
+        return createdCount;
+    }
+
+    private int createUsers(List<String> keycloakUserIds) {
+        List<String> missingIds = getMissingIds(keycloakUserIds, userRepository.findExistingAuthProviderIds(keycloakUserIds));
+
+        List<User> users = new ArrayList<>();
+        for (String id : missingIds) {
+            users.add(new User<>(id, null, null, null));
+        }
+        userRepository.saveAll(users);
+
+        // If the user doesn't exist, we assume it has been registered.
+        users.forEach(user -> eventPublisher.publishEvent(new OnRegistrationConfirmedEvent(user)));
+
+        return users.size();
+    }
+
+    private int createGroups(List<String> keycloakGroupIds) {
+        List<String> missingIds = getMissingIds(keycloakGroupIds, groupRepository.findExistingAuthProviderIds(keycloakGroupIds));
+
+        List<Group> groups = new ArrayList<>();
+        for (String id : missingIds) {
+            groups.add(new Group<>(id, null));
+        }
+        groupRepository.saveAll(groups);
+
+        return groups.size();
+    }
+
+    private int createRoles(List<String> keycloakRoleIds) {
+        List<String> missingIds = getMissingIds(keycloakRoleIds, roleRepository.findExistingAuthProviderIds(keycloakRoleIds));
+
+        List<Role> roles = new ArrayList<>();
+        for (String id : missingIds) {
+            roles.add(new Role<>(id, null));
+        }
+        roleRepository.saveAll(roles);
+
+        return roles.size();
+    }
+
+    private List<String> getMissingIds(List<String> ids, List<String> existingIds) {
+        Set<String> existing = new HashSet<>(existingIds);
+        return ids.stream()
+            .distinct()
+            .filter(id -> !existing.contains(id))
+            .toList();
+    }
+
+    /**
+     * Exposes the progress of the synchronization as meters (if a {@link MeterRegistry} is available).
+     */
+    private void registerMetrics() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+
+        for (SyncType type : SyncType.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+
+            FunctionCounter.builder("shogun.keycloak.sync.fetched", fetched.get(type), AtomicLong::get)
+                .tag("type", tag)
+                .description("The number of entities fetched from Keycloak by the synchronization")
+                .register(registry);
+
+            FunctionCounter.builder("shogun.keycloak.sync.created", created.get(type), AtomicLong::get)
+                .tag("type", tag)
+                .description("The number of entities created in the SHOGun DB by the synchronization")
+                .register(registry);
+        }
+
+        Gauge.builder("shogun.keycloak.sync.running", runningSyncs, AtomicInteger::get)
+            .description("The number of synchronizations currently running")
+            .register(registry);
+
+        Gauge.builder("shogun.keycloak.sync.pending", executorService, executor -> executor.getQueue().size())
+            .description("The number of fetched pages waiting to be created")
+            .register(registry);
+    }
+
+}
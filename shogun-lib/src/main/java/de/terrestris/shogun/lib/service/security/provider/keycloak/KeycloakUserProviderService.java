@@ -24,7 +24,6 @@ import de.terrestris.shogun.lib.service.security.provider.UserProviderService;
 import de.terrestris.shogun.lib.util.KeycloakUtil;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
-import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +61,9 @@ public class KeycloakUserProviderService implements UserProviderService<UserRepr
     @Autowired
     GroupProviderService groupProviderService;
 
+    @Autowired
+    KeycloakSynchronizer keycloakSynchronizer;
+
     /**
      * Finds a User by the passed keycloak ID. If it does not exist in the SHOGun DB it gets created.
      * The groups of the user are also checked and created if needed.
@@ -105,10 +107,8 @@ public class KeycloakUserProviderService implements UserProviderService<UserRepr
     }
 
     public User<UserRepresentation> setTransientRepresentations(User<UserRepresentation> user) {
-        UserResource userResource = keycloakUtil.getUserResource(user);
-
         try {
-            UserRepresentation userRepresentation = userResource.toRepresentation();
+            UserRepresentation userRepresentation = keycloakUtil.getUserRepresentation(user);
             user.setProviderDetails(userRepresentation);
         } catch (Exception e) {
             log.warn("Could not get the UserRepresentation for user with SHOGun ID {} and " +
@@ -161,7 +161,6 @@ public class KeycloakUserProviderService implements UserProviderService<UserRepr
 
     @Override
     public void createAllUsers() {
-        var userIds = keycloakUtil.getAllUserIds();
-        userIds.forEach(this::findOrCreateByProviderId);
+        keycloakSynchronizer.syncUsers();
     }
 }
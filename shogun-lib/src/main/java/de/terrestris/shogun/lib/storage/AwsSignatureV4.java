@@ -0,0 +1,115 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the <code>Authorization</code> header of a request signed with AWS Signature Version 4
+ * (https://docs.aws.amazon.com/IAM/latest/UserGuide/reference_sigv-create-signed-request.html).
+ */
+class AwsSignatureV4 {
+
+    static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    static final DateTimeFormatter AMZ_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private static final DateTimeFormatter DATE_STAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    private final String region;
+
+    private final String service;
+
+    AwsSignatureV4(String accessKey, String secretKey, String region, String service) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * @param method The HTTP method.
+     * @param canonicalUri The URI encoded path of the request.
+     * @param canonicalQuery The canonical (sorted and URI encoded) query string, empty if there is none.
+     * @param headers The headers to sign, must include <code>host</code> and <code>x-amz-date</code>.
+     * @param payloadHash The hex encoded SHA-256 hash of the payload.
+     * @param time The time of the request (must match the <code>x-amz-date</code> header).
+     * @return The value of the <code>Authorization</code> header.
+     * @throws GeneralSecurityException If HMAC-SHA256 or SHA-256 aren't available.
+     */
+    String authorization(String method, String canonicalUri, String canonicalQuery, Map<String, String> headers,
+            String payloadHash, ZonedDateTime time) throws GeneralSecurityException {
+        ZonedDateTime utcTime = time.withZoneSameInstant(ZoneOffset.UTC);
+        String amzDate = AMZ_DATE_FORMAT.format(utcTime);
+        String dateStamp = DATE_STAMP_FORMAT.format(utcTime);
+
+        SortedMap<String, String> canonicalHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> canonicalHeaders.put(name.toLowerCase(), value.trim().replaceAll(" +", " ")));
+        String signedHeaders = String.join(";", canonicalHeaders.keySet());
+
+        String canonicalRequest = method + "\n" +
+            canonicalUri + "\n" +
+            canonicalQuery + "\n" +
+            canonicalHeaders.entrySet().stream()
+                .map(header -> header.getKey() + ":" + header.getValue() + "\n")
+                .collect(Collectors.joining()) + "\n" +
+            signedHeaders + "\n" +
+            payloadHash;
+
+        String scope = dateStamp + "/" + region + "/" + service + "/aws4_request";
+        String stringToSign = ALGORITHM + "\n" +
+            amzDate + "\n" +
+            scope + "\n" +
+            sha256Hex(canonicalRequest.getBytes(StandardCharsets.UTF_8));
+
+        byte[] signingKey = hmacSha256(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        signingKey = hmacSha256(signingKey, region);
+        signingKey = hmacSha256(signingKey, service);
+        signingKey = hmacSha256(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmacSha256(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope + ", SignedHeaders=" + signedHeaders +
+            ", Signature=" + signature;
+    }
+
+    static String sha256Hex(byte[] data) throws GeneralSecurityException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static byte[] hmacSha256(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,64 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * SPI for storing the content of {@link de.terrestris.shogun.lib.model.File}s outside of the database.
+ * Blobs are addressed by a key, only the key (next to the size and hash of the content) is
+ * stored in the file table.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores (or replaces) the given content.
+     *
+     * @param key The key of the blob.
+     * @param content The content.
+     * @throws IOException If the content could not be stored.
+     */
+    void put(String key, byte[] content) throws IOException;
+
+    /**
+     * Opens the content of the blob. The caller is responsible for closing the stream.
+     *
+     * @param key The key of the blob.
+     * @return The content.
+     * @throws FileNotFoundException If there is no blob for the given key.
+     * @throws IOException If the content could not be read.
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * @param key The key of the blob.
+     * @return Whether a blob with the given key exists.
+     * @throws IOException If the store could not be queried.
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Removes the blob, if it exists.
+     *
+     * @param key The key of the blob.
+     * @throws IOException If the blob could not be removed.
+     */
+    void delete(String key) throws IOException;
+
+}
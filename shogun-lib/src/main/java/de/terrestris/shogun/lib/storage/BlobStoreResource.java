@@ -0,0 +1,75 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link org.springframework.core.io.Resource} of a blob with a known size. In contrast to an
+ * {@link org.springframework.core.io.InputStreamResource} it can be read multiple times, so it
+ * can be used to answer HTTP range requests.
+ */
+public class BlobStoreResource extends AbstractResource {
+
+    private final BlobStore blobStore;
+
+    private final String key;
+
+    private final Long contentLength;
+
+    /**
+     * @param blobStore The store holding the blob.
+     * @param key The key of the blob.
+     * @param contentLength The size of the blob, if null it will be determined by reading the blob.
+     */
+    public BlobStoreResource(BlobStore blobStore, String key, Long contentLength) {
+        this.blobStore = blobStore;
+        this.key = key;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return blobStore.get(key);
+    }
+
+    @Override
+    public boolean exists() {
+        try {
+            return blobStore.exists(key);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        if (contentLength == null) {
+            return super.contentLength();
+        }
+        return contentLength;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Blob [" + key + "]";
+    }
+
+}
@@ -0,0 +1,151 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import de.terrestris.shogun.lib.model.File;
+import de.terrestris.shogun.lib.repository.BaseFileRepository;
+import de.terrestris.shogun.lib.util.FileUtil;
+import de.terrestris.shogun.properties.BlobStoreProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the content of files still stored in the database into the configured {@link BlobStore}.
+ * The migration runs once in the background after the application has been started and processes
+ * the files in small batches, each in its own transaction.
+ */
+@Component
+@Log4j2
+public class FileBlobMigrator {
+
+    @Autowired(required = false)
+    private BlobStore blobStore;
+
+    @Autowired
+    private BlobStoreProperties blobStoreProperties;
+
+    @Autowired(required = false)
+    private List<BaseFileRepository<? extends File, Long>> fileRepositories;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executorService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (blobStore == null || fileRepositories == null ||
+                !Boolean.TRUE.equals(blobStoreProperties.getMigrateExisting())) {
+            return;
+        }
+
+        executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-blob-migrator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.submit(this::migrateAll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Migrates the files of all file repositories.
+     */
+    public void migrateAll() {
+        for (BaseFileRepository<? extends File, Long> fileRepository : fileRepositories) {
+            migrate(fileRepository);
+        }
+    }
+
+    private <S extends File> void migrate(BaseFileRepository<S, Long> fileRepository) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer count = transactionTemplate.execute(status -> migrateBatch(fileRepository));
+                if (count == null || count == 0) {
+                    break;
+                }
+                migrated += count;
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not move the content of the files into the blob store, {} file(s) have " +
+                "been moved so far: {}", migrated, e.getMessage());
+            log.trace("Full stack trace: ", e);
+            return;
+        }
+
+        if (migrated > 0) {
+            log.info("Moved the content of {} file(s) into the blob store", migrated);
+        }
+    }
+
+    private <S extends File> int migrateBatch(BaseFileRepository<S, Long> fileRepository) {
+        List<Long> ids = fileRepository.findIdsWithInlineContent(
+            PageRequest.of(0, blobStoreProperties.getMigrationBatchSize()));
+
+        for (Long id : ids) {
+            S file = fileRepository.findById(id).orElse(null);
+            if (file == null || file.getFile() == null) {
+                continue;
+            }
+
+            byte[] content = file.getFile();
+            String blobKey = file.getFileUuid().toString();
+
+            try {
+                blobStore.put(blobKey, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not store the content of file " + id, e);
+            }
+
+            if (file.getContentHash() == null) {
+                file.setContentHash(FileUtil.getContentHash(content));
+                file.setContentLength((long) content.length);
+            }
+            file.setBlobKey(blobKey);
+            file.setFile(null);
+
+            fileRepository.save(file);
+
+            log.debug("Moved the content of file {} into the blob store", id);
+        }
+
+        return ids.size();
+    }
+
+}
@@ -0,0 +1,91 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link BlobStore} keeping the blobs in a directory of the local filesystem. Blobs are
+ * spread over subdirectories named by the first two characters of their key.
+ */
+@Log4j2
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path basePath;
+
+    public FileSystemBlobStore(Path basePath) {
+        this.basePath = basePath.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, byte[] content) throws IOException {
+        Path blobPath = getBlobPath(key);
+        Files.createDirectories(blobPath.getParent());
+
+        // write to a temporary file first to never expose partially written blobs
+        Path tempPath = Files.createTempFile(blobPath.getParent(), ".upload", null);
+        try {
+            Files.write(tempPath, content);
+            Files.move(tempPath, blobPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+
+        log.trace("Stored blob {} at {}", key, blobPath);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        try {
+            return Files.newInputStream(getBlobPath(key));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Could not find blob " + key);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return Files.isRegularFile(getBlobPath(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(getBlobPath(key));
+    }
+
+    private Path getBlobPath(String key) throws IOException {
+        if (key == null || key.length() < 3) {
+            throw new IOException("Invalid blob key: " + key);
+        }
+
+        Path blobPath = basePath.resolve(key.substring(0, 2)).resolve(key).normalize();
+        if (!blobPath.startsWith(basePath)) {
+            throw new IOException("Invalid blob key: " + key);
+        }
+
+        return blobPath;
+    }
+
+}
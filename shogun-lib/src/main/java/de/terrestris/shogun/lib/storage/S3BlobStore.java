@@ -0,0 +1,191 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import de.terrestris.shogun.lib.util.FileUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * {@link BlobStore} keeping the blobs as objects in a bucket of a S3 compatible object storage
+ * (e.g. AWS S3 or MinIO). Requests are signed with AWS Signature Version 4 (see {@link AwsSignatureV4}).
+ */
+@Log4j2
+public class S3BlobStore implements BlobStore {
+
+    private static final String SERVICE = "s3";
+
+    private static final String EMPTY_PAYLOAD_HASH = FileUtil.getContentHash(new byte[0]);
+
+    private final URI endpoint;
+
+    private final String bucket;
+
+    private final boolean pathStyleAccess;
+
+    private final AwsSignatureV4 signature;
+
+    private final HttpClient httpClient;
+
+    public S3BlobStore(String endpoint, String region, String bucket, String accessKey, String secretKey,
+                       boolean pathStyleAccess) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.signature = new AwsSignatureV4(accessKey, secretKey, region, SERVICE);
+        this.pathStyleAccess = pathStyleAccess;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    @Override
+    public void put(String key, byte[] content) throws IOException {
+        HttpRequest request = signedRequest("PUT", key, FileUtil.getContentHash(content))
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+            .build();
+
+        HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (!isSuccessful(response.statusCode())) {
+            throw new IOException("Could not store blob " + key + " (HTTP " + response.statusCode() + "): " +
+                new String(response.body(), StandardCharsets.UTF_8));
+        }
+
+        log.trace("Stored blob {} in bucket {}", key, bucket);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        HttpRequest request = signedRequest("GET", key, EMPTY_PAYLOAD_HASH)
+            .GET()
+            .build();
+
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (isSuccessful(response.statusCode())) {
+            return response.body();
+        }
+
+        response.body().close();
+
+        if (response.statusCode() == 404) {
+            throw new FileNotFoundException("Could not find blob " + key);
+        }
+        throw new IOException("Could not read blob " + key + " (HTTP " + response.statusCode() + ")");
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        HttpRequest request = signedRequest("HEAD", key, EMPTY_PAYLOAD_HASH)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .build();
+
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (!isSuccessful(response.statusCode())) {
+            throw new IOException("Could not check blob " + key + " (HTTP " + response.statusCode() + ")");
+        }
+        return true;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpRequest request = signedRequest("DELETE", key, EMPTY_PAYLOAD_HASH)
+            .DELETE()
+            .build();
+
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (!isSuccessful(response.statusCode()) && response.statusCode() != 404) {
+            throw new IOException("Could not delete blob " + key + " (HTTP " + response.statusCode() + ")");
+        }
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key, String payloadHash) throws IOException {
+        URI uri = getObjectUri(key);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String amzDate = AwsSignatureV4.AMZ_DATE_FORMAT.format(now);
+        String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+
+        String authorization;
+        try {
+            authorization = signature.authorization(method, uri.getRawPath(), "", Map.of(
+                "host", host,
+                "x-amz-content-sha256", payloadHash,
+                "x-amz-date", amzDate
+            ), payloadHash, now);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not sign the request", e);
+        }
+
+        return HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMinutes(5))
+            .header("x-amz-content-sha256", payloadHash)
+            .header("x-amz-date", amzDate)
+            .header("Authorization", authorization);
+    }
+
+    private URI getObjectUri(String key) {
+        StringBuilder encodedKey = new StringBuilder();
+        for (String segment : key.split("/", -1)) {
+            if (!encodedKey.isEmpty()) {
+                encodedKey.append('/');
+            }
+            encodedKey.append(URLEncoder.encode(segment, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~"));
+        }
+
+        String basePath = endpoint.getRawPath() == null ? "" : endpoint.getRawPath();
+        if (pathStyleAccess) {
+            return URI.create(endpoint.getScheme() + "://" + endpoint.getRawAuthority() + basePath + "/" +
+                bucket + "/" + encodedKey);
+        }
+        return URI.create(endpoint.getScheme() + "://" + bucket + "." + endpoint.getRawAuthority() + basePath + "/" +
+            encodedKey);
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while requesting " + request.uri());
+        }
+    }
+
+    private static boolean isSuccessful(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+}
@@ -25,6 +25,9 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 @Log4j2
 public class FileUtil {
@@ -45,6 +48,21 @@ public class FileUtil {
         return fileByteArray;
     }
 
+    /**
+     * Returns the hex encoded SHA-256 hash of the given content.
+     *
+     * @param content The file content.
+     * @return The content hash.
+     */
+    public static String getContentHash(byte[] content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
     /**
      * @deprecated Since 7.1.0, please make use of {@link BaseFileService#isValid(MultipartFile)}}
      * @param file
@@ -0,0 +1,150 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import lombok.extern.log4j.Log4j2;
+import org.apache.hc.core5.http.HttpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent identical outgoing requests (single-flight): While a request for a key is in
+ * flight, further requests for the same key don't hit the upstream server again but wait for the
+ * response of the first one.
+ *
+ * Every caller gets its own copy of the status and headers, the body array is shared and must not be
+ * modified in place. Only use this for idempotent requests whose response doesn't depend on the
+ * caller, e.g. GetCapabilities or GetLegendGraphic.
+ */
+@Component
+@Log4j2
+public class HttpRequestCoalescer {
+
+    /**
+     * The (lower cased) OGC requests that are worth to be coalesced.
+     */
+    private static final Set<String> COALESCABLE_OGC_REQUESTS = Set.of(
+        "getcapabilities",
+        "getlegendgraphic",
+        "describefeaturetype",
+        "describelayer",
+        "describecoverage"
+    );
+
+    @FunctionalInterface
+    public interface ResponseLoader {
+        HttpResponse load() throws HttpException;
+    }
+
+    /**
+     * Whether concurrent identical requests should be coalesced. Default is true.
+     */
+    @Value("${http.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    private final ConcurrentMap<String, CompletableFuture<HttpResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * @param request The value of the OGC REQUEST parameter, e.g. GetCapabilities.
+     * @return true if requests for the given OGC request should be coalesced.
+     */
+    public static boolean isCoalescableOgcRequest(String request) {
+        return request != null && COALESCABLE_OGC_REQUESTS.contains(request.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Loads the response for the given key or waits for the response of the request already in flight
+     * for it.
+     *
+     * @param key The key identifying the request, i.e. the full URI and all request headers influencing the response.
+     * @param loader Performs the request.
+     * @return A copy of the response.
+     * @throws HttpException If the (shared) request failed.
+     */
+    public HttpResponse execute(String key, ResponseLoader loader) throws HttpException {
+        if (!enabled) {
+            return loader.load();
+        }
+
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> inFlightRequest = inFlightRequests.putIfAbsent(key, future);
+
+        if (inFlightRequest != null) {
+            log.debug("Waiting for the response of the identical request in flight for {}", key);
+            return copy(await(inFlightRequest));
+        }
+
+        try {
+            HttpResponse response = loader.load();
+            future.complete(response);
+            return copy(response);
+        } catch (HttpException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, future);
+        }
+    }
+
+    /**
+     * @return The number of requests currently in flight.
+     */
+    public int getInFlightCount() {
+        return inFlightRequests.size();
+    }
+
+    private static HttpResponse await(CompletableFuture<HttpResponse> future) throws HttpException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted while waiting for the response of an identical request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpException httpException) {
+                throw httpException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new HttpException("Error while waiting for the response of an identical request", e.getCause());
+        }
+    }
+
+    private static HttpResponse copy(HttpResponse response) {
+        if (response == null) {
+            return null;
+        }
+
+        HttpHeaders headers = null;
+        if (response.getHeaders() != null) {
+            headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+        }
+
+        return new HttpResponse(response.getStatusCode(), headers, response.getBody());
+    }
+
+}
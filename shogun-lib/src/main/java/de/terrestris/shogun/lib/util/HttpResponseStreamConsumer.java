@@ -0,0 +1,43 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Consumes the response of an outgoing HTTP request without buffering its body, see e.g.
+ * {@link HttpUtil#get(java.net.URI, org.apache.hc.core5.http.Header[], HttpResponseStreamConsumer)}.
+ */
+@FunctionalInterface
+public interface HttpResponseStreamConsumer {
+
+    /**
+     * Handles the response. The body stream is only valid while this method is executed and will
+     * be closed by the caller afterwards.
+     *
+     * @param statusCode The status code of the response.
+     * @param headers    The headers of the response.
+     * @param body       The body of the response or null if the response has no body.
+     * @throws IOException If reading the body (or writing it to its destination) fails.
+     */
+    void accept(HttpStatus statusCode, HttpHeaders headers, InputStream body) throws IOException;
+
+}
@@ -31,6 +31,7 @@ import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.classic.methods.*;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.cookie.BasicCookieStore;
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
 import org.apache.hc.client5.http.entity.mime.ByteArrayBody;
 import org.apache.hc.client5.http.entity.mime.FileBody;
@@ -44,10 +45,14 @@ import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.client5.http.impl.routing.DefaultProxyRoutePlanner;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.*;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicHeader;
 import org.apache.hc.core5.net.URIBuilder;
@@ -59,10 +64,12 @@ import org.springframework.http.HttpStatus;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j2
 public class HttpUtil {
@@ -75,6 +82,36 @@ public class HttpUtil {
      * The default timeout given by the config beans.
      */
     static int defaultHttpTimeout;
+    /**
+     * The maximum number of pooled connections in total.
+     */
+    static int maxTotalConnections = 200;
+    /**
+     * The maximum number of pooled connections per route (target host).
+     */
+    static int maxConnectionsPerRoute = 50;
+    /**
+     * The time in milliseconds a pooled connection is kept alive if the server doesn't specify it.
+     */
+    static long keepAlive = 30000;
+    /**
+     * The time in milliseconds after which idle connections will be evicted from the pool.
+     */
+    static long idleConnectionTimeout = 60000;
+
+    /**
+     * The connection manager shared by all outgoing HTTP connections.
+     */
+    private static PoolingHttpClientConnectionManager connectionManager;
+    /**
+     * The client shared by all outgoing HTTP connections.
+     */
+    private static CloseableHttpClient httpClient;
+
+    /**
+     * The resolved system proxies per scheme and host. An empty optional denotes a direct connection.
+     */
+    private static final Map<String, Optional<HttpHost>> systemProxyCache = new ConcurrentHashMap<>();
 
     /**
      * Returns the full web application URI from a given request.
@@ -1825,6 +1862,113 @@ public class HttpUtil {
         return send(httpRequest, credentials, requestHeaders);
     }
 
+    /**
+     * Performs an HTTP GET on the given URI <i>without authentication</i> and passes the response
+     * to the given consumer without buffering its body.
+     *
+     * @param uri            The URI to connect to.
+     * @param requestHeaders Additional HTTP headers added to the request
+     * @param consumer       The consumer of the response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public static void get(URI uri, Header[] requestHeaders, HttpResponseStreamConsumer consumer)
+        throws URISyntaxException, HttpException {
+        send(new HttpGet(uri), null, requestHeaders, consumer);
+    }
+
+    /**
+     * Forward GET request to uri based on given request and pass the response to the given consumer
+     * without buffering its body.
+     *
+     * @param uri            uri The URI to forward to.
+     * @param request        The original {@link HttpServletRequest}
+     * @param forwardHeaders Should headers of request should be forwarded
+     * @param consumer       The consumer of the response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public static void forwardGet(URI uri, HttpServletRequest request, boolean forwardHeaders,
+                                  HttpResponseStreamConsumer consumer) throws URISyntaxException, HttpException {
+        Header[] headersToForward = null;
+
+        if (request != null && forwardHeaders) {
+            headersToForward = HttpUtil.getHeadersFromRequest(request);
+        }
+
+        send(new HttpGet(uri), null, headersToForward, consumer);
+    }
+
+    /**
+     * Forward POST to uri based on given request and pass the response to the given consumer
+     * without buffering its body.
+     *
+     * @param uri            uri The URI to forward to.
+     * @param request        The original {@link HttpServletRequest}
+     * @param forwardHeaders Should headers of request should be forwarded
+     * @param consumer       The consumer of the response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public static void forwardPost(URI uri, HttpServletRequest request, boolean forwardHeaders,
+                                   HttpResponseStreamConsumer consumer) throws URISyntaxException, HttpException {
+        Header[] headersToForward = null;
+        if (request != null && forwardHeaders) {
+            headersToForward = HttpUtil.getHeadersFromRequest(request);
+        }
+
+        assert request != null;
+        ContentType ct = ContentType.parse(request.getContentType());
+        String body = getRequestBody(request);
+
+        HttpPost httpRequest = new HttpPost(uri);
+        httpRequest.setEntity(new StringEntity(StringUtils.defaultString(body), ct, false));
+
+        send(httpRequest, null, headersToForward, consumer);
+    }
+
+    /**
+     * Performs an HTTP POST with the given body on the given URI <i>without authentication</i> and
+     * passes the response to the given consumer without buffering its body.
+     *
+     * @param uri            The URI to connect to.
+     * @param body           The POST body.
+     * @param contentType    The content type of the body.
+     * @param requestHeaders Additional HTTP headers added to the request
+     * @param chunked        Send request in chunks
+     * @param consumer       The consumer of the response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public static void post(URI uri, String body, ContentType contentType, Header[] requestHeaders,
+                            boolean chunked, HttpResponseStreamConsumer consumer) throws URISyntaxException, HttpException {
+        HttpPost httpRequest = new HttpPost(uri);
+        httpRequest.setEntity(new StringEntity(body, contentType, chunked));
+
+        send(httpRequest, null, requestHeaders, consumer);
+    }
+
+    /**
+     * Performs an HTTP POST with the given parameters on the given URI <i>without authentication</i>
+     * and passes the response to the given consumer without buffering its body.
+     *
+     * @param uri            The URI to connect to.
+     * @param queryParams    The POST parameters.
+     * @param requestHeaders Additional HTTP headers added to the request
+     * @param consumer       The consumer of the response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public static void post(URI uri, List<NameValuePair> queryParams, Header[] requestHeaders,
+                            HttpResponseStreamConsumer consumer) throws URISyntaxException, HttpException {
+        HttpPost httpRequest = new HttpPost(uri);
+        if (!queryParams.isEmpty()) {
+            httpRequest.setEntity(new UrlEncodedFormEntity(queryParams, StandardCharsets.UTF_8));
+        }
+
+        send(httpRequest, null, requestHeaders, consumer);
+    }
+
     /**
      * Performs an HTTP operation on the given URL.
      * Basic auth is used if both username and pw are not null.
@@ -1839,10 +1983,39 @@ public class HttpUtil {
     private static HttpResponse send(HttpUriRequestBase httpRequest, Credentials credentials,
                                      Header[] requestHeaders) throws HttpException, URISyntaxException {
 
-        CloseableHttpClient httpClient = null;
-        CloseableHttpResponse httpResponse = null;
         HttpResponse response = new HttpResponse();
+
+        send(httpRequest, credentials, requestHeaders, (statusCode, headers, body) -> {
+            response.setStatusCode(statusCode);
+            response.setHeaders(headers);
+
+            if (body != null) {
+                response.setBody(IOUtils.toByteArray(body));
+            }
+        });
+
+        return response;
+    }
+
+    /**
+     * Performs an HTTP operation on the given URL and passes the response to the given consumer
+     * without buffering its body.
+     * Basic auth is used if both username and pw are not null.
+     *
+     * @param httpRequest    The HttpRequest to connect to.
+     * @param credentials    Instance implementing {@link Credentials} interface holding a set of credentials
+     * @param requestHeaders Additional HTTP headers added to the request
+     * @param consumer       The consumer of the response.
+     * @throws HttpException
+     * @throws URISyntaxException
+     */
+    private static void send(HttpUriRequestBase httpRequest, Credentials credentials,
+                             Header[] requestHeaders, HttpResponseStreamConsumer consumer) throws HttpException, URISyntaxException {
+
+        CloseableHttpResponse httpResponse = null;
         HttpClientContext httpContext = HttpClientContext.create();
+        // the client is shared by all users, cookies must never outlive a single request
+        httpContext.setCookieStore(new BasicCookieStore());
         URI uri = httpRequest.getUri();
 
         HttpHost systemProxy = null;
@@ -1858,7 +2031,7 @@ public class HttpUtil {
             String httpProxyUser = System.getProperty("http.proxyUser");
             String httpProxyPassword = System.getProperty("http.proxyPassword");
 
-            systemProxy = getSystemProxy(uri);
+            systemProxy = getCachedSystemProxy(uri.getScheme(), uri.getHost());
 
             if (systemProxy != null) {
                 String proxyHostName = systemProxy.getHostName();
@@ -1885,35 +2058,21 @@ public class HttpUtil {
                     }
                 }
             }
-        } catch (UnknownHostException e) {
+        } catch (IllegalArgumentException e) {
             log.error("Error while detecting system wide proxy: " + e.getMessage());
         }
 
-        ConnectionConfig connectionConfig = ConnectionConfig.custom()
-            .setConnectTimeout(Timeout.ofMilliseconds(httpTimeout))
-            .build();
-
         // set the request configuration that will be passed to the httpRequest
         RequestConfig requestConfig = RequestConfig.custom()
             .setConnectionRequestTimeout(Timeout.ofMilliseconds(httpTimeout))
             .setResponseTimeout(Timeout.ofMilliseconds(httpTimeout))
+            // used if the server doesn't send a Keep-Alive header
+            .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAlive))
             .build();
 
-        PoolingHttpClientConnectionManager poolingHttpClientConnectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-            .setDefaultConnectionConfig(connectionConfig)
-            .build();
+        httpRequest.setConfig(requestConfig);
 
         try {
-            HttpClientBuilder httpClientBuilder = HttpClients.custom()
-                .setConnectionManager(poolingHttpClientConnectionManager)
-                .setDefaultRequestConfig(requestConfig);
-
-            if (systemProxy != null) {
-                DefaultProxyRoutePlanner routePlanner = new DefaultProxyRoutePlanner(systemProxy);
-
-                httpClientBuilder.setRoutePlanner(routePlanner);
-            }
-
             // set (preemptive) authentication if credentials are given
             if (credentials != null || (proxyAuthScope != null && proxyCredentials != null)) {
                 BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
@@ -1939,12 +2098,8 @@ public class HttpUtil {
 
                 httpContext.setCredentialsProvider(credentialsProvider);
                 httpContext.setAuthCache(authCache);
-
-                httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
             }
 
-            httpClient = httpClientBuilder.build();
-
             HttpHeaders headersMap = new HttpHeaders();
 
             // apply HTTP header
@@ -1953,7 +2108,7 @@ public class HttpUtil {
             }
 
             // todo: pass additional argument HttpClientResponseHandler
-            httpResponse = httpClient.execute(httpRequest, httpContext);
+            httpResponse = getHttpClient().execute(httpRequest, httpContext);
 
             HttpStatus httpStatus = HttpStatus.valueOf(
                 httpResponse.getCode()
@@ -1961,8 +2116,6 @@ public class HttpUtil {
             Header[] headers = httpResponse.getHeaders();
             HttpEntity httpResponseEntity = httpResponse.getEntity();
 
-            response.setStatusCode(httpStatus);
-
             for (Header header : headers) {
                 if (header.getName().equalsIgnoreCase("Transfer-Encoding") &&
                     header.getValue().equalsIgnoreCase("chunked")) {
@@ -1972,10 +2125,13 @@ public class HttpUtil {
                     headersMap.set(header.getName(), header.getValue());
                 }
             }
-            response.setHeaders(headersMap);
 
             if (httpResponseEntity != null) {
-                response.setBody(EntityUtils.toByteArray(httpResponseEntity));
+                try (InputStream body = httpResponseEntity.getContent()) {
+                    consumer.accept(httpStatus, headersMap, body);
+                }
+            } else {
+                consumer.accept(httpStatus, headersMap, null);
             }
 
         } catch (IOException e) {
@@ -1986,20 +2142,118 @@ public class HttpUtil {
             // cleanup
             httpRequest.reset();
 
+            // closing the response releases the connection back to the shared pool
             try {
                 if (httpResponse != null) {
                     httpResponse.close();
                 }
-                if (httpClient != null) {
-                    httpClient.close();
-                }
             } catch (IOException e) {
                 log.error("Error while closing resources: {}", e.getMessage());
                 log.trace("Full stack trace:", e);
             }
         }
+    }
 
-        return response;
+    /**
+     * Returns the {@link CloseableHttpClient} shared by all outgoing HTTP connections. The client
+     * (and its connection pool) will be created on first access.
+     *
+     * @return The shared HTTP client.
+     */
+    static synchronized CloseableHttpClient getHttpClient() {
+        if (httpClient == null) {
+            connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotalConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                // resolved per connection to respect changes of the (static) timeout
+                .setConnectionConfigResolver(route -> ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.ofMilliseconds(httpTimeout))
+                    .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                    .build())
+                .build();
+
+            HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setRoutePlanner(new SystemProxyRoutePlanner())
+                .evictExpiredConnections();
+
+            if (idleConnectionTimeout > 0) {
+                httpClientBuilder.evictIdleConnections(TimeValue.ofMilliseconds(idleConnectionTimeout));
+            }
+
+            httpClient = httpClientBuilder.build();
+
+            log.debug("Created shared HTTP client with a maximum of {} connections in total and {} per route",
+                maxTotalConnections, maxConnectionsPerRoute);
+        }
+
+        return httpClient;
+    }
+
+    /**
+     * Closes the shared {@link CloseableHttpClient} (if any). A new client will be created on the next request,
+     * e.g. to apply changed pool settings.
+     */
+    public static synchronized void closeHttpClient() {
+        if (httpClient != null) {
+            try {
+                httpClient.close(CloseMode.GRACEFUL);
+            } catch (Exception e) {
+                log.error("Error while closing the shared HTTP client: {}", e.getMessage());
+                log.trace("Full stack trace:", e);
+            }
+        }
+
+        httpClient = null;
+        connectionManager = null;
+        systemProxyCache.clear();
+    }
+
+    /**
+     * Returns the current statistics of the shared connection pool.
+     *
+     * @return The pool stats or null if the shared client hasn't been created yet.
+     */
+    public static synchronized PoolStats getConnectionPoolStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Returns the (cached) system proxy for the given scheme and host.
+     *
+     * @param scheme The scheme of the target, e.g. https.
+     * @param host The host of the target.
+     * @return The proxy to use or null if the target should be connected directly.
+     */
+    private static HttpHost getCachedSystemProxy(String scheme, String host) {
+        String cacheKey = StringUtils.lowerCase(scheme) + "://" + StringUtils.lowerCase(host);
+
+        return systemProxyCache.computeIfAbsent(cacheKey, key -> {
+            try {
+                return Optional.ofNullable(getSystemProxy(new URI(scheme, host, null, null)));
+            } catch (UnknownHostException | URISyntaxException e) {
+                log.error("Error while detecting system wide proxy: " + e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Route planner routing each request through the (cached) system proxy of its target, if any.
+     */
+    private static class SystemProxyRoutePlanner extends DefaultRoutePlanner {
+
+        SystemProxyRoutePlanner() {
+            super(DefaultSchemePortResolver.INSTANCE);
+        }
+
+        @Override
+        protected HttpHost determineProxy(HttpHost target, HttpContext context) {
+            return getCachedSystemProxy(target.getSchemeName(), target.getHostName());
+        }
     }
 
     /**
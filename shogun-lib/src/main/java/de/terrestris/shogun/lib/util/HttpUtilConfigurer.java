@@ -16,11 +16,19 @@
  */
 package de.terrestris.shogun.lib.util;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.function.ToIntFunction;
+
 @Component
 @Log4j2
 public class HttpUtilConfigurer {
@@ -31,6 +39,35 @@ public class HttpUtilConfigurer {
     @Value("${http.timeout:15000}")
     private int httpTimeout;
 
+    /**
+     * The maximum number of pooled connections in total. Default is 200.
+     */
+    @Value("${http.pool.max-total:200}")
+    private int maxTotalConnections = 200;
+
+    /**
+     * The maximum number of pooled connections per route (target host). Default is 50.
+     */
+    @Value("${http.pool.max-per-route:50}")
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * The keep alive of pooled connections in milliseconds if the server doesn't specify it.
+     * Default is 30000 ms (30 seconds).
+     */
+    @Value("${http.pool.keep-alive:30000}")
+    private long keepAlive = 30000;
+
+    /**
+     * The time in milliseconds after which idle connections will be evicted from the pool.
+     * Default is 60000 ms (60 seconds), 0 disables the eviction.
+     */
+    @Value("${http.pool.idle-timeout:60000}")
+    private long idleConnectionTimeout = 60000;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
     @PostConstruct
     public void configureHttpUtil() {
         if (httpTimeout < 0) {
@@ -44,6 +81,60 @@ public class HttpUtilConfigurer {
         }
         HttpUtil.defaultHttpTimeout = httpTimeout;
         HttpUtil.httpTimeout = httpTimeout;
+
+        configureConnectionPool();
+        registerConnectionPoolMetrics();
+    }
+
+    /**
+     * Applies the connection pool settings. The shared client will be (re-)created on the next request.
+     */
+    void configureConnectionPool() {
+        if (maxTotalConnections <= 0 || maxConnectionsPerRoute <= 0) {
+            throw new IllegalArgumentException("Connection pool limits must be positive");
+        }
+
+        log.info("Configuring HttpUtil connection pool with max total connections: {}, max connections per " +
+            "route: {}, keep alive: {} ms, idle timeout: {} ms", maxTotalConnections, maxConnectionsPerRoute,
+            keepAlive, idleConnectionTimeout);
+
+        HttpUtil.closeHttpClient();
+
+        HttpUtil.maxTotalConnections = maxTotalConnections;
+        HttpUtil.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        HttpUtil.keepAlive = keepAlive;
+        HttpUtil.idleConnectionTimeout = idleConnectionTimeout;
+    }
+
+    /**
+     * Exposes the state of the shared connection pool as gauges (if a {@link MeterRegistry} is available).
+     */
+    private void registerConnectionPoolMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        meterRegistry.ifAvailable(registry -> {
+            registerConnectionPoolGauge(registry, "leased", PoolStats::getLeased);
+            registerConnectionPoolGauge(registry, "available", PoolStats::getAvailable);
+            registerConnectionPoolGauge(registry, "pending", PoolStats::getPending);
+            registerConnectionPoolGauge(registry, "max", PoolStats::getMax);
+        });
+    }
+
+    private void registerConnectionPoolGauge(MeterRegistry registry, String state, ToIntFunction<PoolStats> value) {
+        Gauge.builder("shogun.http.client.connections", () -> {
+                PoolStats stats = HttpUtil.getConnectionPoolStats();
+                return stats == null ? 0 : value.applyAsInt(stats);
+            })
+            .tag("state", state)
+            .description("The number of connections in the shared HTTP client pool")
+            .register(registry);
+    }
+
+    @PreDestroy
+    public void closeHttpClient() {
+        HttpUtil.closeHttpClient();
     }
 
 }
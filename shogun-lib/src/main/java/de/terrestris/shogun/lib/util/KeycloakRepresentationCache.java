@@ -0,0 +1,187 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import de.terrestris.shogun.lib.event.KeycloakEvent;
+import de.terrestris.shogun.properties.KeycloakCacheProperties;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the representations fetched from the Keycloak admin API, i.e. users, groups, the group
+ * memberships and the effective client roles of a user as well as the configured client.
+ *
+ * Entries are evicted by the {@link KeycloakEvent}s published by the Keycloak webhook and expire
+ * after the TTL configured via {@link KeycloakCacheProperties}. Failed lookups are never cached.
+ *
+ * Note: The cached representations are shared, callers must not modify them.
+ */
+@ConditionalOnExpression("${keycloak.enabled:true}")
+@Log4j2
+@Component
+public class KeycloakRepresentationCache {
+
+    @Autowired(required = false)
+    private KeycloakCacheProperties keycloakCacheProperties;
+
+    private final Map<String, CachedRepresentation<UserRepresentation>> users = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedRepresentation<GroupRepresentation>> groups = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedRepresentation<List<GroupRepresentation>>> userGroups = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedRepresentation<List<RoleRepresentation>>> userRoles = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedRepresentation<ClientRepresentation>> clients = new ConcurrentHashMap<>();
+
+    public UserRepresentation getUser(String keycloakUserId, Supplier<UserRepresentation> loader) {
+        return getOrLoad(users, keycloakUserId, loader);
+    }
+
+    public GroupRepresentation getGroup(String keycloakGroupId, Supplier<GroupRepresentation> loader) {
+        return getOrLoad(groups, keycloakGroupId, loader);
+    }
+
+    public List<GroupRepresentation> getUserGroups(String keycloakUserId, Supplier<List<GroupRepresentation>> loader) {
+        return getOrLoad(userGroups, keycloakUserId, () -> List.copyOf(loader.get()));
+    }
+
+    public List<RoleRepresentation> getUserRoles(String keycloakUserId, Supplier<List<RoleRepresentation>> loader) {
+        return getOrLoad(userRoles, keycloakUserId, () -> List.copyOf(loader.get()));
+    }
+
+    public ClientRepresentation getClient(String clientId, Supplier<ClientRepresentation> loader) {
+        return getOrLoad(clients, clientId, loader);
+    }
+
+    public void evictUser(String keycloakUserId) {
+        log.trace("Evicting cached representations of Keycloak user {}", keycloakUserId);
+
+        users.remove(keycloakUserId);
+        userGroups.remove(keycloakUserId);
+        userRoles.remove(keycloakUserId);
+    }
+
+    public void evictGroup(String keycloakGroupId) {
+        log.trace("Evicting cached representations of Keycloak group {}", keycloakGroupId);
+
+        groups.remove(keycloakGroupId);
+
+        // the members of a group aren't known, so drop all memberships and (inherited) roles
+        userGroups.clear();
+        userRoles.clear();
+    }
+
+    /**
+     * Removes all cached representations.
+     */
+    public void invalidate() {
+        log.trace("Invalidating all cached Keycloak representations");
+
+        users.clear();
+        groups.clear();
+        userGroups.clear();
+        userRoles.clear();
+        clients.clear();
+    }
+
+    @EventListener
+    public void onKeycloakEvent(KeycloakEvent event) {
+        String keycloakId = event.getKeycloakId();
+
+        switch (event.getEventType()) {
+            case USER_GROUP_MEMBERSHIP_CHANGED -> {
+                // the effective roles may be inherited by the group, too
+                userGroups.remove(keycloakId);
+                userRoles.remove(keycloakId);
+            }
+            case USER_ROLES_CHANGED -> userRoles.remove(keycloakId);
+            case USER_CREATED, USER_REGISTERED, USER_DELETED -> evictUser(keycloakId);
+            case GROUP_CREATED, GROUP_DELETED -> evictGroup(keycloakId);
+            case GROUP_ROLES_CHANGED -> userRoles.clear();
+        }
+    }
+
+    private <T> T getOrLoad(Map<String, CachedRepresentation<T>> cache, String key, Supplier<T> loader) {
+        if (!isEnabled() || key == null) {
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+
+        CachedRepresentation<T> cachedRepresentation = cache.get(key);
+        if (cachedRepresentation != null) {
+            if (cachedRepresentation.getExpiresAt() >= now) {
+                log.trace("Using cached Keycloak representation for {}", key);
+                return cachedRepresentation.getRepresentation();
+            }
+            cache.remove(key, cachedRepresentation);
+        }
+
+        T representation = loader.get();
+
+        if (representation == null) {
+            return null;
+        }
+
+        Integer maxSize = keycloakCacheProperties == null ? null : keycloakCacheProperties.getMaxSize();
+        if (maxSize != null && cache.size() >= maxSize) {
+            log.debug("Keycloak representation cache reached its maximum size of {} entries, clearing it", maxSize);
+            cache.clear();
+        }
+
+        cache.put(key, new CachedRepresentation<>(representation, now + getTtl().toMillis()));
+
+        return representation;
+    }
+
+    private boolean isEnabled() {
+        if (keycloakCacheProperties != null && Boolean.FALSE.equals(keycloakCacheProperties.getEnabled())) {
+            return false;
+        }
+        Duration ttl = getTtl();
+        return !ttl.isZero() && !ttl.isNegative();
+    }
+
+    private Duration getTtl() {
+        if (keycloakCacheProperties == null || keycloakCacheProperties.getTtl() == null) {
+            return new KeycloakCacheProperties().getTtl();
+        }
+        return keycloakCacheProperties.getTtl();
+    }
+
+    @Value
+    private static class CachedRepresentation<T> {
+        T representation;
+        long expiresAt;
+    }
+
+}
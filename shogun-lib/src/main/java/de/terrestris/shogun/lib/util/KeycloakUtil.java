@@ -49,12 +49,20 @@ import java.util.stream.Collectors;
 @Component
 public class KeycloakUtil {
 
+    /**
+     * The number of group members to fetch per request, see {@link #getKeycloakGroupMemberIds(String)}.
+     */
+    private static final int GROUP_MEMBERS_PAGE_SIZE = 100;
+
     @Autowired
     private KeycloakProperties keycloakProperties;
 
     @Autowired
     protected RealmResource keycloakRealm;
 
+    @Autowired
+    protected KeycloakRepresentationCache keycloakRepresentationCache;
+
     public List<UserRepresentation> getRealmUsers() {
         return this.keycloakRealm.users().list();
     }
@@ -73,11 +81,34 @@ public class KeycloakUtil {
         return kcUsers.get(id);
     }
 
+    /**
+     * Get the (cached) Keycloak UserRepresentation of a user instance.
+     *
+     * @param user
+     * @return
+     */
+    public UserRepresentation getUserRepresentation(User<UserRepresentation> user) {
+        return keycloakRepresentationCache.getUser(user.getAuthProviderId(),
+            () -> this.getUserResource(user).toRepresentation());
+    }
+
     public List<String> getAllUserIds() {
         UsersResource kcUsers = this.keycloakRealm.users();
         return kcUsers.list().stream().map(AbstractUserRepresentation::getId).toList();
     }
 
+    /**
+     * Get the IDs of a single page of the realm users.
+     *
+     * @param first The index of the first user to return.
+     * @param max The maximum number of users to return.
+     * @return The IDs of the users on the page, an empty list if there are no more users.
+     */
+    public List<String> getUserIds(int first, int max) {
+        UsersResource kcUsers = this.keycloakRealm.users();
+        return kcUsers.list(first, max).stream().map(AbstractUserRepresentation::getId).toList();
+    }
+
     public GroupResource getGroupResource(Group<GroupRepresentation> group) {
         GroupsResource kcGroups = this.keycloakRealm.groups();
         return kcGroups.group(group.getAuthProviderId());
@@ -88,11 +119,34 @@ public class KeycloakUtil {
         return kcGroups.group(id);
     }
 
+    /**
+     * Get the (cached) Keycloak GroupRepresentation of a group instance.
+     *
+     * @param group
+     * @return
+     */
+    public GroupRepresentation getGroupRepresentation(Group<GroupRepresentation> group) {
+        return keycloakRepresentationCache.getGroup(group.getAuthProviderId(),
+            () -> this.getGroupResource(group).toRepresentation());
+    }
+
     public List<String> getAllGroupIds() {
         GroupsResource kcGroups = this.keycloakRealm.groups();
         return kcGroups.groups().stream().map(GroupRepresentation::getId).toList();
     }
 
+    /**
+     * Get the IDs of a single page of the (top level) realm groups.
+     *
+     * @param first The index of the first group to return.
+     * @param max The maximum number of groups to return.
+     * @return The IDs of the groups on the page, an empty list if there are no more groups.
+     */
+    public List<String> getGroupIds(int first, int max) {
+        GroupsResource kcGroups = this.keycloakRealm.groups();
+        return kcGroups.groups(first, max).stream().map(GroupRepresentation::getId).toList();
+    }
+
     public void addUserToGroup(User<UserRepresentation> user, Group<GroupRepresentation> group) {
         UserResource kcUser = this.getUserResource(user);
         GroupResource kcGroup = this.getGroupResource(group);
@@ -220,11 +274,11 @@ public class KeycloakUtil {
      * @return
      */
     public List<GroupRepresentation> getKeycloakUserGroups(User<UserRepresentation> user) {
-        UserResource userResource = this.getUserResource(user);
         List<GroupRepresentation> groups = new ArrayList<>();
 
         try {
-            groups = userResource.groups();
+            groups = keycloakRepresentationCache.getUserGroups(user.getAuthProviderId(),
+                () -> this.getUserResource(user).groups());
         } catch (Exception e) {
             log.warn("Could not get the GroupRepresentations for the groups of user with SHOGun ID {} and " +
                     "Keycloak ID {}. This may happen if the user is not available in Keycloak.",
@@ -242,7 +296,6 @@ public class KeycloakUtil {
      * @return
      */
     public List<RoleRepresentation> getKeycloakUserRoles(User<UserRepresentation> user) {
-        UserResource userResource = this.getUserResource(user);
         List<RoleRepresentation> roles = new ArrayList<>();
 
         try {
@@ -252,7 +305,8 @@ public class KeycloakUtil {
                 return roles;
             }
 
-            roles = userResource.roles().clientLevel(clientRepresentation.getId()).listEffective();
+            roles = keycloakRepresentationCache.getUserRoles(user.getAuthProviderId(), () -> this.getUserResource(user)
+                .roles().clientLevel(clientRepresentation.getId()).listEffective());
         } catch (Exception e) {
             log.warn("Could not get the RoleMappingResource for the user with SHOGun ID {} and " +
                     "Keycloak ID {}. This may happen if the user is not available in Keycloak.",
@@ -263,6 +317,59 @@ public class KeycloakUtil {
         return roles;
     }
 
+    /**
+     * Get the IDs of all members of the given Keycloak group. The members are fetched in pages,
+     * the group resource would return the first 100 members only otherwise.
+     *
+     * @param keycloakGroupId The Keycloak ID of the group.
+     * @return The Keycloak IDs of the members, an empty list if the group is not available.
+     */
+    public List<String> getKeycloakGroupMemberIds(String keycloakGroupId) {
+        List<String> memberIds = new ArrayList<>();
+
+        try {
+            GroupResource groupResource = this.getGroupResource(keycloakGroupId);
+            List<UserRepresentation> members;
+            do {
+                members = groupResource.members(memberIds.size(), GROUP_MEMBERS_PAGE_SIZE);
+                members.forEach(member -> memberIds.add(member.getId()));
+            } while (members.size() == GROUP_MEMBERS_PAGE_SIZE);
+        } catch (Exception e) {
+            log.warn("Could not get the members of the group with Keycloak ID {}. This may happen if " +
+                "the group is not available in Keycloak.", keycloakGroupId);
+            log.trace("Full stack trace: ", e);
+        }
+
+        return memberIds;
+    }
+
+    /**
+     * Get the IDs of the effective (client) roles of the given Keycloak group.
+     *
+     * @param keycloakGroupId The Keycloak ID of the group.
+     * @return The Keycloak IDs of the roles, an empty list if the group is not available (or there is no client).
+     */
+    public List<String> getKeycloakGroupRoleIds(String keycloakGroupId) {
+        try {
+            ClientRepresentation clientRepresentation = getClientRepresentationFromClientId();
+
+            if (clientRepresentation == null) {
+                return List.of();
+            }
+
+            return this.getGroupResource(keycloakGroupId).roles().clientLevel(clientRepresentation.getId())
+                .listEffective().stream()
+                .map(RoleRepresentation::getId)
+                .toList();
+        } catch (Exception e) {
+            log.warn("Could not get the roles of the group with Keycloak ID {}. This may happen if " +
+                "the group is not available in Keycloak.", keycloakGroupId);
+            log.trace("Full stack trace: ", e);
+        }
+
+        return List.of();
+    }
+
     /**
      * Returns the client representation for the client the shogun instance is configured with (see keycloak.clientId
      * in properties).
@@ -270,6 +377,11 @@ public class KeycloakUtil {
      * @return
      */
     public ClientRepresentation getClientRepresentationFromClientId() {
+        return keycloakRepresentationCache.getClient(keycloakProperties.getClientId(),
+            this::findClientRepresentationFromClientId);
+    }
+
+    private ClientRepresentation findClientRepresentationFromClientId() {
         List<ClientRepresentation> clientRepresentations = keycloakRealm.clients().findByClientId(keycloakProperties.getClientId());
 
         if (clientRepresentations.size() != 1) {
@@ -299,6 +411,26 @@ public class KeycloakUtil {
         return keycloakRealm.clients().get(clientRepresentation.getId()).roles().list();
     }
 
+    /**
+     * Get the IDs of a single page of the (client) roles for the client the shogun instance is
+     * configured with.
+     *
+     * @param first The index of the first role to return.
+     * @param max The maximum number of roles to return.
+     * @return The IDs of the roles on the page, an empty list if there are no more roles (or no client).
+     */
+    public List<String> getClientRoleIds(int first, int max) {
+        ClientRepresentation clientRepresentation = getClientRepresentationFromClientId();
+
+        if (clientRepresentation == null) {
+            return List.of();
+        }
+
+        return keycloakRealm.clients().get(clientRepresentation.getId()).roles().list(first, max).stream()
+            .map(RoleRepresentation::getId)
+            .toList();
+    }
+
     public RoleRepresentation getRoleByName(String roleName) {
         ClientRepresentation clientRepresentation = getClientRepresentationFromClientId();
 
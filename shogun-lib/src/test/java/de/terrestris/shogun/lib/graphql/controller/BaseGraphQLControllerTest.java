@@ -0,0 +1,93 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.graphql.controller;
+
+import de.terrestris.shogun.lib.graphql.dto.Connection;
+import de.terrestris.shogun.lib.graphql.exception.InvalidCursorException;
+import de.terrestris.shogun.lib.model.Layer;
+import de.terrestris.shogun.lib.service.LayerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BaseGraphQLControllerTest {
+
+    private LayerGraphQLController controller;
+
+    private LayerService layerService;
+
+    @BeforeEach
+    public void setUp() {
+        layerService = mock(LayerService.class);
+        controller = new LayerGraphQLController();
+        controller.service = layerService;
+    }
+
+    @Test
+    public void findAllConnection_ReturnsFirstPageAndDetectsNextPage() {
+        List<Layer> layers = List.of(createLayer(1L), createLayer(2L), createLayer(5L));
+        when(layerService.findAllAfter(0L, 3)).thenReturn(layers);
+
+        Connection<Layer> connection = controller.findAllConnection(2, null);
+
+        assertEquals(2, connection.getEdges().size());
+        assertEquals(1L, connection.getEdges().getFirst().getNode().getId());
+        assertTrue(connection.getPageInfo().isHasNextPage());
+        assertFalse(connection.getPageInfo().isHasPreviousPage());
+        assertEquals(BaseGraphQLController.encodeCursor(2L), connection.getPageInfo().getEndCursor());
+    }
+
+    @Test
+    public void findAllConnection_ContinuesAfterTheGivenCursor() {
+        List<Layer> layers = List.of(createLayer(5L));
+        when(layerService.findAllAfter(2L, 3)).thenReturn(layers);
+
+        Connection<Layer> connection = controller.findAllConnection(2, BaseGraphQLController.encodeCursor(2L));
+
+        assertEquals(1, connection.getEdges().size());
+        assertFalse(connection.getPageInfo().isHasNextPage());
+        assertTrue(connection.getPageInfo().isHasPreviousPage());
+    }
+
+    @Test
+    public void findAllConnection_LimitsThePageSize() {
+        when(layerService.findAllAfter(0L, BaseGraphQLController.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        Connection<Layer> connection = controller.findAllConnection(100000, null);
+
+        assertTrue(connection.getEdges().isEmpty());
+        assertNull(connection.getPageInfo().getEndCursor());
+        verify(layerService).findAllAfter(0L, BaseGraphQLController.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void decodeCursor_RejectsInvalidCursors() {
+        assertThrows(InvalidCursorException.class, () -> BaseGraphQLController.decodeCursor("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> BaseGraphQLController.decodeCursor("MTk"));
+    }
+
+    private static Layer createLayer(Long id) {
+        Layer layer = mock(Layer.class);
+        when(layer.getId()).thenReturn(id);
+        return layer;
+    }
+
+}
@@ -0,0 +1,143 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.graphql.instrumentation;
+
+import de.terrestris.shogun.properties.GraphQLLimitsProperties;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldCostCalculatorTest {
+
+    private static final String SCHEMA = """
+        type Query {
+            allGroups: [Group]
+            allGroupsByIds(ids: [Int]): [Group]
+            allGroupsConnection(first: Int, after: String): GroupConnection
+        }
+        type Group {
+            id: Int
+            members: [User]
+            parent: Group
+        }
+        type User {
+            id: Int
+        }
+        type GroupConnection {
+            edges: [GroupEdge]!
+        }
+        type GroupEdge {
+            node: Group
+            cursor: String!
+        }
+        """;
+
+    private GraphQLLimitsProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new GraphQLLimitsProperties();
+        properties.setMaxDepth(6);
+        properties.setMaxComplexity(1000);
+        properties.setFieldCosts(Map.of("Group.members", 10));
+    }
+
+    @Test
+    public void acceptsQueriesWithinTheLimits() {
+        ExecutionResult result = execute("{ allGroups { id members { id } } }");
+
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void rejectsTooDeepQueries() {
+        ExecutionResult result = execute("{ allGroups { parent { parent { parent { parent { parent { id } } } } } } }");
+
+        assertFalse(result.getErrors().isEmpty());
+        assertTrue(result.getErrors().getFirst().getMessage().contains("depth"));
+    }
+
+    @Test
+    public void rejectsTooComplexQueries() {
+        // 1 + 20 * (10 + 20 * 1) = 601 per alias
+        ExecutionResult result = execute("{ a: allGroups { members { id } } b: allGroups { members { id } } }");
+
+        assertFalse(result.getErrors().isEmpty());
+        assertTrue(result.getErrors().getFirst().getMessage().contains("complexity"));
+    }
+
+    @Test
+    public void weightsListsByTheRequestedSize() {
+        assertTrue(execute("{ allGroupsByIds(ids: [1, 2]) { members { id } } }").getErrors().isEmpty());
+        assertTrue(execute("{ allGroupsConnection(first: 10) { edges { node { members { id } } } } }")
+            .getErrors().isEmpty());
+        assertFalse(execute("{ allGroupsConnection(first: 1000) { edges { node { members { id } } } } }")
+            .getErrors().isEmpty());
+    }
+
+    @Test
+    public void defaultLimitsAcceptAFullPage() {
+        properties = new GraphQLLimitsProperties();
+        properties.setFieldCosts(Map.of("Group.members", 10));
+
+        // 1 + 1000 * (1 + 1 + 10) = 12001
+        assertTrue(execute("""
+            { allGroupsConnection(first: 1000) { edges { node {
+                a: id b: id c: id d: id e: id f: id g: id h: id i: id j: id
+            } } } }
+            """).getErrors().isEmpty());
+        // 1 + 1000 * (1 + 1 + 10 + 20 * 3) = 72001
+        assertFalse(execute("""
+            { allGroupsConnection(first: 1000) { edges { node { members { a: id b: id c: id } } } } }
+            """).getErrors().isEmpty());
+    }
+
+    @Test
+    public void ignoresIntrospectionFields() {
+        ExecutionResult result = execute("{ __schema { types { name fields { name } } } }");
+
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    private ExecutionResult execute(String query) {
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+            RuntimeWiring.newRuntimeWiring().build());
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema)
+            .instrumentation(new ChainedInstrumentation(List.of(
+                new MaxQueryDepthInstrumentation(properties.getMaxDepth()),
+                new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(), new FieldCostCalculator(properties))
+            )))
+            .build();
+
+        return graphQL.execute(query);
+    }
+
+}
@@ -0,0 +1,147 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.graphql.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistedQueryDocumentProviderTest {
+
+    private static final String SCHEMA = """
+        type Query {
+            hello: String
+            count: Int
+        }
+        """;
+
+    private static final String QUERY = "{ hello }";
+
+    private GraphQL graphQL;
+
+    private int parsedQueries;
+
+    @BeforeEach
+    public void setUp() {
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+            RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                    .dataFetcher("hello", environment -> "world")
+                    .dataFetcher("count", environment -> 42))
+                .build());
+
+        PersistedQueryDocumentProvider documentProvider = new PersistedQueryDocumentProvider(2);
+
+        parsedQueries = 0;
+        graphQL = GraphQL.newGraphQL(schema)
+            .preparsedDocumentProvider(new PreparsedDocumentProvider() {
+                @Override
+                public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                    return documentProvider.getDocumentAsync(executionInput, input -> {
+                        parsedQueries++;
+                        return parseAndValidateFunction.apply(input);
+                    });
+                }
+            })
+            .build();
+    }
+
+    @Test
+    public void parsesRepeatedQueriesOnlyOnce() {
+        assertEquals(Map.of("hello", "world"), execute(QUERY, null).getData());
+        assertEquals(Map.of("hello", "world"), execute(QUERY, null).getData());
+
+        assertEquals(1, parsedQueries);
+    }
+
+    @Test
+    public void doesNotCacheInvalidQueries() {
+        assertFalse(execute("{ unknown }", null).getErrors().isEmpty());
+        assertFalse(execute("{ unknown }", null).getErrors().isEmpty());
+
+        assertEquals(2, parsedQueries);
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedQueryIfTheMaximumSizeIsReached() {
+        execute(QUERY, null);
+        execute("{ count }", null);
+        execute(QUERY, null);
+        execute("{ hello count }", null);
+        assertEquals(3, parsedQueries);
+
+        // the most recently used query is kept
+        execute(QUERY, null);
+        assertEquals(3, parsedQueries);
+
+        // the least recently used one has been evicted
+        execute("{ count }", null);
+        assertEquals(4, parsedQueries);
+    }
+
+    @Test
+    public void executesPersistedQueriesByTheirHash() {
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+
+        ExecutionResult notFound = execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash);
+        assertInstanceOf(PersistedQueryNotFound.class, notFound.getErrors().getFirst());
+
+        assertEquals(Map.of("hello", "world"), execute(QUERY, hash).getData());
+        assertEquals(Map.of("hello", "world"), execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash).getData());
+        assertEquals(Map.of("hello", "world"), execute("", hash.toUpperCase()).getData());
+
+        assertEquals(1, parsedQueries);
+    }
+
+    @Test
+    public void rejectsHashesNotMatchingTheQuery() {
+        ExecutionResult result = execute(QUERY, PersistedQueryDocumentProvider.sha256("{ count }"));
+
+        assertInstanceOf(PersistedQueryIdInvalid.class, result.getErrors().getFirst());
+        assertEquals(0, parsedQueries);
+    }
+
+    private ExecutionResult execute(String query, String hash) {
+        ExecutionInput.Builder executionInput = ExecutionInput.newExecutionInput().query(query);
+
+        if (hash != null) {
+            executionInput.extensions(Map.of(PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION,
+                Map.of("version", 1, PersistedQueryDocumentProvider.SHA256_HASH_KEY, hash)));
+        }
+
+        return graphQL.execute(executionInput.build());
+    }
+
+}
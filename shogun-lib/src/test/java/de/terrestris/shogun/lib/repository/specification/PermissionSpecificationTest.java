@@ -0,0 +1,161 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.repository.specification;
+
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.security.permission.GroupInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.PublicInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.RoleInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.UserInstancePermission;
+import jakarta.persistence.criteria.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which instance permission subqueries the {@link PermissionSpecification} adds for the different
+ * grants (the resulting SQL is covered by the permission queries of the repositories).
+ */
+@SuppressWarnings("unchecked")
+public class PermissionSpecificationTest {
+
+    private Root<Application> root;
+
+    private CriteriaQuery<Application> query;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private Subquery<Integer> subquery;
+
+    private Root<Object> permissionRoot;
+
+    private Path<Object> path;
+
+    private Predicate conjunction;
+
+    private Predicate disjunction;
+
+    @BeforeEach
+    public void setUp() {
+        root = mock(Root.class);
+        query = mock(CriteriaQuery.class);
+        criteriaBuilder = mock(CriteriaBuilder.class, RETURNS_MOCKS);
+        subquery = mock(Subquery.class);
+        permissionRoot = mock(Root.class);
+        path = mock(Path.class);
+        conjunction = mock(Predicate.class);
+        disjunction = mock(Predicate.class);
+
+        doReturn(subquery).when(query).subquery(Integer.class);
+        doReturn(permissionRoot).when(subquery).from(any(Class.class));
+        doReturn(subquery).when(subquery).select(any());
+        doReturn(path).when(permissionRoot).get(anyString());
+        doReturn(path).when(path).get(anyString());
+        doReturn(mock(Predicate.class)).when(path).in(anyCollection());
+        doReturn(conjunction).when(criteriaBuilder).conjunction();
+        doReturn(disjunction).when(criteriaBuilder).disjunction();
+    }
+
+    @Test
+    public void unrestricted_ShouldNotRestrictTheQuery() {
+        Predicate predicate = PermissionSpecification.<Application>unrestricted()
+            .toPredicate(root, query, criteriaBuilder);
+
+        assertSame(conjunction, predicate);
+        verify(query, never()).subquery(any(Class.class));
+    }
+
+    @Test
+    public void readableBy_ShouldCheckTheUserInstancePermissions() {
+        PermissionSpecification.<Application>readableBy(false, 1L, List.of(), List.of())
+            .toPredicate(root, query, criteriaBuilder);
+
+        verify(subquery).from(UserInstancePermission.class);
+        verify(permissionRoot).get("user");
+        verify(path).in(List.of(1L));
+        assertEquals(1, getPermissionPredicateCount());
+    }
+
+    @Test
+    public void readableBy_ShouldCheckTheGroupInstancePermissions() {
+        PermissionSpecification.<Application>readableBy(false, null, List.of(2L, 3L), null)
+            .toPredicate(root, query, criteriaBuilder);
+
+        verify(subquery).from(GroupInstancePermission.class);
+        verify(permissionRoot).get("group");
+        verify(path).in(List.of(2L, 3L));
+        verify(subquery, never()).from(UserInstancePermission.class);
+        assertEquals(1, getPermissionPredicateCount());
+    }
+
+    @Test
+    public void readableBy_ShouldCheckTheRoleInstancePermissions() {
+        PermissionSpecification.<Application>readableBy(false, null, null, List.of(4L))
+            .toPredicate(root, query, criteriaBuilder);
+
+        verify(subquery).from(RoleInstancePermission.class);
+        verify(permissionRoot).get("role");
+        verify(path).in(List.of(4L));
+        verify(subquery, never()).from(UserInstancePermission.class);
+        assertEquals(1, getPermissionPredicateCount());
+    }
+
+    @Test
+    public void readableBy_ShouldCombineAllGrantsByOr() {
+        PermissionSpecification.<Application>readableBy(true, 1L, List.of(2L), List.of(4L))
+            .toPredicate(root, query, criteriaBuilder);
+
+        verify(subquery).from(PublicInstancePermission.class);
+        verify(subquery).from(UserInstancePermission.class);
+        verify(subquery).from(GroupInstancePermission.class);
+        verify(subquery).from(RoleInstancePermission.class);
+        assertEquals(4, getPermissionPredicateCount());
+    }
+
+    @Test
+    public void readableBy_ShouldOnlyAllowPublicEntitiesForAnonymousUsers() {
+        PermissionSpecification.<Application>readableBy(true, null, null, null)
+            .toPredicate(root, query, criteriaBuilder);
+
+        verify(subquery).from(PublicInstancePermission.class);
+        verify(subquery, never()).from(UserInstancePermission.class);
+        verify(subquery, never()).from(GroupInstancePermission.class);
+        verify(subquery, never()).from(RoleInstancePermission.class);
+        assertEquals(1, getPermissionPredicateCount());
+    }
+
+    @Test
+    public void readableBy_ShouldMatchNothingWithoutAnyGrant() {
+        Predicate predicate = PermissionSpecification.<Application>readableBy(false, null, null, null)
+            .toPredicate(root, query, criteriaBuilder);
+
+        assertSame(disjunction, predicate);
+        verify(query, never()).subquery(any(Class.class));
+    }
+
+    private int getPermissionPredicateCount() {
+        ArgumentCaptor<Predicate[]> predicates = ArgumentCaptor.forClass(Predicate[].class);
+        verify(criteriaBuilder).or(predicates.capture());
+        return predicates.getValue().length;
+    }
+}
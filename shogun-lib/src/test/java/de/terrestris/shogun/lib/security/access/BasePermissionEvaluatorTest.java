@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
@@ -49,6 +50,12 @@ public class BasePermissionEvaluatorTest {
     @Mock
     private List<BaseEntityPermissionEvaluator<?>> baseEntityPermissionEvaluatorMock;
 
+    @Mock
+    private PermissionEvaluatorRegistry permissionEvaluatorRegistry;
+
+    @Spy
+    private PermissionDecisionCache permissionDecisionCache = new PermissionDecisionCache();
+
     @InjectMocks
     private BasePermissionEvaluator permissionEvaluator;
 
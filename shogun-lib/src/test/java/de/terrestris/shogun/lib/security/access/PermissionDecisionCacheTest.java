@@ -0,0 +1,206 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access;
+
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.util.IdHelper;
+import de.terrestris.shogun.properties.PermissionCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionDecisionCacheTest {
+
+    private static final String ENTITY_TYPE = Application.class.getCanonicalName();
+
+    private PermissionDecisionCache permissionDecisionCache;
+
+    private PermissionCacheProperties permissionCacheProperties;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() throws NoSuchFieldException {
+        permissionCacheProperties = new PermissionCacheProperties();
+        permissionDecisionCache = new PermissionDecisionCache();
+        ReflectionTestUtils.setField(permissionDecisionCache, "permissionCacheProperties", permissionCacheProperties);
+
+        user = new User();
+        IdHelper.setIdForEntity(user, 1L);
+    }
+
+    @AfterEach
+    public void teardown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void getOrEvaluate_ShouldEvaluateOnlyOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            boolean result = permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+                evaluations.incrementAndGet();
+                return true;
+            });
+            assertTrue(result);
+        }
+
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void getOrEvaluate_ShouldDistinguishPermissionTypes() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.UPDATE, () -> {
+            evaluations.incrementAndGet();
+            return false;
+        });
+
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void getOrEvaluate_ShouldNotCacheWithoutRequestAndTtl() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void getOrEvaluate_ShouldCacheAcrossRequestsIfTtlIsSet() {
+        permissionCacheProperties.setTtl(Duration.ofMinutes(1));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void invalidate_ShouldRemoveCachedDecisions() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        permissionCacheProperties.setTtl(Duration.ofMinutes(1));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+
+        permissionDecisionCache.invalidate();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return false;
+        });
+
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void invalidateAfterCommit_ShouldRemoveDecisionsCachedBeforeTheCommit() {
+        permissionCacheProperties.setTtl(Duration.ofMinutes(1));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            permissionDecisionCache.invalidateAfterCommit();
+            permissionDecisionCache.invalidateAfterCommit();
+
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+            // a concurrent request caching the decision based on the uncommitted state
+            permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+                evaluations.incrementAndGet();
+                return false;
+            });
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        boolean result = permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, 42L, PermissionType.READ, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+
+        assertTrue(result);
+        assertEquals(2, evaluations.get());
+        assertFalse(TransactionSynchronizationManager.hasResource(permissionDecisionCache));
+    }
+
+    @Test
+    public void getOrEvaluate_ShouldNotCacheUnsavedEntities() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger evaluations = new AtomicInteger();
+
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, null, PermissionType.CREATE, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+        permissionDecisionCache.getOrEvaluate(user, ENTITY_TYPE, null, PermissionType.CREATE, () -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+
+        assertEquals(2, evaluations.get());
+    }
+
+}
@@ -0,0 +1,70 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access;
+
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.BaseEntity;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.security.access.entity.DefaultPermissionEvaluator;
+import de.terrestris.shogun.lib.security.access.entity.UserPermissionEvaluator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionEvaluatorRegistryTest {
+
+    private PermissionEvaluatorRegistry permissionEvaluatorRegistry;
+
+    private UserPermissionEvaluator userPermissionEvaluator;
+
+    private DefaultPermissionEvaluator defaultPermissionEvaluator;
+
+    @BeforeEach
+    public void setup() {
+        userPermissionEvaluator = new UserPermissionEvaluator();
+        defaultPermissionEvaluator = new DefaultPermissionEvaluator();
+
+        permissionEvaluatorRegistry = new PermissionEvaluatorRegistry();
+        ReflectionTestUtils.setField(permissionEvaluatorRegistry, "permissionEvaluators",
+            List.of(userPermissionEvaluator, defaultPermissionEvaluator, new UserPermissionEvaluator()));
+        permissionEvaluatorRegistry.init();
+    }
+
+    @Test
+    public void findPermissionEvaluator_ShouldReturnTheEvaluatorOfTheClass() {
+        assertSame(userPermissionEvaluator, permissionEvaluatorRegistry.findPermissionEvaluator(User.class).orElseThrow());
+        assertSame(defaultPermissionEvaluator, permissionEvaluatorRegistry.findPermissionEvaluator(BaseEntity.class).orElseThrow());
+    }
+
+    @Test
+    public void findPermissionEvaluator_ShouldReturnTheEvaluatorOfTheClassName() {
+        assertSame(userPermissionEvaluator, permissionEvaluatorRegistry.findPermissionEvaluator(
+            User.class.getCanonicalName()).orElseThrow());
+    }
+
+    @Test
+    public void findPermissionEvaluator_ShouldReturnEmptyIfNoEvaluatorIsRegistered() {
+        assertTrue(permissionEvaluatorRegistry.findPermissionEvaluator(Application.class).isEmpty());
+        assertTrue(permissionEvaluatorRegistry.findPermissionEvaluator(Application.class.getCanonicalName()).isEmpty());
+    }
+
+}
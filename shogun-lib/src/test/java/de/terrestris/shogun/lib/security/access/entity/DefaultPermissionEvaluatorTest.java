@@ -21,20 +21,29 @@ import de.terrestris.shogun.lib.enumeration.PermissionType;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.model.security.permission.PermissionCollection;
+import de.terrestris.shogun.lib.repository.BaseCrudRepository;
 import de.terrestris.shogun.lib.service.security.permission.*;
+import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
 import de.terrestris.shogun.lib.service.security.provider.RoleProviderService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -54,9 +63,18 @@ public class DefaultPermissionEvaluatorTest {
     @Mock
     private GroupClassPermissionService groupClassPermissionService;
 
+    @Mock
+    private RoleInstancePermissionService roleInstancePermissionService;
+
+    @Mock
+    private RoleClassPermissionService roleClassPermissionService;
+
     @Mock
     private RoleProviderService roleProviderService;
 
+    @Mock
+    private GroupProviderService groupProviderService;
+
     @Mock
     private PublicInstancePermissionService publicInstancePermissionService;
 
@@ -72,6 +90,39 @@ public class DefaultPermissionEvaluatorTest {
         mockUser.setAuthProviderId(mockUserKeycloakId);
     }
 
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void findAllAfter_shouldOnlyReturnPublicEntitiesForAnonymousUsers() {
+        BaseCrudRepository<BaseEntity, Long> repository = mock(BaseCrudRepository.class);
+        List<BaseEntity> entities = List.of(mock(BaseEntity.class));
+
+        when(repository.findAllAfter(5L, PageRequest.ofSize(10), null, null)).thenReturn(entities);
+
+        assertEquals(entities, defaultPermissionEvaluator.findAllAfter(null, 5L, 10, repository, BaseEntity.class));
+        verify(repository, never()).findAllAfter(any(), any());
+    }
+
+    @Test
+    public void findAllAfter_shouldCheckInstancePermissionsWithoutClassPermissions() {
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(mockUserKeycloakId, null, "ROLE_USER"));
+        BaseCrudRepository<BaseEntity, Long> repository = mock(BaseCrudRepository.class);
+        List<BaseEntity> entities = List.of(mock(BaseEntity.class));
+
+        when(userClassPermissionService.findFor(BaseEntity.class, mockUser)).thenReturn(Optional.empty());
+        when(groupClassPermissionService.findFor(BaseEntity.class, mockUser)).thenReturn(Optional.empty());
+        when(roleProviderService.getRolesForUser(mockUser)).thenReturn(List.of());
+        when(groupProviderService.getGroupsForUser()).thenReturn(List.of());
+        when(repository.findAllAfter(5L, PageRequest.ofSize(10), mockUser.getId(), List.of())).thenReturn(entities);
+
+        assertEquals(entities, defaultPermissionEvaluator.findAllAfter(mockUser, 5L, 10, repository, BaseEntity.class));
+        verify(repository, never()).findAllAfter(any(), any());
+    }
+
     @Test
     public void hasPermission_shouldNeverGrantAnythingWithoutPermissions() {
         BaseEntity entityToCheck = mock(BaseEntity.class);
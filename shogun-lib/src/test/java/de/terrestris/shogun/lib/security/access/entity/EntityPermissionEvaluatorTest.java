@@ -0,0 +1,109 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.security.access.entity;
+
+import de.terrestris.shogun.lib.enumeration.PermissionType;
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import de.terrestris.shogun.lib.util.IdHelper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the default methods of {@link EntityPermissionEvaluator} for custom evaluators not implementing them.
+ */
+public class EntityPermissionEvaluatorTest {
+
+    private final EntityPermissionEvaluator<Application> evaluator = new EntityPermissionEvaluator<>() {
+        @Override
+        public Class<Application> getEntityClassName() {
+            return Application.class;
+        }
+
+        @Override
+        public boolean hasPermission(User user, Application entity, PermissionType permission) {
+            return entity.getId() % 2 == 0;
+        }
+
+        @Override
+        public boolean hasPermission(User user, Long entityId, String targetDomainType, PermissionType permission) {
+            return entityId % 2 == 0;
+        }
+
+        @Override
+        public boolean hasPermission(User user, Class<?> clazz, PermissionType permission) {
+            return false;
+        }
+
+        @Override
+        public Page<Application> findAll(User user, Pageable pageable, BaseCrudRepository<Application, Long> repository,
+                Class<Application> baseEntityClass) {
+            return Page.empty();
+        }
+    };
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void findAllAfter_ShouldFillTheSliceWithReadableEntities() throws NoSuchFieldException {
+        BaseCrudRepository<Application, Long> repository = mock(BaseCrudRepository.class);
+        when(repository.findAllAfter(0L, PageRequest.ofSize(3))).thenReturn(applications(1, 2, 3));
+        when(repository.findAllAfter(3L, PageRequest.ofSize(3))).thenReturn(applications(4, 5, 6));
+
+        List<Application> result = evaluator.findAllAfter(null, 0L, 3, repository, Application.class);
+
+        assertEquals(List.of(2L, 4L, 6L), result.stream().map(Application::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void findAllAfter_ShouldStopAtTheLastEntity() throws NoSuchFieldException {
+        BaseCrudRepository<Application, Long> repository = mock(BaseCrudRepository.class);
+        when(repository.findAllAfter(0L, PageRequest.ofSize(3))).thenReturn(applications(1, 2, 3));
+        when(repository.findAllAfter(3L, PageRequest.ofSize(3))).thenReturn(applications(5));
+
+        List<Application> result = evaluator.findAllAfter(null, 0L, 3, repository, Application.class);
+
+        assertEquals(List.of(2L), result.stream().map(Application::getId).toList());
+        verify(repository, times(2)).findAllAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void getReadSpecification_ShouldNotRestrictTheQueryByDefault() {
+        assertNull(evaluator.getReadSpecification(null, Application.class));
+    }
+
+    private static List<Application> applications(long... ids) throws NoSuchFieldException {
+        List<Application> applications = new ArrayList<>();
+        for (long id : ids) {
+            Application application = new Application();
+            IdHelper.setIdForEntity(application, id);
+            applications.add(application);
+        }
+        return applications;
+    }
+
+}
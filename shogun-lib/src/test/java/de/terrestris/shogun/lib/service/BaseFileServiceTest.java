@@ -16,18 +16,41 @@
  */
 package de.terrestris.shogun.lib.service;
 
+import de.terrestris.shogun.lib.model.File;
+import de.terrestris.shogun.lib.repository.FileRepository;
+import de.terrestris.shogun.lib.storage.BlobStore;
 import org.apache.tomcat.util.http.fileupload.InvalidFileNameException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.fail;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class BaseFileServiceTest {
 
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private FileRepository repository;
+
     @InjectMocks
     private FileService fileService;
 
@@ -63,4 +86,70 @@ public class BaseFileServiceTest {
         assertThrows(InvalidFileNameException.class, () -> fileService.isValidFileName("Peter\\n.pdf"));
     }
 
+    @Test
+    public void getFileResource_returnsDatabaseContent() throws IOException {
+        byte[] content = "SHOGun".getBytes();
+        File file = new File();
+        file.setFile(content);
+
+        Resource resource = fileService.getFileResource(file);
+
+        assertInstanceOf(ByteArrayResource.class, resource);
+        assertEquals(content.length, resource.contentLength());
+        assertArrayEquals(content, resource.getContentAsByteArray());
+    }
+
+    @Test
+    public void setFileContent_deletesTheBlobIfTheTransactionIsRolledBack() throws IOException {
+        File file = new File();
+        String blobKey = file.getFileUuid().toString();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fileService.setFileContent(file, "SHOGun".getBytes());
+
+            verify(blobStore).put(eq(blobKey), any());
+            assertEquals(blobKey, file.getBlobKey());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(blobStore).delete(blobKey);
+    }
+
+    @Test
+    public void setFileContent_keepsTheBlobIfTheTransactionIsCommitted() throws IOException {
+        File file = new File();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fileService.setFileContent(file, "SHOGun".getBytes());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(blobStore, never()).delete(any());
+    }
+
+    @Test
+    public void create_deletesTheBlobIfTheFileCouldNotBeSavedWithoutTransaction() throws Exception {
+        MockMultipartFile uploadFile = new MockMultipartFile("file", "shogun.txt", "text/plain", "SHOGun".getBytes());
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("Could not save the file"));
+
+        assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+        assertThrows(DataIntegrityViolationException.class, () -> fileService.create(uploadFile));
+
+        ArgumentCaptor<String> blobKey = ArgumentCaptor.forClass(String.class);
+        verify(blobStore).put(blobKey.capture(), any());
+        verify(blobStore).delete(blobKey.getValue());
+    }
+
 }
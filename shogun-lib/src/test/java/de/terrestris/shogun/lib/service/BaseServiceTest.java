@@ -24,6 +24,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.terrestris.shogun.lib.model.BaseEntity;
 import de.terrestris.shogun.lib.model.User;
 import de.terrestris.shogun.lib.repository.BaseCrudRepository;
+import de.terrestris.shogun.lib.security.access.PermissionEvaluatorRegistry;
+import de.terrestris.shogun.lib.security.access.entity.DefaultPermissionEvaluator;
 import de.terrestris.shogun.lib.service.security.permission.*;
 import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
 import de.terrestris.shogun.lib.service.security.provider.RoleProviderService;
@@ -34,6 +36,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -87,6 +91,12 @@ public abstract class BaseServiceTest<U extends BaseService, S extends BaseEntit
     @Mock
     private RoleClassPermissionService roleClassPermissionService;
 
+    @Mock
+    private PermissionEvaluatorRegistry permissionEvaluatorRegistry;
+
+    @Mock
+    private DefaultPermissionEvaluator defaultPermissionEvaluator;
+
     private BaseCrudRepository baseCrudRepositoryMock;
 
     protected U service;
@@ -114,12 +124,11 @@ public abstract class BaseServiceTest<U extends BaseService, S extends BaseEntit
 
     @Test
     public void findAll_IsAnnotatedAsExpected() throws NoSuchMethodException {
+        // permissions are checked by the query itself, see BaseService#getReadSpecification()
         PostFilter findAllPostFilter =
             service.getClass().getMethod("findAll").getAnnotation(PostFilter.class);
 
-        assertNotNull(findAllPostFilter);
-        assertTrue(findAllPostFilter.value().contains("hasRole"));
-        assertTrue(findAllPostFilter.value().contains("hasPermission"));
+        assertNull(findAllPostFilter);
     }
 
     @Test
@@ -134,11 +143,52 @@ public abstract class BaseServiceTest<U extends BaseService, S extends BaseEntit
         entityList.add(mockEntity2);
         entityList.add(mockEntity3);
 
-        when(baseCrudRepositoryMock.findAll()).thenReturn(entityList);
+        Specification<S> readSpecification = mock(Specification.class);
+        JpaSpecificationExecutor<S> specificationExecutorMock = (JpaSpecificationExecutor<S>) baseCrudRepositoryMock;
+
+        when(defaultPermissionEvaluator.getReadSpecification(any(), any())).thenReturn(readSpecification);
+        when(specificationExecutorMock.findAll(readSpecification)).thenReturn(entityList);
 
         List returnValue = service.findAll();
 
-        verify(baseCrudRepositoryMock, times(1)).findAll();
+        verify(specificationExecutorMock, times(1)).findAll(readSpecification);
+        verify(baseCrudRepositoryMock, never()).findAll();
+        assertEquals(returnValue, entityList);
+    }
+
+    @Test
+    public void findAllBy_ShouldCombineTheGivenSpecificationWithThePermissionSpecification() {
+        Specification<S> readSpecification = mock(Specification.class);
+        Specification<S> specification = mock(Specification.class);
+        Specification<S> combinedSpecification = mock(Specification.class);
+        JpaSpecificationExecutor<S> specificationExecutorMock = (JpaSpecificationExecutor<S>) baseCrudRepositoryMock;
+        List<S> entityList = List.of(mock(entityClass));
+
+        when(defaultPermissionEvaluator.getReadSpecification(any(), any())).thenReturn(readSpecification);
+        when(readSpecification.and(specification)).thenReturn(combinedSpecification);
+        when(specificationExecutorMock.findAll(combinedSpecification)).thenReturn(entityList);
+
+        List returnValue = service.findAllBy(specification);
+
+        verify(specificationExecutorMock, times(1)).findAll(combinedSpecification);
+        assertEquals(returnValue, entityList);
+    }
+
+    @Test
+    public void findAllById_ShouldCheckThePermissionsOfAllEntitiesByASingleQuery() {
+        Specification<S> readSpecification = mock(Specification.class);
+        Specification<S> combinedSpecification = mock(Specification.class);
+        JpaSpecificationExecutor<S> specificationExecutorMock = (JpaSpecificationExecutor<S>) baseCrudRepositoryMock;
+        List<S> entityList = List.of(mock(entityClass), mock(entityClass));
+
+        when(defaultPermissionEvaluator.getReadSpecification(any(), any())).thenReturn(readSpecification);
+        when(readSpecification.and(any())).thenReturn(combinedSpecification);
+        when(specificationExecutorMock.findAll(combinedSpecification)).thenReturn(entityList);
+
+        List returnValue = service.findAllById(List.of(1L, 2L));
+
+        verify(specificationExecutorMock, times(1)).findAll(combinedSpecification);
+        verify(baseCrudRepositoryMock, never()).findAllById(any());
         assertEquals(returnValue, entityList);
     }
 
@@ -0,0 +1,139 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.service.security.permission;
+
+import de.terrestris.shogun.lib.model.Application;
+import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.lib.model.security.permission.GroupInstancePermission;
+import de.terrestris.shogun.lib.model.security.permission.PermissionCollection;
+import de.terrestris.shogun.lib.repository.security.permission.GroupInstancePermissionRepository;
+import de.terrestris.shogun.lib.service.security.provider.GroupProviderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupInstancePermissionServiceTest {
+
+    @Mock
+    private GroupInstancePermissionRepository repository;
+
+    @Mock
+    private GroupProviderService groupProviderService;
+
+    @InjectMocks
+    private GroupInstancePermissionService service;
+
+    private User user;
+
+    private Application entity;
+
+    private Group firstGroup;
+
+    private Group secondGroup;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        entity = new Application();
+        ReflectionTestUtils.setField(entity, "id", 42L);
+
+        firstGroup = new Group<>("first", "first-representation");
+        ReflectionTestUtils.setField(firstGroup, "id", 10L);
+
+        secondGroup = new Group<>("second", "second-representation");
+        ReflectionTestUtils.setField(secondGroup, "id", 20L);
+    }
+
+    @Test
+    public void findFor_User_QueriesAllGroupsAtOnceAndPrefersTheFirstGroup() {
+        Group persistedSecondGroup = new Group<>("second", null);
+        ReflectionTestUtils.setField(persistedSecondGroup, "id", 20L);
+        Group persistedFirstGroup = new Group<>("first", null);
+        ReflectionTestUtils.setField(persistedFirstGroup, "id", 10L);
+
+        GroupInstancePermission secondPermission = createPermission(persistedSecondGroup);
+        GroupInstancePermission firstPermission = createPermission(persistedFirstGroup);
+
+        when(groupProviderService.findByUser(user)).thenReturn(List.of(firstGroup, secondGroup));
+        when(repository.findByGroupIdInAndEntityId(Set.of(10L, 20L), 42L))
+            .thenReturn(List.of(secondPermission, firstPermission));
+
+        Optional<GroupInstancePermission> permission = service.findFor(entity, user);
+
+        assertTrue(permission.isPresent());
+        assertSame(firstPermission, permission.get());
+        assertEquals("first-representation", permission.get().getGroup().getProviderDetails());
+
+        verify(repository, times(1)).findByGroupIdInAndEntityId(any(), anyLong());
+        verify(repository, never()).findByGroupIdAndEntityId(anyLong(), anyLong());
+        verify(groupProviderService, never()).setTransientRepresentations(any());
+    }
+
+    @Test
+    public void findFor_User_ReturnsEmptyIfTheUserHasNoGroups() {
+        when(groupProviderService.findByUser(user)).thenReturn(List.of());
+
+        assertTrue(service.findFor(entity, user).isEmpty());
+        assertTrue(service.findPermissionCollectionFor(entity, user).getPermissions().isEmpty());
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void findFor_Entity_ResolvesEveryGroupOnlyOnce() {
+        when(repository.findAllByGroup(firstGroup))
+            .thenReturn(List.of(createPermission(firstGroup), createPermission(firstGroup)));
+
+        List<GroupInstancePermission> permissions = service.findFor(firstGroup);
+
+        assertEquals(2, permissions.size());
+        verify(groupProviderService, times(1)).setTransientRepresentations(firstGroup);
+    }
+
+    @Test
+    public void deleteFor_Entities_DeletesTheLoadedPermissionsToHaveThemAudited() {
+        List<GroupInstancePermission> permissions = List.of(createPermission(firstGroup), createPermission(secondGroup));
+        when(repository.findAllByGroupIdInAndEntityIdIn(List.of(10L, 20L), List.of(42L))).thenReturn(permissions);
+
+        service.deleteFor(List.of(entity), List.of(firstGroup, secondGroup));
+
+        verify(repository, times(1)).deleteAll(permissions);
+    }
+
+    private GroupInstancePermission createPermission(Group group) {
+        GroupInstancePermission permission = new GroupInstancePermission();
+        permission.setGroup(group);
+        permission.setEntityId(42L);
+        permission.setPermission(new PermissionCollection());
+        return permission;
+    }
+}
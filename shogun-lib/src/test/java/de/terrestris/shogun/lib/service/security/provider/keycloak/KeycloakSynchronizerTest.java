@@ -0,0 +1,158 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.service.security.provider.keycloak;
+
+import de.terrestris.shogun.lib.event.OnRegistrationConfirmedEvent;
+import de.terrestris.shogun.lib.model.Group;
+import de.terrestris.shogun.lib.repository.GroupRepository;
+import de.terrestris.shogun.lib.repository.RoleRepository;
+import de.terrestris.shogun.lib.repository.UserRepository;
+import de.terrestris.shogun.lib.util.KeycloakUtil;
+import de.terrestris.shogun.properties.KeycloakSyncProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeycloakSynchronizerTest {
+
+    @Mock
+    private KeycloakUtil keycloakUtil;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Mock
+    private KeycloakSyncProperties keycloakSyncProperties;
+
+    @InjectMocks
+    private KeycloakSynchronizer synchronizer;
+
+    @BeforeEach
+    public void init() {
+        when(keycloakSyncProperties.getThreads()).thenReturn(2);
+        when(keycloakSyncProperties.getQueueCapacity()).thenReturn(1);
+        lenient().when(keycloakSyncProperties.getPageSize()).thenReturn(2);
+
+        synchronizer.init();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        synchronizer.shutdown();
+    }
+
+    @Test
+    public void syncUsers_FetchesPagesUntilAShortPageAndCreatesMissingUsersOnly() {
+        when(keycloakUtil.getUserIds(0, 2)).thenReturn(List.of("a", "b"));
+        when(keycloakUtil.getUserIds(2, 2)).thenReturn(List.of("c"));
+        when(userRepository.findExistingAuthProviderIds(List.of("a", "b"))).thenReturn(List.of("a"));
+        when(userRepository.findExistingAuthProviderIds(List.of("c"))).thenReturn(List.of());
+
+        int created = synchronizer.syncUsers();
+
+        assertEquals(2, created);
+        verify(keycloakUtil, times(2)).getUserIds(anyInt(), eq(2));
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(userRepository, never()).findByAuthProviderId(any());
+
+        ArgumentCaptor<OnRegistrationConfirmedEvent> events = ArgumentCaptor.forClass(OnRegistrationConfirmedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of("b", "c"), events.getAllValues().stream()
+            .map(event -> event.getUser().getAuthProviderId())
+            .sorted()
+            .toList());
+
+        assertEquals(3, synchronizer.getFetchedCount(KeycloakSynchronizer.SyncType.USERS));
+        assertEquals(2, synchronizer.getCreatedCount(KeycloakSynchronizer.SyncType.USERS));
+    }
+
+    @Test
+    public void syncUsers_RetriesAPageIfUsersHaveBeenCreatedConcurrently() {
+        when(keycloakUtil.getUserIds(0, 2)).thenReturn(List.of("a", "b"));
+        when(keycloakUtil.getUserIds(2, 2)).thenReturn(List.of());
+        when(userRepository.findExistingAuthProviderIds(List.of("a", "b"))).thenReturn(List.of(), List.of("a"));
+        when(userRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+            .thenReturn(List.of());
+
+        int created = synchronizer.syncUsers();
+
+        assertEquals(1, created);
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(OnRegistrationConfirmedEvent.class));
+        assertEquals(1, synchronizer.getCreatedCount(KeycloakSynchronizer.SyncType.USERS));
+    }
+
+    @Test
+    public void syncGroups_StopsOnAnEmptyPage() {
+        when(keycloakUtil.getGroupIds(0, 2)).thenReturn(List.of("a", "b"));
+        when(keycloakUtil.getGroupIds(2, 2)).thenReturn(List.of());
+        when(groupRepository.findExistingAuthProviderIds(List.of("a", "b"))).thenReturn(List.of("a", "b"));
+
+        int created = synchronizer.syncGroups();
+
+        assertEquals(0, created);
+        verify(keycloakUtil, times(2)).getGroupIds(anyInt(), eq(2));
+        ArgumentCaptor<List<Group>> groups = ArgumentCaptor.forClass(List.class);
+        verify(groupRepository).saveAll(groups.capture());
+        assertEquals(0, groups.getValue().size());
+    }
+
+    @Test
+    public void syncRoles_DoesNothingWithoutRoles() {
+        when(keycloakUtil.getClientRoleIds(0, 2)).thenReturn(List.of());
+
+        int created = synchronizer.syncRoles();
+
+        assertEquals(0, created);
+        verifyNoInteractions(roleRepository);
+    }
+
+}
@@ -0,0 +1,62 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2025-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSystemBlobStoreTest {
+
+    @TempDir
+    private Path basePath;
+
+    @Test
+    public void storesReadsAndDeletesBlobs() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(basePath);
+        byte[] content = "SHOGun".getBytes(StandardCharsets.UTF_8);
+
+        blobStore.put("4711", content);
+
+        assertTrue(Files.isRegularFile(basePath.resolve("47").resolve("4711")));
+        assertTrue(blobStore.exists("4711"));
+        try (InputStream in = blobStore.get("4711")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        blobStore.delete("4711");
+
+        assertFalse(blobStore.exists("4711"));
+        assertThrows(FileNotFoundException.class, () -> blobStore.get("4711"));
+    }
+
+    @Test
+    public void rejectsKeysOutsideOfTheBasePath() {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(basePath);
+
+        assertThrows(IOException.class, () -> blobStore.put("../../etc/passwd", new byte[0]));
+    }
+
+}
@@ -0,0 +1,126 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2025-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link S3BlobStore} against a minimal in-memory stub of a S3 compatible object storage.
+ */
+public class S3BlobStoreTest {
+
+    private HttpServer server;
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private final List<String> authorizationHeaders = new CopyOnWriteArrayList<>();
+
+    private S3BlobStore blobStore;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        blobStore = new S3BlobStore("http://127.0.0.1:" + server.getAddress().getPort(), "us-east-1",
+            "shogun", "minio", "minio123", true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void storesReadsAndDeletesBlobs() throws IOException {
+        byte[] content = "SHOGun".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(blobStore.exists("4711"));
+
+        blobStore.put("4711", content);
+
+        assertTrue(objects.containsKey("/shogun/4711"));
+        assertTrue(blobStore.exists("4711"));
+        try (InputStream in = blobStore.get("4711")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        blobStore.delete("4711");
+
+        assertFalse(blobStore.exists("4711"));
+        assertThrows(FileNotFoundException.class, () -> blobStore.get("4711"));
+    }
+
+    @Test
+    public void signsRequests() throws IOException {
+        blobStore.put("4711", new byte[]{1, 2, 3});
+
+        assertEquals(1, authorizationHeaders.size());
+        String authorization = authorizationHeaders.getFirst();
+        assertTrue(authorization.startsWith("AWS4-HMAC-SHA256 Credential=minio/"));
+        assertTrue(authorization.contains("/us-east-1/s3/aws4_request"));
+        assertTrue(authorization.contains("SignedHeaders=host;x-amz-content-sha256;x-amz-date"));
+        assertTrue(authorization.matches(".*Signature=[0-9a-f]{64}$"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        authorizationHeaders.add(exchange.getRequestHeaders().getFirst("Authorization"));
+
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                objects.put(path, exchange.getRequestBody().readAllBytes());
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                byte[] object = objects.get(path);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, object.length);
+                    exchange.getResponseBody().write(object);
+                }
+            }
+            case "HEAD" -> exchange.sendResponseHeaders(objects.containsKey(path) ? 200 : 404, -1);
+            case "DELETE" -> {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+
+        exchange.close();
+    }
+
+}
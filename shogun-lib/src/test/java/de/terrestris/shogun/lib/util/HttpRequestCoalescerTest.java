@@ -0,0 +1,129 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpRequestCoalescerTest {
+
+    private final HttpRequestCoalescer coalescer = new HttpRequestCoalescer();
+
+    @Test
+    public void execute_SendsConcurrentIdenticalRequestsOnlyOnce() throws Exception {
+        int callers = 5;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<HttpResponse>> responses = new ArrayList<>();
+            responses.add(executorService.submit(() -> coalescer.execute("key", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return createResponse("capabilities");
+            })));
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                responses.add(executorService.submit(() -> coalescer.execute("key", () -> {
+                    loads.incrementAndGet();
+                    return createResponse("other");
+                })));
+            }
+
+            // wait until all followers are blocked, there's no hook to observe this
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<HttpResponse> response : responses) {
+                HttpResponse httpResponse = response.get(5, TimeUnit.SECONDS);
+                assertEquals(HttpStatus.OK, httpResponse.getStatusCode());
+                assertEquals("capabilities", new String(httpResponse.getBody(), StandardCharsets.UTF_8));
+            }
+
+            assertEquals(1, loads.get());
+            assertEquals(0, coalescer.getInFlightCount());
+
+            assertNotSame(responses.get(0).get().getHeaders(), responses.get(1).get().getHeaders());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void execute_SendsSubsequentRequestsAgain() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("key", () -> createResponse(String.valueOf(loads.incrementAndGet())));
+        HttpResponse response = coalescer.execute("key", () -> createResponse(String.valueOf(loads.incrementAndGet())));
+
+        assertEquals(2, loads.get());
+        assertEquals("2", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void execute_PropagatesFailures() {
+        HttpException exception = assertThrows(HttpException.class, () -> coalescer.execute("key", () -> {
+            throw new HttpException("upstream failed");
+        }));
+
+        assertEquals("upstream failed", exception.getMessage());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void isCoalescableOgcRequest_IgnoresCase() {
+        assertTrue(HttpRequestCoalescer.isCoalescableOgcRequest("GetCapabilities"));
+        assertTrue(HttpRequestCoalescer.isCoalescableOgcRequest("getlegendgraphic"));
+        assertFalse(HttpRequestCoalescer.isCoalescableOgcRequest("GetMap"));
+        assertFalse(HttpRequestCoalescer.isCoalescableOgcRequest(null));
+    }
+
+    private static HttpResponse createResponse(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_TYPE, "text/xml");
+        return new HttpResponse(HttpStatus.OK, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -71,4 +71,40 @@ class HttpUtilConfigurerTest {
             assertEquals("Timeout value cannot be negative", exception.getMessage());
         }
     }
+
+    @Nested
+    @DisplayName("configureConnectionPool")
+    class ConfigureConnectionPool {
+
+        @Test
+        @DisplayName("Should configure HttpUtil with the given connection pool settings")
+        void shouldConfigureHttpUtilWithPoolSettings() {
+            ReflectionTestUtils.setField(httpUtilConfigurer, "httpTimeout", 15000);
+            ReflectionTestUtils.setField(httpUtilConfigurer, "maxTotalConnections", 42);
+            ReflectionTestUtils.setField(httpUtilConfigurer, "maxConnectionsPerRoute", 7);
+            ReflectionTestUtils.setField(httpUtilConfigurer, "keepAlive", 1000L);
+            ReflectionTestUtils.setField(httpUtilConfigurer, "idleConnectionTimeout", 2000L);
+
+            httpUtilConfigurer.configureHttpUtil();
+
+            assertEquals(42, HttpUtil.maxTotalConnections);
+            assertEquals(7, HttpUtil.maxConnectionsPerRoute);
+            assertEquals(1000L, HttpUtil.keepAlive);
+            assertEquals(2000L, HttpUtil.idleConnectionTimeout);
+            assertNull(HttpUtil.getConnectionPoolStats());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when pool limits are not positive")
+        void shouldThrowExceptionWhenPoolLimitsAreNotPositive() {
+            ReflectionTestUtils.setField(httpUtilConfigurer, "httpTimeout", 15000);
+            ReflectionTestUtils.setField(httpUtilConfigurer, "maxConnectionsPerRoute", 0);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+                httpUtilConfigurer.configureHttpUtil();
+            });
+
+            assertEquals("Connection pool limits must be positive", exception.getMessage());
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2025-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import com.sun.net.httpserver.HttpServer;
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HttpUtil Tests")
+class HttpUtilTest {
+
+    private HttpServer server;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final List<String> receivedCookies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/stub", exchange -> {
+            requestCount.incrementAndGet();
+            byte[] body = "Hello SHOGun".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/cookie", exchange -> {
+            receivedCookies.add(String.valueOf(exchange.getRequestHeaders().getFirst("Cookie")));
+            exchange.getResponseHeaders().add("Set-Cookie", "JSESSIONID=user-a; Path=/");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        HttpUtil.httpTimeout = 5000;
+        HttpUtil.closeHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        HttpUtil.closeHttpClient();
+    }
+
+    @Test
+    @DisplayName("Should reuse pooled connections for subsequent requests")
+    void shouldReusePooledConnections() throws Exception {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/stub";
+
+        for (int i = 0; i < 10; i++) {
+            HttpResponse response = HttpUtil.get(url);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("Hello SHOGun", new String(response.getBody(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(10, requestCount.get());
+
+        PoolStats stats = HttpUtil.getConnectionPoolStats();
+        assertNotNull(stats);
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+    }
+
+    @Test
+    @DisplayName("Should create a new client after it has been closed")
+    void shouldRecreateClientAfterClose() throws Exception {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/stub";
+
+        HttpUtil.get(url);
+        HttpUtil.closeHttpClient();
+
+        assertNull(HttpUtil.getConnectionPoolStats());
+
+        HttpResponse response = HttpUtil.get(url);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(HttpUtil.getConnectionPoolStats());
+    }
+
+    @Test
+    @DisplayName("Should not send cookies of a previous request with the shared client")
+    void shouldNotShareCookiesBetweenRequests() throws Exception {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/cookie";
+
+        HttpUtil.get(url);
+        HttpUtil.get(url);
+
+        assertEquals(List.of("null", "null"), receivedCookies);
+    }
+}
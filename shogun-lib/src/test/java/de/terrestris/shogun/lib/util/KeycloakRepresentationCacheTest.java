@@ -0,0 +1,180 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.lib.util;
+
+import de.terrestris.shogun.lib.event.KeycloakEvent;
+import de.terrestris.shogun.lib.event.KeycloakEventType;
+import de.terrestris.shogun.lib.model.User;
+import de.terrestris.shogun.properties.KeycloakCacheProperties;
+import de.terrestris.shogun.properties.KeycloakProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeycloakRepresentationCacheTest {
+
+    private static final String USER_ID = "bf5efad6-50f5-448c-b808-60dc0259d70b";
+
+    private static final String GROUP_ID = "0b3c1c1a-5f0e-4a38-9d0b-52ab4f2a1b31";
+
+    private static final String CLIENT_ID = "shogun-boot";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private RealmResource keycloakRealm;
+
+    @Mock
+    private KeycloakProperties keycloakProperties;
+
+    @Spy
+    private KeycloakRepresentationCache keycloakRepresentationCache = new KeycloakRepresentationCache();
+
+    @InjectMocks
+    private KeycloakUtil keycloakUtil;
+
+    private KeycloakCacheProperties keycloakCacheProperties;
+
+    private UserResource userResource;
+
+    private RoleScopeResource roleScopeResource;
+
+    private User<UserRepresentation> user;
+
+    @BeforeEach
+    public void setup() {
+        keycloakCacheProperties = new KeycloakCacheProperties();
+        ReflectionTestUtils.setField(keycloakRepresentationCache, "keycloakCacheProperties", keycloakCacheProperties);
+
+        user = new User<>();
+        user.setAuthProviderId(USER_ID);
+
+        userResource = mock(UserResource.class, Answers.RETURNS_DEEP_STUBS);
+        lenient().when(keycloakRealm.users().get(USER_ID)).thenReturn(userResource);
+
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId("client-uuid");
+        client.setClientId(CLIENT_ID);
+        lenient().when(keycloakProperties.getClientId()).thenReturn(CLIENT_ID);
+        lenient().when(keycloakRealm.clients().findByClientId(CLIENT_ID)).thenReturn(List.of(client));
+
+        roleScopeResource = mock(RoleScopeResource.class);
+        lenient().when(userResource.roles().clientLevel("client-uuid")).thenReturn(roleScopeResource);
+        RoleRepresentation role = new RoleRepresentation();
+        role.setId("role-uuid");
+        lenient().when(roleScopeResource.listEffective()).thenReturn(List.of(role));
+
+        GroupRepresentation group = new GroupRepresentation();
+        group.setId(GROUP_ID);
+        lenient().when(userResource.groups()).thenReturn(List.of(group));
+
+        UserRepresentation userRepresentation = new UserRepresentation();
+        userRepresentation.setId(USER_ID);
+        lenient().when(userResource.toRepresentation()).thenReturn(userRepresentation);
+    }
+
+    @Test
+    public void getKeycloakUserRoles_ShouldQueryKeycloakOnlyOnce() {
+        for (int i = 0; i < 3; i++) {
+            List<RoleRepresentation> roles = keycloakUtil.getKeycloakUserRoles(user);
+            assertEquals(1, roles.size());
+        }
+
+        verify(roleScopeResource, times(1)).listEffective();
+        verify(keycloakRealm.clients(), times(1)).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void getUserRepresentation_ShouldQueryKeycloakOnlyOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(USER_ID, keycloakUtil.getUserRepresentation(user).getId());
+        }
+
+        verify(userResource, times(1)).toRepresentation();
+    }
+
+    @Test
+    public void onKeycloakEvent_ShouldEvictGroupMembershipsAndRoles() {
+        keycloakUtil.getKeycloakUserGroups(user);
+        keycloakUtil.getKeycloakUserRoles(user);
+        keycloakUtil.getUserRepresentation(user);
+
+        keycloakRepresentationCache.onKeycloakEvent(new KeycloakEvent(this,
+            KeycloakEventType.USER_GROUP_MEMBERSHIP_CHANGED, USER_ID, GROUP_ID));
+
+        keycloakUtil.getKeycloakUserGroups(user);
+        keycloakUtil.getKeycloakUserRoles(user);
+        keycloakUtil.getUserRepresentation(user);
+
+        verify(userResource, times(2)).groups();
+        verify(roleScopeResource, times(2)).listEffective();
+        verify(userResource, times(1)).toRepresentation();
+    }
+
+    @Test
+    public void onKeycloakEvent_ShouldEvictAllRolesIfGroupRolesChanged() {
+        keycloakUtil.getKeycloakUserRoles(user);
+
+        keycloakRepresentationCache.onKeycloakEvent(new KeycloakEvent(this,
+            KeycloakEventType.GROUP_ROLES_CHANGED, GROUP_ID));
+
+        keycloakUtil.getKeycloakUserRoles(user);
+
+        verify(roleScopeResource, times(2)).listEffective();
+    }
+
+    @Test
+    public void getKeycloakUserGroups_ShouldNotCacheFailedLookups() {
+        when(userResource.groups())
+            .thenThrow(new RuntimeException("Keycloak not available"))
+            .thenReturn(List.of());
+
+        assertEquals(0, keycloakUtil.getKeycloakUserGroups(user).size());
+        assertEquals(0, keycloakUtil.getKeycloakUserGroups(user).size());
+
+        verify(userResource, times(2)).groups();
+    }
+
+    @Test
+    public void getUserRepresentation_ShouldNotCacheIfTtlIsZero() {
+        keycloakCacheProperties.setTtl(Duration.ZERO);
+
+        keycloakUtil.getUserRepresentation(user);
+        keycloakUtil.getUserRepresentation(user);
+
+        verify(userResource, times(2)).toRepresentation();
+    }
+
+}
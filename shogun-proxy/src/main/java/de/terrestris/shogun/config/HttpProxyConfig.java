@@ -16,12 +16,14 @@
  */
 package de.terrestris.shogun.config;
 
+import de.terrestris.shogun.lib.util.HttpRequestCoalescer;
 import de.terrestris.shogun.properties.KeycloakProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 
 @EnableAutoConfiguration
 @ComponentScan(
@@ -31,6 +33,9 @@ import org.springframework.context.annotation.FilterType;
 @EnableConfigurationProperties({
     KeycloakProperties.class
 })
+@Import({
+    HttpRequestCoalescer.class
+})
 public class HttpProxyConfig {
 
     public static void main(String[] args) {
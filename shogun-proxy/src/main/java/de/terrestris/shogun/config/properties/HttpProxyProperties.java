@@ -19,7 +19,9 @@ package de.terrestris.shogun.config.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -29,4 +31,35 @@ public class HttpProxyProperties {
 
     private List<String> whitelist;
 
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether the responses of proxied GET requests should be cached (if allowed by the
+         * upstream Cache-Control/Expires headers).
+         */
+        private Boolean enabled = false;
+
+        /**
+         * The time a response is considered fresh if the upstream server doesn't specify it via
+         * Cache-Control or Expires. The default of 0 only stores responses with an ETag or
+         * Last-Modified header, which are revalidated on every request then.
+         */
+        private Duration defaultTtl = Duration.ZERO;
+
+        /**
+         * The maximum size of all cached response bodies. The least recently used responses are
+         * evicted if the limit is exceeded.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * The maximum size of a single response body to cache. Larger responses are never cached.
+         */
+        private DataSize maxEntrySize = DataSize.ofMegabytes(2);
+
+    }
+
 }
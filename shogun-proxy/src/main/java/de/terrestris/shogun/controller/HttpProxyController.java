@@ -18,6 +18,7 @@ package de.terrestris.shogun.controller;
 
 import de.terrestris.shogun.service.HttpProxyService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -45,12 +46,14 @@ public class HttpProxyController {
      * @param request {@link HttpServletRequest} to use in proxy (e.g. to obtain headers from)
      * @param baseUrl The base url of request
      * @param params  Request params
-     * @return ResponseEntity
+     * @param response The {@link HttpServletResponse} the upstream response is streamed to
+     * @return ResponseEntity or null if the response has been streamed to the client already
      */
     @RequestMapping("/proxy.action")
     public @ResponseBody
-    ResponseEntity<?> doProxy(HttpServletRequest request, @RequestParam String baseUrl, @RequestParam(required = false) Map<String, String> params) {
-        return httpProxyService.doProxy(request, baseUrl, params);
+    ResponseEntity<?> doProxy(HttpServletRequest request, @RequestParam String baseUrl, @RequestParam(required = false) Map<String, String> params,
+                              HttpServletResponse response) {
+        return httpProxyService.doProxy(request, baseUrl, params, true, response);
     }
 
 }
@@ -0,0 +1,368 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.service;
+
+import de.terrestris.shogun.config.properties.HttpProxyProperties;
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import de.terrestris.shogun.lib.util.HttpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+
+/**
+ * A size-bounded in-memory cache for the responses of GET requests proxied by the
+ * {@link HttpProxyService}.
+ *
+ * The cache behaves like a shared HTTP cache: Responses are only stored if allowed by the upstream
+ * server (<code>Cache-Control</code>/<code>Expires</code>) and are served as long as they are fresh.
+ * Stale responses with an <code>ETag</code> or <code>Last-Modified</code> header are revalidated with a
+ * conditional request. The cache key is the normalised URL only, as the proxy doesn't forward any request
+ * headers upstream.
+ */
+@Component
+@Log4j2
+public class HttpProxyResponseCache {
+
+    @FunctionalInterface
+    public interface ResponseLoader {
+        HttpResponse load() throws URISyntaxException, HttpException;
+    }
+
+    private static final List<String> REVALIDATION_HEADERS = List.of(
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.EXPIRES,
+        HttpHeaders.DATE,
+        HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED
+    );
+
+    @Autowired
+    protected HttpProxyProperties httpProxyProperties;
+
+    /**
+     * The cached responses in access order (least recently used first).
+     */
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The size of all cached response bodies in bytes.
+     */
+    private long size;
+
+    public boolean isEnabled() {
+        return httpProxyProperties != null && Boolean.TRUE.equals(httpProxyProperties.getCache().getEnabled());
+    }
+
+    /**
+     * Returns the (fresh or revalidated) cached response for the given URI or loads it.
+     *
+     * @param uri The URI to get the response for.
+     * @param request The client request, its <code>Cache-Control</code> header is honoured.
+     * @param loader Loads the response from the upstream server if there is no usable cached response.
+     * @return The response.
+     * @throws URISyntaxException
+     * @throws HttpException
+     */
+    public HttpResponse get(URI uri, HttpServletRequest request, ResponseLoader loader) throws URISyntaxException, HttpException {
+        if (!isEnabled() || hasCacheDirective(request, "no-store")) {
+            return loader.load();
+        }
+
+        String key = getCacheKey(uri);
+        long now = System.currentTimeMillis();
+
+        CachedResponse cachedResponse = getEntry(key);
+
+        if (cachedResponse != null) {
+            if (cachedResponse.getExpiresAt() > now && !hasCacheDirective(request, "no-cache")) {
+                log.debug("Serving the response for {} from the cache", key);
+                return cachedResponse.toResponse(now);
+            }
+
+            Header[] conditionalHeaders = cachedResponse.getConditionalHeaders();
+            if (conditionalHeaders.length > 0) {
+                log.debug("Revalidating the cached response for {}", key);
+
+                HttpResponse response = HttpUtil.get(uri, conditionalHeaders);
+
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(cachedResponse.getHeaders());
+                    for (String headerName : REVALIDATION_HEADERS) {
+                        List<String> values = response.getHeaders() == null ? null : response.getHeaders().get(headerName);
+                        if (values != null && !values.isEmpty()) {
+                            headers.put(headerName, values);
+                        }
+                    }
+
+                    HttpResponse revalidatedResponse = new HttpResponse(cachedResponse.getStatusCode(), headers,
+                        cachedResponse.getBody());
+                    store(key, revalidatedResponse, now);
+
+                    return new HttpResponse(cachedResponse.getStatusCode(), withAge(headers, 0), cachedResponse.getBody());
+                }
+
+                return store(key, response, now);
+            }
+        }
+
+        return store(key, loader.load(), now);
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * @return The number of cached responses.
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Normalises the given URI to be used as cache key: The scheme and host are lower cased, the
+     * default port and the fragment are removed and the query parameters are sorted.
+     *
+     * @param uri The URI to normalise.
+     * @return The cache key.
+     */
+    static String getCacheKey(URI uri) {
+        String scheme = StringUtils.lowerCase(uri.getScheme(), Locale.ROOT);
+        String host = StringUtils.lowerCase(uri.getHost(), Locale.ROOT);
+        int port = uri.getPort();
+        if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+            port = -1;
+        }
+
+        StringBuilder key = new StringBuilder()
+            .append(scheme)
+            .append("://")
+            .append(host);
+
+        if (port != -1) {
+            key.append(':').append(port);
+        }
+
+        key.append(StringUtils.defaultIfEmpty(uri.getRawPath(), "/"));
+
+        String query = uri.getRawQuery();
+        if (StringUtils.isNotEmpty(query)) {
+            String[] parameters = query.split("&");
+            Arrays.sort(parameters);
+            key.append('?').append(String.join("&", parameters));
+        }
+
+        return key.toString();
+    }
+
+    private HttpResponse store(String key, HttpResponse response, long now) {
+        long expiresAt = getExpiresAt(response, now);
+
+        if (expiresAt == Long.MIN_VALUE) {
+            removeEntry(key);
+            return response;
+        }
+
+        log.debug("Caching the response for {}", key);
+
+        putEntry(key, new CachedResponse(response.getStatusCode(), response.getHeaders(), response.getBody(),
+            now, expiresAt));
+
+        return response;
+    }
+
+    /**
+     * Determines until when the given response is fresh.
+     *
+     * @return The expiry timestamp or {@link Long#MIN_VALUE} if the response must not be cached.
+     */
+    private long getExpiresAt(HttpResponse response, long now) {
+        HttpHeaders headers = response.getHeaders();
+        byte[] body = response.getBody();
+
+        if (response.getStatusCode() != HttpStatus.OK || headers == null || body == null ||
+                body.length > httpProxyProperties.getCache().getMaxEntrySize().toBytes() ||
+                headers.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return Long.MIN_VALUE;
+        }
+
+        Map<String, String> cacheControl = parseCacheControl(headers.get(HttpHeaders.CACHE_CONTROL));
+
+        if (cacheControl.containsKey("no-store") || cacheControl.containsKey("private")) {
+            return Long.MIN_VALUE;
+        }
+
+        long freshness = httpProxyProperties.getCache().getDefaultTtl().toMillis();
+
+        if (cacheControl.containsKey("no-cache")) {
+            freshness = 0;
+        } else if (cacheControl.containsKey("s-maxage")) {
+            freshness = parseSeconds(cacheControl.get("s-maxage")) * 1000;
+        } else if (cacheControl.containsKey("max-age")) {
+            freshness = parseSeconds(cacheControl.get("max-age")) * 1000;
+        } else if (headers.containsHeader(HttpHeaders.EXPIRES)) {
+            long expires = getDateHeader(headers, HttpHeaders.EXPIRES);
+            long date = getDateHeader(headers, HttpHeaders.DATE);
+            freshness = expires - (date > 0 ? date : now);
+        }
+
+        // the time the response has already been cached upstream
+        freshness -= parseSeconds(headers.getFirst(HttpHeaders.AGE)) * 1000;
+
+        boolean hasValidator = headers.getETag() != null || headers.containsHeader(HttpHeaders.LAST_MODIFIED);
+
+        if (freshness <= 0 && !hasValidator) {
+            return Long.MIN_VALUE;
+        }
+
+        return now + Math.max(freshness, 0);
+    }
+
+    private synchronized CachedResponse getEntry(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void putEntry(String key, CachedResponse cachedResponse) {
+        removeEntry(key);
+
+        entries.put(key, cachedResponse);
+        size += cachedResponse.getBody().length;
+
+        long maxSize = httpProxyProperties.getCache().getMaxSize().toBytes();
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getBody().length;
+            iterator.remove();
+        }
+    }
+
+    private synchronized void removeEntry(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.getBody().length;
+        }
+    }
+
+    private static boolean hasCacheDirective(HttpServletRequest request, String directive) {
+        if (request == null) {
+            return false;
+        }
+
+        if ("no-cache".equals(directive) && Strings.CI.contains(request.getHeader(HttpHeaders.PRAGMA), directive)) {
+            return true;
+        }
+
+        return Strings.CI.contains(request.getHeader(HttpHeaders.CACHE_CONTROL), directive);
+    }
+
+    private static Map<String, String> parseCacheControl(List<String> values) {
+        Map<String, String> directives = new HashMap<>();
+
+        if (values == null) {
+            return directives;
+        }
+
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                if (StringUtils.isEmpty(parts[0])) {
+                    continue;
+                }
+                directives.put(parts[0].trim().toLowerCase(Locale.ROOT),
+                    parts.length > 1 ? StringUtils.strip(parts[1].trim(), "\"") : null);
+            }
+        }
+
+        return directives;
+    }
+
+    private static long parseSeconds(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return 0;
+        }
+
+        try {
+            return Math.max(Long.parseLong(value.trim()), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long getDateHeader(HttpHeaders headers, String headerName) {
+        try {
+            return headers.getFirstDate(headerName);
+        } catch (IllegalArgumentException e) {
+            // invalid dates (e.g. "Expires: 0") represent a date in the past
+            return 0;
+        }
+    }
+
+    private static HttpHeaders withAge(HttpHeaders headers, long ageInSeconds) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.set(HttpHeaders.AGE, String.valueOf(ageInSeconds));
+        return copy;
+    }
+
+    @Value
+    private static class CachedResponse {
+        HttpStatus statusCode;
+        HttpHeaders headers;
+        byte[] body;
+        long storedAt;
+        long expiresAt;
+
+        HttpResponse toResponse(long now) {
+            return new HttpResponse(statusCode, withAge(headers, (now - storedAt) / 1000), body);
+        }
+
+        Header[] getConditionalHeaders() {
+            List<Header> conditionalHeaders = new ArrayList<>();
+
+            String eTag = headers.getETag();
+            if (eTag != null) {
+                conditionalHeaders.add(new BasicHeader(HttpHeaders.IF_NONE_MATCH, eTag));
+            }
+
+            String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                conditionalHeaders.add(new BasicHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified));
+            }
+
+            return conditionalHeaders.toArray(new Header[0]);
+        }
+    }
+
+}
@@ -18,9 +18,13 @@ package de.terrestris.shogun.service;
 
 import de.terrestris.shogun.config.properties.HttpProxyProperties;
 import de.terrestris.shogun.lib.dto.HttpResponse;
+import de.terrestris.shogun.lib.util.HttpRequestCoalescer;
+import de.terrestris.shogun.lib.util.HttpResponseStreamConsumer;
 import de.terrestris.shogun.lib.util.HttpUtil;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -39,6 +43,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -105,18 +110,40 @@ public class HttpProxyService {
             .header("Content-Type", CONTENT_TYPE_TEXT_PLAIN)
             .body(ERR_MSG_502);
 
-    /* +--------------------------------------------------------------------+ */
-    /* | HTTP header stuff                                                  | */
-    /* +--------------------------------------------------------------------+ */
     /**
-     * The ports for http / https connections
+     * The (lower cased) hop-by-hop headers that must not be forwarded when streaming a response.
      */
-    private static final int HTTPS_PORT = 443;
-    private static final int HTTP_PORT = 80;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+        "connection",
+        "keep-alive",
+        "proxy-authenticate",
+        "proxy-authorization",
+        "proxy-connection",
+        "te",
+        "trailer",
+        "transfer-encoding",
+        "upgrade"
+    );
 
     @Autowired
     protected HttpProxyProperties httpProxyProperties;
 
+    @Autowired(required = false)
+    protected HttpProxyResponseCache httpProxyResponseCache;
+
+    @Autowired(required = false)
+    protected HttpRequestCoalescer httpRequestCoalescer;
+
+    /**
+     * The whitelist compiled from {@link HttpProxyProperties#getWhitelist()}.
+     */
+    private volatile CompiledWhitelist compiledWhitelist;
+
+    @PostConstruct
+    public void compileWhitelist() {
+        getCompiledWhitelist();
+    }
+
     /**
      * Proxy {@link HttpServletRequest} given the base URL and its params
      * @param request The {@link HttpServletRequest} to proxy
@@ -137,6 +164,25 @@ public class HttpProxyService {
      * @return The {@link ResponseEntity}
      */
     public ResponseEntity<?> doProxy(HttpServletRequest request, String baseUrl, Map<String, String> params, boolean useWhitelist) {
+        return doProxy(request, baseUrl, params, useWhitelist, null);
+    }
+
+    /**
+     * Proxy {@link HttpServletRequest} given the base URL and its params. If a servlet response is given,
+     * the response of GET and (non multipart) POST requests is streamed to the client directly without
+     * buffering it in memory. In this case null will be returned.
+     *
+     * Note: GET requests are never streamed if the response cache is enabled.
+     *
+     * @param request The {@link HttpServletRequest} to proxy
+     * @param baseUrl The base url of the service
+     * @param params The Request params
+     * @param useWhitelist Check if host / server is listed in whitelist
+     * @param servletResponse The response to stream to (optional).
+     * @return The {@link ResponseEntity} or null if it has been written to the servlet response already.
+     */
+    public ResponseEntity<?> doProxy(HttpServletRequest request, String baseUrl, Map<String, String> params,
+            boolean useWhitelist, HttpServletResponse servletResponse) {
         log.debug("Intercepting a request against service '" + baseUrl + "' with parameters: " + params);
 
         if (StringUtils.isEmpty(baseUrl) || request == null) {
@@ -178,12 +224,21 @@ public class HttpProxyService {
         if (HttpUtil.isHttpGetRequest(request)) {
             try {
                 log.debug("Forwarding as GET to: {}", url);
-                response = HttpUtil.forwardGet(url.toURI(), request, false);
+                final URI uri = url.toURI();
+                final boolean coalesce = isCoalescable(uri);
+                if (httpProxyResponseCache != null && httpProxyResponseCache.isEnabled()) {
+                    response = httpProxyResponseCache.get(uri, request, () -> forwardGet(uri, request, coalesce));
+                } else if (servletResponse != null && !coalesce) {
+                    HttpUtil.forwardGet(uri, request, false, streamTo(servletResponse));
+                    return null;
+                } else {
+                    response = forwardGet(uri, request, coalesce);
+                }
             } catch (URISyntaxException | HttpException e) {
                 String errorMessage = String.format("Error forwarding GET request: %s", e.getMessage());
                 log.error(errorMessage);
                 log.trace(errorMessage, e);
-                return RESPONSE_400_BAD_REQUEST_COMMON;
+                return isCommitted(servletResponse) ? null : RESPONSE_400_BAD_REQUEST_COMMON;
             }
         } else if (HttpUtil.isHttpPostRequest(request)) {
             if (HttpUtil.isFormMultipartPost(request)) {
@@ -199,12 +254,16 @@ public class HttpProxyService {
             } else {
                 try {
                     log.debug("Forwarding as POST");
+                    if (servletResponse != null) {
+                        HttpUtil.forwardPost(url.toURI(), request, false, streamTo(servletResponse));
+                        return null;
+                    }
                     response = HttpUtil.forwardPost(url.toURI(), request, false);
                 } catch (URISyntaxException | HttpException e) {
                     String errorMessage = "Error forwarding POST request: " + e.getMessage();
                     log.error(errorMessage);
                     log.trace(errorMessage, e);
-                    return RESPONSE_400_BAD_REQUEST_COMMON;
+                    return isCommitted(servletResponse) ? null : RESPONSE_400_BAD_REQUEST_COMMON;
                 }
             }
         } else {
@@ -229,6 +288,80 @@ public class HttpProxyService {
         return new ResponseEntity<>(bytes, responseHeadersToForward, responseHttpStatus);
     }
 
+    /**
+     * Forwards the GET request. Concurrent identical requests are coalesced into a single upstream request
+     * if requested.
+     *
+     * @param uri The URI to forward to.
+     * @param request The original request.
+     * @param coalesce Whether to coalesce concurrent identical requests.
+     * @return The response.
+     */
+    private HttpResponse forwardGet(URI uri, HttpServletRequest request, boolean coalesce) throws URISyntaxException, HttpException {
+        if (!coalesce || httpRequestCoalescer == null) {
+            return HttpUtil.forwardGet(uri, request, false);
+        }
+
+        // no request headers are forwarded, so the URI identifies the response
+        return httpRequestCoalescer.execute(uri.toString(), () -> {
+            try {
+                return HttpUtil.forwardGet(uri, request, false);
+            } catch (URISyntaxException e) {
+                throw new HttpException(e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Checks whether concurrent requests against the given URI should be coalesced, i.e. whether it's an
+     * OGC request returning the same (small) response for all clients, e.g. GetCapabilities.
+     *
+     * @param uri The URI to check.
+     * @return true if the requests should be coalesced.
+     */
+    private boolean isCoalescable(URI uri) {
+        if (httpRequestCoalescer == null || uri.getRawQuery() == null) {
+            return false;
+        }
+
+        return new URIBuilder(uri).getQueryParams().stream()
+            .filter(param -> Strings.CI.equals(param.getName(), "REQUEST"))
+            .anyMatch(param -> HttpRequestCoalescer.isCoalescableOgcRequest(param.getValue()));
+    }
+
+    /**
+     * Returns a consumer writing the status, the (end-to-end) headers and the body of the upstream
+     * response to the given servlet response. The body is copied in small chunks, so writing to a slow
+     * client also slows down reading from the upstream server. If the upstream server doesn't send a
+     * content length, the servlet container uses chunked transfer encoding.
+     *
+     * @param servletResponse The response to write to.
+     * @return The consumer.
+     */
+    private HttpResponseStreamConsumer streamTo(HttpServletResponse servletResponse) {
+        return (statusCode, headers, body) -> {
+            servletResponse.setStatus(statusCode.value());
+
+            headers.forEach((headerKey, headerValues) -> {
+                if (HOP_BY_HOP_HEADERS.contains(headerKey.toLowerCase(Locale.ROOT))) {
+                    return;
+                }
+                log.debug("Got the following response header: " + headerKey + "=" +
+                    StringUtils.join(headerValues, "; "));
+                headerValues.forEach(headerValue -> servletResponse.addHeader(headerKey, headerValue));
+            });
+
+            if (body != null) {
+                body.transferTo(servletResponse.getOutputStream());
+            }
+            servletResponse.flushBuffer();
+        };
+    }
+
+    private static boolean isCommitted(HttpServletResponse servletResponse) {
+        return servletResponse != null && servletResponse.isCommitted();
+    }
+
     /**
      * Helper method to build an {@link URL} from a baseUri and request parameters
      *
@@ -260,34 +393,28 @@ public class HttpProxyService {
      * @return true if contained, false otherwise
      */
     private boolean isInWhiteList(URL url) {
-        final String host = url.getHost();
-        final int port = url.getPort();
-        final String protocol = url.getProtocol();
+        return getCompiledWhitelist().matches(url.getProtocol(), url.getHost(), url.getPort());
+    }
 
-        int portToTest;
-        if (port != -1) {
-            portToTest = port;
-        } else {
-            portToTest = Strings.CI.equals(protocol, "https") ? HTTPS_PORT : HTTP_PORT;
+    /**
+     * Returns the compiled whitelist. It's (re-)compiled whenever the configured whitelist has been
+     * replaced, e.g. by a rebinding of the properties.
+     *
+     * @return The compiled whitelist.
+     */
+    private HttpProxyWhitelist getCompiledWhitelist() {
+        List<String> whitelist = httpProxyProperties.getWhitelist();
+        CompiledWhitelist compiled = compiledWhitelist;
+
+        if (compiled == null || compiled.source != whitelist) {
+            log.debug("Compiling the proxy whitelist");
+            compiled = new CompiledWhitelist(whitelist, new HttpProxyWhitelist(whitelist));
+            compiledWhitelist = compiled;
         }
 
-        final int finalPortToTest = portToTest;
-        var proxyWhiteList = httpProxyProperties.getWhitelist();
-        return proxyWhiteList.stream().anyMatch(whitelistEntry -> {
-            String whitelistHost;
-            int whitelistPort;
-            if (Strings.CS.contains(whitelistEntry, ":")) {
-                whitelistHost = whitelistEntry.split(":")[0];
-                whitelistPort = Integer.parseInt(whitelistEntry.split(":")[1]);
-            } else {
-                whitelistHost = whitelistEntry;
-                whitelistPort = -1;
-            }
-            final int portToTestAgainst = (whitelistPort != -1) ? whitelistPort : (Strings.CI.equals(protocol, "https") ? HTTPS_PORT : HTTP_PORT);
-            final boolean portIsMatching = portToTestAgainst == finalPortToTest;
-            final boolean domainIsMatching = Strings.CI.equals(host, whitelistHost) || Strings.CS.endsWith(host, whitelistHost);
-            return (portIsMatching && domainIsMatching);
-        });
+        return compiled.whitelist;
     }
 
+    private record CompiledWhitelist(List<String> source, HttpProxyWhitelist whitelist) { }
+
 }
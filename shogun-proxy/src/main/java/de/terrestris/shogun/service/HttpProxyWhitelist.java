@@ -0,0 +1,177 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compiled host whitelist of the {@link HttpProxyService}.
+ *
+ * A whitelist entry is either a host (e.g. <code>terrestris.de</code>) or a host with a port (e.g.
+ * <code>localhost:8080</code>). A URL matches an entry if its host equals the entry (ignoring case) or
+ * ends with it and if its port equals the port of the entry or – for entries without a port – the
+ * default port of its protocol.
+ *
+ * The entries are parsed once into a trie of the reversed hosts, so a lookup only walks the characters
+ * of the requested host instead of all entries. Recent decisions are cached additionally.
+ */
+@Log4j2
+public class HttpProxyWhitelist {
+
+    private static final int HTTPS_PORT = 443;
+    private static final int HTTP_PORT = 80;
+
+    /**
+     * The maximum number of cached decisions, the cache is cleared if the limit is reached.
+     */
+    private static final int MAX_CACHED_DECISIONS = 1000;
+
+    private final Node suffixes = new Node();
+
+    private final Map<String, PortRule> hostsIgnoringCase = new HashMap<>();
+
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    public HttpProxyWhitelist(List<String> whitelist) {
+        if (whitelist == null) {
+            return;
+        }
+
+        for (String whitelistEntry : whitelist) {
+            if (whitelistEntry == null) {
+                continue;
+            }
+
+            String host;
+            Integer port;
+            if (whitelistEntry.contains(":")) {
+                String[] parts = whitelistEntry.split(":");
+                host = parts[0];
+                try {
+                    port = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    log.warn("Ignoring the invalid whitelist entry {}", whitelistEntry);
+                    continue;
+                }
+            } else {
+                host = whitelistEntry;
+                port = null;
+            }
+
+            Node node = suffixes;
+            for (int i = host.length() - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(host.charAt(i), c -> new Node());
+            }
+            node.portRule().add(port);
+
+            hostsIgnoringCase.computeIfAbsent(host.toLowerCase(Locale.ROOT), h -> new PortRule()).add(port);
+        }
+    }
+
+    /**
+     * Checks whether the given host and port is whitelisted.
+     *
+     * @param protocol The protocol of the URL (used to determine the default port).
+     * @param host The host of the URL.
+     * @param port The port of the URL, -1 if it has no explicit port.
+     * @return true if whitelisted, false otherwise.
+     */
+    public boolean matches(String protocol, String host, int port) {
+        if (host == null) {
+            host = StringUtils.EMPTY;
+        }
+
+        int defaultPort = "https".equalsIgnoreCase(protocol) ? HTTPS_PORT : HTTP_PORT;
+        int portToTest = port != -1 ? port : defaultPort;
+
+        String decisionKey = defaultPort + "|" + portToTest + "|" + host;
+        Boolean decision = decisions.get(decisionKey);
+        if (decision != null) {
+            return decision;
+        }
+
+        decision = evaluate(host, portToTest, defaultPort);
+
+        if (decisions.size() >= MAX_CACHED_DECISIONS) {
+            decisions.clear();
+        }
+        decisions.put(decisionKey, decision);
+
+        return decision;
+    }
+
+    private boolean evaluate(String host, int portToTest, int defaultPort) {
+        PortRule exactRule = hostsIgnoringCase.get(host.toLowerCase(Locale.ROOT));
+        if (exactRule != null && exactRule.matches(portToTest, defaultPort)) {
+            return true;
+        }
+
+        Node node = suffixes;
+        for (int i = host.length(); node != null; i--) {
+            if (node.portRule != null && node.portRule.matches(portToTest, defaultPort)) {
+                return true;
+            }
+            if (i == 0) {
+                break;
+            }
+            node = node.children.get(host.charAt(i - 1));
+        }
+
+        return false;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private PortRule portRule;
+
+        private PortRule portRule() {
+            if (portRule == null) {
+                portRule = new PortRule();
+            }
+            return portRule;
+        }
+    }
+
+    private static class PortRule {
+        private final Set<Integer> ports = new HashSet<>();
+
+        private boolean defaultPort;
+
+        private void add(Integer port) {
+            if (port == null) {
+                defaultPort = true;
+            } else {
+                ports.add(port);
+            }
+        }
+
+        private boolean matches(int portToTest, int defaultPortOfProtocol) {
+            return ports.contains(portToTest) || (defaultPort && portToTest == defaultPortOfProtocol);
+        }
+    }
+
+}
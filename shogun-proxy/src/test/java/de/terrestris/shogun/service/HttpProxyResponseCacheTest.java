@@ -0,0 +1,182 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.service;
+
+import com.sun.net.httpserver.HttpServer;
+import de.terrestris.shogun.config.properties.HttpProxyProperties;
+import de.terrestris.shogun.lib.dto.HttpResponse;
+import de.terrestris.shogun.lib.util.HttpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpProxyResponseCacheTest {
+
+    private HttpServer server;
+
+    private HttpProxyResponseCache cache;
+
+    private HttpProxyProperties httpProxyProperties;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final List<String> ifNoneMatchHeaders = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/fresh", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=60");
+            respond(exchange, 200, "fresh");
+        });
+
+        server.createContext("/etag", exchange -> {
+            requestCount.incrementAndGet();
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatchHeaders.add(ifNoneMatch);
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                respond(exchange, 200, "etag");
+            }
+        });
+
+        server.createContext("/no-store", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            respond(exchange, 200, "no-store");
+        });
+
+        server.start();
+
+        httpProxyProperties = new HttpProxyProperties();
+        httpProxyProperties.getCache().setEnabled(true);
+
+        cache = new HttpProxyResponseCache();
+        cache.httpProxyProperties = httpProxyProperties;
+    }
+
+    @AfterEach
+    public void cleanup() {
+        server.stop(0);
+    }
+
+    @Test
+    public void get_servesFreshResponsesFromTheCache() throws Exception {
+        URI uri = getUri("/fresh?SERVICE=WMS&REQUEST=GetCapabilities");
+
+        HttpResponse first = get(uri);
+        HttpResponse second = get(getUri("/fresh?REQUEST=GetCapabilities&SERVICE=WMS"));
+
+        assertEquals(1, requestCount.get());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("fresh", new String(second.getBody(), StandardCharsets.UTF_8));
+        assertArrayEquals(first.getBody(), second.getBody());
+        assertNotNull(second.getHeaders().getFirst("Age"));
+    }
+
+    @Test
+    public void get_revalidatesStaleResponsesWithTheirETag() throws Exception {
+        URI uri = getUri("/etag");
+
+        get(uri);
+        HttpResponse revalidated = get(uri);
+
+        assertEquals(2, requestCount.get());
+        assertEquals(List.of("\"v1\""), ifNoneMatchHeaders.subList(1, 2));
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals("etag", new String(revalidated.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void get_doesNotCacheResponsesWithNoStore() throws Exception {
+        URI uri = getUri("/no-store");
+
+        get(uri);
+        get(uri);
+
+        assertEquals(2, requestCount.get());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void get_evictsTheLeastRecentlyUsedResponsesIfTheMaximumSizeIsExceeded() throws Exception {
+        httpProxyProperties.getCache().setMaxSize(DataSize.ofBytes(8));
+
+        get(getUri("/fresh?a=1"));
+        get(getUri("/fresh?a=2"));
+        get(getUri("/fresh?a=1"));
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    public void get_bypassesTheCacheIfDisabled() throws Exception {
+        httpProxyProperties.getCache().setEnabled(false);
+        URI uri = getUri("/fresh");
+
+        get(uri);
+        get(uri);
+
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    public void getCacheKey_normalisesTheUrl() {
+        assertEquals("http://example.com/wms?REQUEST=GetMap&SERVICE=WMS",
+            HttpProxyResponseCache.getCacheKey(URI.create("HTTP://Example.COM:80/wms?SERVICE=WMS&REQUEST=GetMap#top")));
+        assertEquals("https://example.com:8443/",
+            HttpProxyResponseCache.getCacheKey(URI.create("https://example.com:8443")));
+    }
+
+    private HttpResponse get(URI uri) throws Exception {
+        return cache.get(uri, null, () -> HttpUtil.forwardGet(uri, null, false));
+    }
+
+    private URI getUri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package de.terrestris.shogun.service;
 
 import de.terrestris.shogun.config.HttpProxyConfig;
 import de.terrestris.shogun.lib.dto.HttpResponse;
+import de.terrestris.shogun.lib.util.HttpResponseStreamConsumer;
 import de.terrestris.shogun.lib.util.HttpUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
@@ -32,15 +33,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.util.AssertionErrors.assertEquals;
 import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertNull;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ContextConfiguration(classes = HttpProxyConfig.class)
@@ -292,6 +296,41 @@ public class HttpProxyServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("Stream the response of an allowed HTTP GET request to the servlet response")
+    public void proxy_streams_allowed_GET_request() throws Exception {
+        HttpServletRequest mockedRequest = mock(HttpServletRequest.class);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        final String internetContent = "THE INTERNET!";
+        final String baseUrl = "https://www.terrestris.de/internet.txt";
+        final URI baseUri = new URI(baseUrl);
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_TYPE, "text/plain");
+        headers.add(HttpHeaders.CONNECTION, "keep-alive");
+
+        try (
+            MockedStatic<HttpUtil> httpUtilMock = mockStatic(HttpUtil.class)
+        ) {
+            httpUtilMock.when(() -> HttpUtil.isHttpGetRequest(mockedRequest)).thenReturn(true);
+            httpUtilMock.when(() -> HttpUtil.forwardGet(eq(baseUri), eq(mockedRequest), eq(false), any(HttpResponseStreamConsumer.class)))
+                .thenAnswer(invocation -> {
+                    HttpResponseStreamConsumer consumer = invocation.getArgument(3);
+                    consumer.accept(HttpStatus.OK, headers, new ByteArrayInputStream(internetContent.getBytes()));
+                    return null;
+                });
+
+            final ResponseEntity<?> responseEntity = httpProxyService.doProxy(mockedRequest, baseUrl, null, true, servletResponse);
+
+            assertNull("The response has not been streamed.", responseEntity);
+            assertEquals("Returned Status code matched mocked one.", HttpStatus.OK.value(), servletResponse.getStatus());
+            assertEquals("Returned content type matched mocked one.", "text/plain", servletResponse.getHeader(HttpHeaders.CONTENT_TYPE));
+            assertNull("Hop-by-hop header has been forwarded.", servletResponse.getHeader(HttpHeaders.CONNECTION));
+            assertEquals("Returned content matched mocked one.", internetContent, servletResponse.getContentAsString());
+            httpUtilMock.verify(() -> HttpUtil.forwardGet(baseUri, mockedRequest, false), never());
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"http", "https"})
     @DisplayName("Should use system proxy settings when forwarding request")
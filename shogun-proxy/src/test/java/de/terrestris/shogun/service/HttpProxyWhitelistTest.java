@@ -0,0 +1,74 @@
+/* SHOGun, https://terrestris.github.io/shogun/
+ *
+ * Copyright © 2020-present terrestris GmbH & Co. KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.terrestris.shogun.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpProxyWhitelistTest {
+
+    private final HttpProxyWhitelist whitelist = new HttpProxyWhitelist(List.of(
+        "localhost",
+        "localhost:8080",
+        "terrestris.de",
+        "invalid:port"
+    ));
+
+    @Test
+    public void matches_hostsWithTheDefaultPortOfTheProtocol() {
+        assertTrue(whitelist.matches("http", "localhost", -1));
+        assertTrue(whitelist.matches("https", "localhost", -1));
+        assertTrue(whitelist.matches("http", "localhost", 80));
+        assertTrue(whitelist.matches("https", "localhost", 443));
+        assertFalse(whitelist.matches("http", "localhost", 443));
+    }
+
+    @Test
+    public void matches_explicitPorts() {
+        assertTrue(whitelist.matches("http", "localhost", 8080));
+        assertTrue(whitelist.matches("https", "localhost", 8080));
+        assertFalse(whitelist.matches("http", "localhost", 8081));
+    }
+
+    @Test
+    public void matches_hostsIgnoringCaseAndSubdomains() {
+        assertTrue(whitelist.matches("https", "LOCALHOST", -1));
+        assertTrue(whitelist.matches("https", "ows.terrestris.de", -1));
+        assertTrue(whitelist.matches("https", "www.terrestris.de", 443));
+        assertFalse(whitelist.matches("https", "terrestris.de.example.com", -1));
+        assertFalse(whitelist.matches("https", "example.com", -1));
+    }
+
+    @Test
+    public void matches_returnsTheCachedDecisionAgain() {
+        assertTrue(whitelist.matches("https", "ows.terrestris.de", -1));
+        assertTrue(whitelist.matches("https", "ows.terrestris.de", -1));
+        assertFalse(whitelist.matches("https", "example.com", -1));
+        assertFalse(whitelist.matches("https", "example.com", -1));
+    }
+
+    @Test
+    public void matches_ignoresInvalidEntries() {
+        assertFalse(whitelist.matches("http", "invalid", -1));
+        assertFalse(new HttpProxyWhitelist(null).matches("http", "localhost", -1));
+    }
+
+}